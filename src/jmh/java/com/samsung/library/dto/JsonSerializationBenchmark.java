@@ -0,0 +1,75 @@
+package com.samsung.library.dto;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Response body serialization of a book listing, with an ObjectMapper configured the way
+ * Spring Boot configures the one behind the REST controllers (JSR-310 dates as ISO strings).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    // Default page size, a large page and an unpaged listing
+    @Param({"20", "200", "5000"})
+    private int pageSize;
+
+    private ObjectWriter writer;
+    private ApiResponseDTO<List<BookDTO>> response;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        writer = objectMapper.writer();
+
+        LocalDateTime now = LocalDateTime.now();
+        List<BookDTO> page = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            BookDTO dto = new BookDTO();
+            dto.setId((long) i + 1);
+            dto.setTitle("The Collected Stories of Book " + i);
+            dto.setCategory("Fiction");
+            dto.setPublishingYear(1950 + i % 75);
+            dto.setIsbn("978" + (1_000_000_000L + i));
+            dto.setDescription("A long running series of interconnected stories about a small coastal town, "
+                    + "told from the point of view of its lighthouse keepers over three generations.");
+            dto.setTotalCopies(3);
+            dto.setAvailableCopies(i % 4);
+            dto.setAuthorId((long) i % 50 + 1);
+            dto.setAuthorName("Author " + (i % 50));
+            dto.setCreatedAt(now);
+            dto.setUpdatedAt(now);
+            page.add(dto);
+        }
+        response = ApiResponseDTO.success("Books retrieved successfully", page);
+    }
+
+    @Benchmark
+    public byte[] serializeBookList() throws JsonProcessingException {
+        return writer.writeValueAsBytes(response);
+    }
+}
@@ -0,0 +1,154 @@
+package com.samsung.library.repository;
+
+import com.samsung.library.LibraryApplication;
+import com.samsung.library.dto.AuthorDTO;
+import com.samsung.library.dto.BorrowEligibilityDTO;
+import com.samsung.library.model.Book;
+import com.samsung.library.model.BorrowedBook;
+import com.samsung.library.support.SyntheticLibrary;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+/**
+ * The repository queries behind the main read paths, against the real Spring context on an
+ * in-memory H2 database (MySQL mode) seeded with SyntheticLibrary at the given scale.
+ * Absolute numbers are H2's; compare runs with each other, not with production MySQL.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class RepositoryQueryBenchmark {
+
+    // Books in the catalog; authors, members and loans follow SyntheticLibrary.Scale.ofBooks
+    @Param({"100000"})
+    private int books;
+
+    private ConfigurableApplicationContext context;
+    private BookRepository bookRepository;
+    private AuthorRepository authorRepository;
+    private BorrowedBookRepository borrowedBookRepository;
+    private SyntheticLibrary library;
+    private SyntheticLibrary.Scale scale;
+    private final Random random = new Random(7);
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(LibraryApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.profiles.active=benchmark",
+                        "--spring.datasource.url=jdbc:h2:mem:benchmark;MODE=MySQL;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.hibernate.ddl-auto=create",
+                        "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                        "--spring.sql.init.mode=never",
+                        "--app.database.initialize-sample-data=false",
+                        "--app.scheduling.enabled=false",
+                        "--logging.level.root=WARN");
+
+        scale = SyntheticLibrary.Scale.ofBooks(books);
+        library = new SyntheticLibrary(context.getBean(JdbcTemplate.class), 42);
+        library.seed(scale);
+        context.getBean(IdAllocator.class).alignWithTables();
+
+        bookRepository = context.getBean(BookRepository.class);
+        authorRepository = context.getBean(AuthorRepository.class);
+        borrowedBookRepository = context.getBean(BorrowedBookRepository.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    private long randomId(int count) {
+        return 1 + random.nextInt(count);
+    }
+
+    @Benchmark
+    public Optional<Book> findBookByIdWithAuthor() {
+        return bookRepository.findByIdWithAuthor(randomId(scale.books()));
+    }
+
+    @Benchmark
+    public List<Book> searchBooksByTitleWord() {
+        return bookRepository.searchBooks(library.word(random), null, null, null);
+    }
+
+    @Benchmark
+    public List<Book> searchBooksByCategoryAndYear() {
+        return bookRepository.searchBooks(null, SyntheticLibrary.CATEGORIES[random.nextInt(SyntheticLibrary.CATEGORIES.length)],
+                null, 1900 + random.nextInt(125));
+    }
+
+    @Benchmark
+    public Slice<AuthorDTO> authorSummariesPage() {
+        int pages = Math.max(scale.authors() / 20, 1);
+        return authorRepository.findAuthorSummaries(PageRequest.of(random.nextInt(pages), 20, Sort.by("name")));
+    }
+
+    @Benchmark
+    public Page<BorrowedBook> borrowedBooksOffsetPage() {
+        int pages = Math.max(scale.loans() / 20, 1);
+        return borrowedBookRepository.findAllWithDetails(PageRequest.of(random.nextInt(pages), 20));
+    }
+
+    @Benchmark
+    public List<BorrowedBook> borrowedBooksKeysetPage() {
+        return borrowedBookRepository.findAllWithDetailsAfterId(randomId(scale.loans()), Limit.of(20));
+    }
+
+    @Benchmark
+    public Optional<BorrowEligibilityDTO> borrowEligibility() {
+        return borrowedBookRepository.findBorrowEligibility(randomId(scale.members()), randomId(scale.books()),
+                LocalDateTime.now());
+    }
+
+    @Benchmark
+    public List<BorrowedBook> memberHistoryForPage() {
+        long first = randomId(Math.max(scale.members() - 20, 1));
+        return borrowedBookRepository.findByMemberIdInWithBook(LongStream.range(first, first + 20).boxed().toList());
+    }
+
+    @Benchmark
+    public List<BorrowedBook> overdueLoans() {
+        return borrowedBookRepository.findOverdueBooks(LocalDate.now());
+    }
+
+    @Benchmark
+    public List<Object[]> loanTotalsByStatus() {
+        return borrowedBookRepository.aggregateByStatus();
+    }
+}
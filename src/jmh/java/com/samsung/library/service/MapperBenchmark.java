@@ -0,0 +1,137 @@
+package com.samsung.library.service;
+
+import com.samsung.library.dto.AuthorDTO;
+import com.samsung.library.dto.BookDTO;
+import com.samsung.library.dto.BorrowedBookDTO;
+import com.samsung.library.dto.MemberDTO;
+import com.samsung.library.model.Author;
+import com.samsung.library.model.Book;
+import com.samsung.library.model.BorrowStatus;
+import com.samsung.library.model.BorrowedBook;
+import com.samsung.library.model.Member;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fine calculation and the entity to DTO mappers of the four services, on detached entities
+ * (no persistence context involved). Inputs cycle through a fixed pool so the JIT cannot fold them.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapperBenchmark {
+
+    private static final int POOL_SIZE = 1024;
+    // The first 64 authors own all books, 16 each
+    private static final int AUTHORS_WITH_BOOKS = 64;
+
+    private final AuthorService authorService = new AuthorService();
+    private final BookService bookService = new BookService();
+    private final MemberService memberService = new MemberService();
+    private final BorrowedBookService borrowedBookService = new BorrowedBookService();
+
+    private final List<Author> authors = new ArrayList<>(POOL_SIZE);
+    private final List<Book> books = new ArrayList<>(POOL_SIZE);
+    private final List<Member> members = new ArrayList<>(POOL_SIZE);
+    private final List<BorrowedBook> loans = new ArrayList<>(POOL_SIZE);
+    private final LocalDate[] dueDates = new LocalDate[POOL_SIZE];
+    private final LocalDate[] returnDates = new LocalDate[POOL_SIZE];
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        LocalDate today = LocalDate.now();
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < POOL_SIZE; i++) {
+            Author author = new Author("Author " + i, "Biography of author " + i, 1900 + random.nextInt(100), "Korean");
+            author.setId((long) i + 1);
+            author.setCreatedAt(now);
+            author.setUpdatedAt(now);
+            authors.add(author);
+        }
+        for (int i = 0; i < POOL_SIZE; i++) {
+            Author author = authors.get(i % AUTHORS_WITH_BOOKS);
+            Book book = new Book("Title " + i, "Fiction", 1950 + random.nextInt(75), "978" + (1_000_000_000L + i),
+                    "Description of book " + i, 1 + random.nextInt(5), author);
+            book.setId((long) i + 1);
+            book.setCreatedAt(now);
+            book.setUpdatedAt(now);
+            books.add(book);
+            author.getBooks().add(book);
+
+            Member member = new Member("Member " + i, "member" + i + "@library.test", "010-0000-" + i, i + " Main Street");
+            member.setId((long) i + 1);
+            member.setMembershipDate(now);
+            member.setCreatedAt(now);
+            member.setUpdatedAt(now);
+            members.add(member);
+
+            BorrowedBook loan = new BorrowedBook(book, member, today.minusDays(20), today.minusDays(6));
+            loan.setId((long) i + 1);
+            loan.setStatus(i % 2 == 0 ? BorrowStatus.BORROWED : BorrowStatus.RETURNED);
+            loan.setCreatedAt(now);
+            loan.setUpdatedAt(now);
+            loans.add(loan);
+
+            // Mix of on time, within the grace period and late returns
+            dueDates[i] = today.minusDays(random.nextInt(30));
+            returnDates[i] = dueDates[i].plusDays(random.nextInt(20) - 5);
+        }
+    }
+
+    private int nextIndex() {
+        next = (next + 1) & (POOL_SIZE - 1);
+        return next;
+    }
+
+    @Benchmark
+    public Double calculateFine() {
+        int i = nextIndex();
+        return BorrowedBookService.calculateFine(dueDates[i], returnDates[i]);
+    }
+
+    @Benchmark
+    public AuthorDTO authorToDTO() {
+        return authorService.convertToDTO(authors.get(nextIndex()));
+    }
+
+    @Benchmark
+    public AuthorDTO authorWithBooksToDTO() {
+        return authorService.convertToDTOWithBooks(authors.get(nextIndex() % AUTHORS_WITH_BOOKS));
+    }
+
+    @Benchmark
+    public BookDTO bookToDTO() {
+        return bookService.convertToDTO(books.get(nextIndex()));
+    }
+
+    @Benchmark
+    public MemberDTO memberToDTO() {
+        return memberService.convertToDTO(members.get(nextIndex()));
+    }
+
+    @Benchmark
+    public BorrowedBookDTO borrowedBookToDTO() {
+        return borrowedBookService.convertToDTO(loans.get(nextIndex()));
+    }
+}
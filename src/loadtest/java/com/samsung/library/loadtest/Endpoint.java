@@ -0,0 +1,29 @@
+package com.samsung.library.loadtest;
+
+/**
+ * Endpoints exercised by the load test, grouped into the workload categories of the mix
+ */
+enum Endpoint {
+    BOOK_BY_ID(Category.BROWSE, "GET /api/books/{id}"),
+    AUTHORS_PAGE(Category.BROWSE, "GET /api/authors?page"),
+    MEMBER_BY_ID(Category.BROWSE, "GET /api/members/{id}"),
+    BORROWED_BOOKS_PAGE(Category.BROWSE, "GET /api/borrowed-books?afterId"),
+    BOOK_SEARCH(Category.SEARCH, "GET /api/books/search"),
+    SUGGEST(Category.SEARCH, "GET /api/suggest"),
+    BORROW(Category.BORROW, "POST /api/borrowed-books/borrow"),
+    RETURN(Category.RETURN, "PUT /api/borrowed-books/{id}/return"),
+    STATS(Category.STATS, "GET /api/borrowed-books/stats");
+
+    enum Category { BROWSE, SEARCH, BORROW, RETURN, STATS }
+
+    private final Category category;
+    private final String label;
+
+    Endpoint(Category category, String label) {
+        this.category = category;
+        this.label = label;
+    }
+
+    Category getCategory() { return category; }
+    String getLabel() { return label; }
+}
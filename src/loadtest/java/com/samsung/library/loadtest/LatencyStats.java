@@ -0,0 +1,65 @@
+package com.samsung.library.loadtest;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Latency samples of one endpoint. Each worker thread records into its own instance; the
+ * instances are merged once the run is over, so recording takes no locks.
+ */
+class LatencyStats {
+
+    private long[] samples = new long[1024];
+    private int count;
+    private long ok;
+    private long rejected;
+    private long errors;
+
+    /** Record one request; status 0 means the request failed before a response arrived */
+    void record(long nanos, int status) {
+        if (count == samples.length) {
+            samples = Arrays.copyOf(samples, count * 2);
+        }
+        samples[count++] = nanos;
+        if (status >= 200 && status < 300) {
+            ok++;
+        } else if (status >= 400 && status < 500) {
+            rejected++;
+        } else {
+            errors++;
+        }
+    }
+
+    static LatencyStats merge(List<LatencyStats> parts) {
+        LatencyStats merged = new LatencyStats();
+        int total = parts.stream().mapToInt(p -> p.count).sum();
+        merged.samples = new long[Math.max(total, 1)];
+        for (LatencyStats part : parts) {
+            System.arraycopy(part.samples, 0, merged.samples, merged.count, part.count);
+            merged.count += part.count;
+            merged.ok += part.ok;
+            merged.rejected += part.rejected;
+            merged.errors += part.errors;
+        }
+        Arrays.sort(merged.samples, 0, merged.count);
+        return merged;
+    }
+
+    int count() { return count; }
+    long ok() { return ok; }
+    long rejected() { return rejected; }
+    long errors() { return errors; }
+
+    /** Percentile in milliseconds (nearest rank); only valid on merged, sorted stats */
+    double percentileMillis(double percentile) {
+        if (count == 0) {
+            return 0.0;
+        }
+        int rank = (int) Math.ceil(percentile / 100.0 * count);
+        return samples[Math.min(Math.max(rank, 1), count) - 1] / 1_000_000.0;
+    }
+
+    double maxMillis() {
+        return count == 0 ? 0.0 : samples[count - 1] / 1_000_000.0;
+    }
+}
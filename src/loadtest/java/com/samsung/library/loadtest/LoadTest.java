@@ -0,0 +1,357 @@
+package com.samsung.library.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.samsung.library.LibraryApplication;
+import com.samsung.library.repository.IdAllocator;
+import com.samsung.library.search.BookSearchService;
+import com.samsung.library.support.SyntheticLibrary;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * End-to-end load test: boots the application on an in-memory H2 database (MySQL mode), seeds
+ * a synthetic library and drives a closed-loop mix of browse, search, borrow, return and stats
+ * requests through the real HTTP endpoints. Prints throughput and latency percentiles per
+ * endpoint and writes them as JSON.
+ *
+ * Arguments (all optional): --books=100000 --threads=16 --warmup=15 --duration=60 --seed=42
+ *   --mix=browse:45,search:25,borrow:12,return:12,stats:6 --report=target/loadtest-report.json
+ * Arguments starting with --spring., --server. or --app. are passed on to the application,
+ * e.g. --spring.threads.virtual.enabled=true to compare the two threading modes.
+ *
+ * Client and server share the machine, so compare runs on the same box with each other.
+ */
+public class LoadTest {
+
+    private static final String DEFAULT_MIX = "browse:45,search:25,borrow:12,return:12,stats:6";
+
+    record Config(int books, int threads, int warmupSeconds, int durationSeconds, long seed,
+                  Map<Endpoint.Category, Integer> mix, Path report, List<String> applicationArgs) {
+
+        static Config parse(String[] args) {
+            Map<String, String> values = new LinkedHashMap<>();
+            List<String> applicationArgs = new ArrayList<>();
+            for (String arg : args) {
+                if (!arg.startsWith("--") || !arg.contains("=")) {
+                    throw new IllegalArgumentException("Expected --name=value but got " + arg);
+                }
+                if (arg.startsWith("--spring.") || arg.startsWith("--server.") || arg.startsWith("--app.")) {
+                    applicationArgs.add(arg);
+                    continue;
+                }
+                values.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+            }
+            return new Config(
+                    Integer.parseInt(values.getOrDefault("books", "100000")),
+                    Integer.parseInt(values.getOrDefault("threads", "16")),
+                    Integer.parseInt(values.getOrDefault("warmup", "15")),
+                    Integer.parseInt(values.getOrDefault("duration", "60")),
+                    Long.parseLong(values.getOrDefault("seed", "42")),
+                    parseMix(values.getOrDefault("mix", DEFAULT_MIX)),
+                    Path.of(values.getOrDefault("report", "target/loadtest-report.json")),
+                    applicationArgs);
+        }
+
+        private static Map<Endpoint.Category, Integer> parseMix(String mix) {
+            Map<Endpoint.Category, Integer> weights = new EnumMap<>(Endpoint.Category.class);
+            for (String part : mix.split(",")) {
+                String[] pair = part.split(":");
+                weights.put(Endpoint.Category.valueOf(pair[0].trim().toUpperCase()), Integer.parseInt(pair[1].trim()));
+            }
+            return weights;
+        }
+    }
+
+    private final Config config;
+    private final SyntheticLibrary.Scale scale;
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    // Loans that can be returned; seeded with the active loans and fed by successful borrows
+    private final ConcurrentLinkedQueue<Long> activeLoans = new ConcurrentLinkedQueue<>();
+    private final List<Endpoint.Category> categoryTable = new ArrayList<>();
+
+    private SyntheticLibrary library;
+    private String baseUrl;
+    private volatile boolean recording;
+    private volatile boolean stopped;
+    private double elapsedSeconds;
+
+    LoadTest(Config config) {
+        this.config = config;
+        this.scale = SyntheticLibrary.Scale.ofBooks(config.books());
+        config.mix().forEach((category, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                categoryTable.add(category);
+            }
+        });
+        if (categoryTable.isEmpty()) {
+            throw new IllegalArgumentException("The workload mix needs at least one positive weight");
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        // A DevTools restart would run main again with the Spring arguments instead of ours
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        new LoadTest(Config.parse(args)).run();
+        // Non-daemon threads of the HTTP client would otherwise keep the VM alive
+        System.exit(0);
+    }
+
+    void run() throws Exception {
+        System.out.printf("Seeding %,d authors, %,d books, %,d members and %,d loans%n",
+                scale.authors(), scale.books(), scale.members(), scale.loans());
+        long bootStart = System.nanoTime();
+        try (ConfigurableApplicationContext context = start()) {
+            awaitSearchIndex(context.getBean(BookSearchService.class));
+            System.out.printf("Application ready on %s after %.1f s%n", baseUrl, (System.nanoTime() - bootStart) / 1e9);
+
+            List<Long> loans = context.getBean(JdbcTemplate.class)
+                    .queryForList("SELECT id FROM borrowed_books WHERE status = 'BORROWED'", Long.class);
+            Collections.shuffle(loans, new Random(config.seed()));
+            activeLoans.addAll(loans);
+
+            Map<Endpoint, LatencyStats> results = drive();
+            report(results);
+        }
+    }
+
+    // Seed on ContextRefreshedEvent: the schema exists, but the startup jobs (search index,
+    // suggest index, statistics) have not read the tables yet
+    private ConfigurableApplicationContext start() {
+        ApplicationListener<ContextRefreshedEvent> seeder = event -> {
+            JdbcTemplate jdbcTemplate = event.getApplicationContext().getBean(JdbcTemplate.class);
+            long start = System.nanoTime();
+            library = new SyntheticLibrary(jdbcTemplate, config.seed());
+            library.seed(scale);
+            event.getApplicationContext().getBean(IdAllocator.class).alignWithTables();
+            System.out.printf("Seeded in %.1f s%n", (System.nanoTime() - start) / 1e9);
+        };
+        List<String> args = new ArrayList<>(List.of("--spring.profiles.active=loadtest",
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:loadtest;MODE=MySQL;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.hibernate.ddl-auto=create",
+                "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                "--spring.sql.init.mode=never",
+                "--app.database.initialize-sample-data=false",
+                "--app.scheduling.enabled=false",
+                "--logging.level.root=WARN"));
+        // Later arguments win, so the command line can override any of the above
+        args.addAll(config.applicationArgs());
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(LibraryApplication.class)
+                .listeners(seeder)
+                .run(args.toArray(String[]::new));
+        baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+        return context;
+    }
+
+    private void awaitSearchIndex(BookSearchService bookSearchService) throws InterruptedException {
+        while (!bookSearchService.isReady()) {
+            Thread.sleep(100);
+        }
+    }
+
+    private Map<Endpoint, LatencyStats> drive() throws InterruptedException {
+        List<Map<Endpoint, LatencyStats>> perThread = new ArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < config.threads(); i++) {
+            Map<Endpoint, LatencyStats> stats = new EnumMap<>(Endpoint.class);
+            for (Endpoint endpoint : Endpoint.values()) {
+                stats.put(endpoint, new LatencyStats());
+            }
+            perThread.add(stats);
+            Random random = new Random(config.seed() + i);
+            Thread thread = new Thread(() -> work(random, stats), "load-" + i);
+            threads.add(thread);
+            thread.start();
+        }
+
+        System.out.printf("Warming up for %d s with %d threads%n", config.warmupSeconds(), config.threads());
+        Thread.sleep(config.warmupSeconds() * 1000L);
+        recording = true;
+        long start = System.nanoTime();
+        System.out.printf("Measuring for %d s%n", config.durationSeconds());
+        Thread.sleep(config.durationSeconds() * 1000L);
+        recording = false;
+        double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+        stopped = true;
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        Map<Endpoint, LatencyStats> merged = new EnumMap<>(Endpoint.class);
+        for (Endpoint endpoint : Endpoint.values()) {
+            merged.put(endpoint, LatencyStats.merge(perThread.stream().map(s -> s.get(endpoint)).toList()));
+        }
+        this.elapsedSeconds = elapsedSeconds;
+        return merged;
+    }
+
+    private void work(Random random, Map<Endpoint, LatencyStats> stats) {
+        while (!stopped) {
+            Endpoint endpoint = pick(random);
+            long start = System.nanoTime();
+            int status;
+            try {
+                status = execute(endpoint, random);
+            } catch (IOException e) {
+                status = 0;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (recording) {
+                stats.get(endpoint).record(System.nanoTime() - start, status);
+            }
+        }
+    }
+
+    private Endpoint pick(Random random) {
+        Endpoint.Category category = categoryTable.get(random.nextInt(categoryTable.size()));
+        return switch (category) {
+            case BROWSE -> switch (random.nextInt(4)) {
+                case 0 -> Endpoint.BOOK_BY_ID;
+                case 1 -> Endpoint.AUTHORS_PAGE;
+                case 2 -> Endpoint.MEMBER_BY_ID;
+                default -> Endpoint.BORROWED_BOOKS_PAGE;
+            };
+            case SEARCH -> random.nextBoolean() ? Endpoint.BOOK_SEARCH : Endpoint.SUGGEST;
+            case BORROW -> Endpoint.BORROW;
+            // Nothing left to return: borrow instead so the loop keeps its shape
+            case RETURN -> activeLoans.isEmpty() ? Endpoint.BORROW : Endpoint.RETURN;
+            case STATS -> Endpoint.STATS;
+        };
+    }
+
+    private int execute(Endpoint endpoint, Random random) throws IOException, InterruptedException {
+        return switch (endpoint) {
+            case BOOK_BY_ID -> get("/api/books/" + randomId(random, scale.books()));
+            case AUTHORS_PAGE -> get("/api/authors?size=20&page=" + random.nextInt(Math.max(scale.authors() / 20, 1)));
+            case MEMBER_BY_ID -> get("/api/members/" + randomId(random, scale.members()));
+            case BORROWED_BOOKS_PAGE -> get("/api/borrowed-books?size=20&afterId=" + randomId(random, scale.loans()));
+            case BOOK_SEARCH -> get("/api/books/search?q=" + encode(library.word(random)));
+            case SUGGEST -> get("/api/suggest?q=" + encode(library.word(random).substring(0, 3)));
+            case BORROW -> borrow(random);
+            case RETURN -> giveBack(random);
+            case STATS -> get("/api/borrowed-books/stats");
+        };
+    }
+
+    private int borrow(Random random) throws IOException, InterruptedException {
+        String body = "{\"bookId\":" + randomId(random, scale.books())
+                + ",\"memberId\":" + randomId(random, scale.members())
+                + ",\"borrowDate\":\"" + LocalDate.now() + "\"}";
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/borrowed-books/borrow"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() == 201) {
+            JsonNode id = objectMapper.readTree(response.body()).path("data").path("id");
+            if (id.isNumber()) {
+                activeLoans.add(id.asLong());
+            }
+        }
+        return response.statusCode();
+    }
+
+    private int giveBack(Random random) throws IOException, InterruptedException {
+        Long loanId = activeLoans.poll();
+        if (loanId == null) {
+            return borrow(random);
+        }
+        return client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/borrowed-books/" + loanId + "/return"))
+                .PUT(HttpRequest.BodyPublishers.noBody())
+                .build(), HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private int get(String path) throws IOException, InterruptedException {
+        return client.send(HttpRequest.newBuilder(URI.create(baseUrl + path)).GET().build(),
+                HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private static long randomId(Random random, int count) {
+        return 1 + random.nextInt(count);
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    private void report(Map<Endpoint, LatencyStats> results) throws IOException {
+        System.out.printf("%n%-38s %9s %9s %7s %7s %9s %8s %8s %8s %8s %8s%n", "Endpoint", "Requests", "OK", "4xx",
+                "Errors", "Req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "Max ms");
+        List<Map<String, Object>> rows = new ArrayList<>();
+        long total = 0;
+        for (Map.Entry<Endpoint, LatencyStats> entry : results.entrySet()) {
+            LatencyStats stats = entry.getValue();
+            if (stats.count() == 0) {
+                continue;
+            }
+            total += stats.count();
+            double throughput = stats.count() / elapsedSeconds;
+            System.out.printf("%-38s %9d %9d %7d %7d %9.1f %8.2f %8.2f %8.2f %8.2f %8.2f%n",
+                    entry.getKey().getLabel(), stats.count(), stats.ok(), stats.rejected(), stats.errors(), throughput,
+                    stats.percentileMillis(50), stats.percentileMillis(90), stats.percentileMillis(99),
+                    stats.percentileMillis(99.9), stats.maxMillis());
+
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("endpoint", entry.getKey().getLabel());
+            row.put("requests", stats.count());
+            row.put("ok", stats.ok());
+            row.put("rejected", stats.rejected());
+            row.put("errors", stats.errors());
+            row.put("throughputPerSecond", throughput);
+            row.put("p50Ms", stats.percentileMillis(50));
+            row.put("p90Ms", stats.percentileMillis(90));
+            row.put("p99Ms", stats.percentileMillis(99));
+            row.put("p999Ms", stats.percentileMillis(99.9));
+            row.put("maxMs", stats.maxMillis());
+            rows.add(row);
+        }
+        System.out.printf("%-38s %9d %45.1f req/s%n", "Total", total, total / elapsedSeconds);
+
+        Map<String, Object> document = new LinkedHashMap<>();
+        document.put("books", scale.books());
+        document.put("authors", scale.authors());
+        document.put("members", scale.members());
+        document.put("loans", scale.loans());
+        document.put("threads", config.threads());
+        document.put("durationSeconds", elapsedSeconds);
+        document.put("mix", config.mix());
+        document.put("applicationArgs", config.applicationArgs());
+        document.put("endpoints", rows);
+        Path report = config.report().toAbsolutePath();
+        Files.createDirectories(report.getParent());
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(report.toFile(), document);
+        System.out.println("Report written to " + report);
+    }
+}
@@ -0,0 +1,49 @@
+package com.samsung.library.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Cache Configuration for the read-heavy catalog
+ * In-process Caffeine caches with size and TTL bounds; specs can be overridden per cache
+ */
+@Configuration
+public class CacheConfig {
+
+    public static final String BOOKS_CACHE = "books";
+    public static final String AUTHORS_CACHE = "authors";
+    public static final String CATEGORIES_CACHE = "categories";
+    public static final String MEMBER_ACCOUNTS_CACHE = "memberAccounts";
+
+    @Value("${app.cache.books.spec:maximumSize=10000,expireAfterWrite=10m,recordStats}")
+    private String booksSpec;
+
+    @Value("${app.cache.authors.spec:maximumSize=5000,expireAfterWrite=30m,recordStats}")
+    private String authorsSpec;
+
+    @Value("${app.cache.categories.spec:maximumSize=10,expireAfterWrite=1h,recordStats}")
+    private String categoriesSpec;
+
+    @Value("${app.cache.member-accounts.spec:maximumSize=10000,expireAfterWrite=5m,recordStats}")
+    private String memberAccountsSpec;
+
+    /**
+     * Evictions and puts are deferred until the surrounding transaction commits,
+     * so a rolled-back write never leaves the cache out of step with the database
+     */
+    @Bean
+    public CacheManager cacheManager() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setAllowNullValues(false);
+        cacheManager.registerCustomCache(BOOKS_CACHE, Caffeine.from(booksSpec).build());
+        cacheManager.registerCustomCache(AUTHORS_CACHE, Caffeine.from(authorsSpec).build());
+        cacheManager.registerCustomCache(CATEGORIES_CACHE, Caffeine.from(categoriesSpec).build());
+        cacheManager.registerCustomCache(MEMBER_ACCOUNTS_CACHE, Caffeine.from(memberAccountsSpec).build());
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+}
@@ -1,5 +1,6 @@
 package com.samsung.library.config;
 
+import com.samsung.library.repository.IdAllocator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -30,6 +31,9 @@ public class DatabaseInitializer implements CommandLineRunner {
     @Autowired
     private JdbcTemplate jdbcTemplate;
 
+    @Autowired
+    private IdAllocator idAllocator;
+
     @Value("${app.database.initialize-sample-data:true}")
     private boolean initializeSampleData;
 
@@ -56,6 +60,9 @@ public class DatabaseInitializer implements CommandLineRunner {
             logger.info("Initializing database with sample data...");
             loadSampleData();
 
+            // Sample rows carry their own IDs; keep the id generators ahead of them
+            idAllocator.alignWithTables();
+
             // Verify data was loaded
             verifyDataLoaded();
 
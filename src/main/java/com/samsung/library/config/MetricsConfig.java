@@ -0,0 +1,96 @@
+package com.samsung.library.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.BaseStream;
+
+/**
+ * Application metrics, exposed with the built-in ones at /actuator/prometheus.
+ *
+ * Spring Boot already times every repository method (spring.data.repository.invocations);
+ * this adds the number of rows each one returned (library.repository.rows{repository, method}).
+ */
+@Configuration
+public class MetricsConfig {
+
+    // Static so it is registered before the repository factory beans it customizes
+    @Bean
+    public static BeanPostProcessor repositoryRowCountPostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                            (proxyFactory, information) -> proxyFactory.addAdvice(new RowCountInterceptor(
+                                    meterRegistry, information.getRepositoryInterface().getSimpleName()))));
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * Records the size of collection, page, slice and optional results; counts, flags and
+     * streams are left out (the latter are consumed after the call returns)
+     */
+    static class RowCountInterceptor implements MethodInterceptor {
+
+        private final ObjectProvider<MeterRegistry> meterRegistry;
+        private final String repository;
+        private final Map<Method, DistributionSummary> summaries = new ConcurrentHashMap<>();
+
+        RowCountInterceptor(ObjectProvider<MeterRegistry> meterRegistry, String repository) {
+            this.meterRegistry = meterRegistry;
+            this.repository = repository;
+        }
+
+        @Override
+        public Object invoke(MethodInvocation invocation) throws Throwable {
+            Object result = invocation.proceed();
+            long rows = rowCount(result, invocation.getMethod().getReturnType());
+            if (rows >= 0) {
+                summaries.computeIfAbsent(invocation.getMethod(), method -> DistributionSummary
+                                .builder("library.repository.rows")
+                                .description("Rows returned per repository call")
+                                .baseUnit("rows")
+                                .tag("repository", repository)
+                                .tag("method", method.getName())
+                                .register(meterRegistry.getObject()))
+                        .record(rows);
+            }
+            return result;
+        }
+
+        private static long rowCount(Object result, Class<?> returnType) {
+            if (result instanceof Collection<?> collection) {
+                return collection.size();
+            }
+            if (result instanceof Slice<?> slice) {
+                return slice.getNumberOfElements();
+            }
+            if (result instanceof Optional<?> optional) {
+                return optional.isPresent() ? 1 : 0;
+            }
+            if (returnType == void.class || returnType.isPrimitive() || Number.class.isAssignableFrom(returnType)
+                    || Boolean.class == returnType || BaseStream.class.isAssignableFrom(returnType)) {
+                return -1;
+            }
+            // Single entity or projection
+            return result != null ? 1 : 0;
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.samsung.library.controller;
 
 import com.samsung.library.dto.ApiResponseDTO;
 import com.samsung.library.dto.AuthorDTO;
+import com.samsung.library.dto.PageResponseDTO;
 import com.samsung.library.service.AuthorService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -33,11 +34,14 @@ public class AuthorController {
         }
     }
 
-    // Get all authors
+    // Get authors one page at a time, with book counts and optionally their first few books
     @GetMapping
-    public ResponseEntity<ApiResponseDTO<List<AuthorDTO>>> getAllAuthors() {
+    public ResponseEntity<ApiResponseDTO<PageResponseDTO<AuthorDTO>>> getAllAuthors(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "0") int booksPerAuthor) {
         try {
-            List<AuthorDTO> authors = authorService.getAllAuthors();
+            PageResponseDTO<AuthorDTO> authors = authorService.getAuthorsPage(page, size, booksPerAuthor);
             return ResponseEntity.ok(ApiResponseDTO.success("Authors retrieved successfully", authors));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -2,12 +2,14 @@ package com.samsung.library.controller;
 
 import com.samsung.library.dto.ApiResponseDTO;
 import com.samsung.library.dto.BookDTO;
+import com.samsung.library.dto.PageResponseDTO;
 import com.samsung.library.dto.SearchRequestDTO;
 import com.samsung.library.service.BookService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -75,6 +77,9 @@ public class BookController {
                 return ResponseEntity.status(HttpStatus.NOT_FOUND)
                         .body(ApiResponseDTO.error("Book not found with ID: " + id));
             }
+        } catch (ObjectOptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(ApiResponseDTO.error("Book was changed since it was read; reload it and retry"));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                     .body(ApiResponseDTO.error("Failed to update book: " + e.getMessage()));
@@ -110,6 +115,23 @@ public class BookController {
         }
     }
 
+    // Ranked full-text search with prefix matching (for search-as-you-type)
+    @GetMapping("/search")
+    public ResponseEntity<ApiResponseDTO<PageResponseDTO<BookDTO>>> searchBooks(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) Integer year,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        try {
+            PageResponseDTO<BookDTO> books = bookService.searchBooks(q, category, year, page, size);
+            return ResponseEntity.ok(ApiResponseDTO.success("Books found", books));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponseDTO.error("Failed to search books: " + e.getMessage()));
+        }
+    }
+
     // Get available books
     @GetMapping("/available")
     public ResponseEntity<ApiResponseDTO<List<BookDTO>>> getAvailableBooks() {
@@ -1,22 +1,35 @@
 // BorrowedBookController.java
 package com.samsung.library.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.samsung.library.dto.ApiResponseDTO;
+import com.samsung.library.dto.BatchBorrowRequestDTO;
+import com.samsung.library.dto.BatchResultDTO;
+import com.samsung.library.dto.BatchReturnRequestDTO;
 import com.samsung.library.dto.BorrowedBookDTO;
+import com.samsung.library.dto.BorrowingStatsDTO;
+import com.samsung.library.dto.MemberAccountDTO;
+import com.samsung.library.dto.OverdueJobStatusDTO;
+import com.samsung.library.dto.PageResponseDTO;
 import com.samsung.library.dto.SearchRequestDTO;
-import com.samsung.library.model.BorrowStatus;
 import com.samsung.library.service.BorrowedBookService;
+import com.samsung.library.service.BorrowingStatisticsService;
+import com.samsung.library.service.LoanMetrics;
+import com.samsung.library.service.MemberAccountService;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.time.LocalDate;
-import java.util.List;
 import java.util.Optional;
 
 /**
@@ -28,9 +41,23 @@ import java.util.Optional;
 @CrossOrigin(origins = "*")
 public class BorrowedBookController {
 
+    private static final String NDJSON_MEDIA_TYPE = "application/x-ndjson";
+
     @Autowired
     private BorrowedBookService borrowedBookService;
 
+    @Autowired
+    private MemberAccountService memberAccountService;
+
+    @Autowired
+    private BorrowingStatisticsService borrowingStatisticsService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private LoanMetrics loanMetrics;
+
     /**
      * Borrow a book - Create a new borrowing record
      * POST /api/borrowed-books/borrow
@@ -43,9 +70,11 @@ public class BorrowedBookController {
             return ResponseEntity.status(HttpStatus.CREATED)
                     .body(ApiResponseDTO.success("Book borrowed successfully", borrowedBook));
         } catch (RuntimeException e) {
+            loanMetrics.recordRejected(LoanMetrics.BORROW, 1);
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                     .body(ApiResponseDTO.error("Failed to borrow book: " + e.getMessage()));
         } catch (Exception e) {
+            loanMetrics.recordFailed(LoanMetrics.BORROW);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(ApiResponseDTO.error("An unexpected error occurred while borrowing the book"));
         }
@@ -61,37 +90,91 @@ public class BorrowedBookController {
             BorrowedBookDTO returnedBook = borrowedBookService.returnBook(id);
             return ResponseEntity.ok(ApiResponseDTO.success("Book returned successfully", returnedBook));
         } catch (RuntimeException e) {
+            loanMetrics.recordRejected(LoanMetrics.RETURN, 1);
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                     .body(ApiResponseDTO.error("Failed to return book: " + e.getMessage()));
         } catch (Exception e) {
+            loanMetrics.recordFailed(LoanMetrics.RETURN);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(ApiResponseDTO.error("An unexpected error occurred while returning the book"));
         }
     }
 
+    /**
+     * Borrow several books for one member
+     * POST /api/borrowed-books/borrow/batch  {"memberId": 1, "bookIds": [3, 7, 9], "mode": "ALL_OR_NOTHING"}
+     */
+    @PostMapping("/borrow/batch")
+    public ResponseEntity<ApiResponseDTO<BatchResultDTO>> borrowBooks(
+            @Valid @RequestBody BatchBorrowRequestDTO request) {
+        try {
+            BatchResultDTO result = borrowedBookService.borrowBooks(request);
+            loanMetrics.recordRejected(LoanMetrics.BORROW, result.getRequested() - result.getSucceeded());
+            return batchResponse(result, "borrowed");
+        } catch (RuntimeException e) {
+            loanMetrics.recordRejected(LoanMetrics.BORROW, request.getBookIds() != null ? request.getBookIds().size() : 1);
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(ApiResponseDTO.error("Failed to borrow books: " + e.getMessage()));
+        } catch (Exception e) {
+            loanMetrics.recordFailed(LoanMetrics.BORROW);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponseDTO.error("An unexpected error occurred while borrowing the books"));
+        }
+    }
 
     /**
-     * Get all borrowed books with optional pagination
-     * GET /api/borrowed-books?page=0&size=10
+     * Return several borrowed books
+     * PUT /api/borrowed-books/return/batch  {"borrowedBookIds": [12, 15], "mode": "BEST_EFFORT"}
+     */
+    @PutMapping("/return/batch")
+    public ResponseEntity<ApiResponseDTO<BatchResultDTO>> returnBooks(
+            @Valid @RequestBody BatchReturnRequestDTO request) {
+        try {
+            BatchResultDTO result = borrowedBookService.returnBooks(request);
+            loanMetrics.recordRejected(LoanMetrics.RETURN, result.getRequested() - result.getSucceeded());
+            return batchResponse(result, "returned");
+        } catch (RuntimeException e) {
+            loanMetrics.recordRejected(LoanMetrics.RETURN,
+                    request.getBorrowedBookIds() != null ? request.getBorrowedBookIds().size() : 1);
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(ApiResponseDTO.error("Failed to return books: " + e.getMessage()));
+        } catch (Exception e) {
+            loanMetrics.recordFailed(LoanMetrics.RETURN);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponseDTO.error("An unexpected error occurred while returning the books"));
+        }
+    }
+
+    /**
+     * Get borrowed books page by page
+     * GET /api/borrowed-books?page=0&size=50 (offset pages)
+     * GET /api/borrowed-books?cursor={nextCursor}&size=50 or ?afterId=123&size=50 (keyset pages)
      */
     @GetMapping
-    public ResponseEntity<ApiResponseDTO<List<BorrowedBookDTO>>> getAllBorrowedBooks(
+    public ResponseEntity<ApiResponseDTO<PageResponseDTO<BorrowedBookDTO>>> getAllBorrowedBooks(
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "50") int size) {
+            @RequestParam(defaultValue = "50") int size,
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(required = false) String cursor) {
         try {
-            List<BorrowedBookDTO> borrowedBooks = borrowedBookService.getAllBorrowedBooks();
-
-            // Simple pagination (for demonstration - in production, use Spring Data's Pageable)
-            int start = page * size;
-            int end = Math.min(start + size, borrowedBooks.size());
-
-            if (start >= borrowedBooks.size()) {
-                return ResponseEntity.ok(ApiResponseDTO.success("No more borrowed books found", List.of()));
+            PageResponseDTO<BorrowedBookDTO> result;
+            String message;
+            if (cursor != null || afterId != null) {
+                Long lastSeenId = cursor != null ? borrowedBookService.decodeCursor(cursor) : afterId;
+                result = borrowedBookService.getBorrowedBooksAfter(lastSeenId, size);
+                message = "Retrieved " + result.getContent().size() + " borrowed books after ID " + lastSeenId;
+            } else {
+                result = borrowedBookService.getBorrowedBooksPage(page, size);
+                message = "Retrieved " + result.getContent().size() + " borrowed books (page " + page + ")";
             }
 
-            List<BorrowedBookDTO> paginatedList = borrowedBooks.subList(start, end);
-            return ResponseEntity.ok(ApiResponseDTO.success(
-                    "Retrieved " + paginatedList.size() + " borrowed books (page " + page + ")", paginatedList));
+            if (result.getContent().isEmpty()) {
+                return ResponseEntity.ok(ApiResponseDTO.success("No more borrowed books found", result));
+            }
+            return ResponseEntity.ok(ApiResponseDTO.success(message, result));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(ApiResponseDTO.error(e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(ApiResponseDTO.error("Failed to retrieve borrowed books: " + e.getMessage()));
@@ -183,44 +266,102 @@ public class BorrowedBookController {
         }
     }
 
+    /**
+     * Active loans, overdue loans and outstanding fines of a member
+     * GET /api/borrowed-books/member/{memberId}/account
+     */
+    @GetMapping("/member/{memberId}/account")
+    public ResponseEntity<ApiResponseDTO<MemberAccountDTO>> getMemberAccount(@PathVariable Long memberId) {
+        try {
+            Optional<MemberAccountDTO> account = memberAccountService.getAccount(memberId);
+            if (account.isPresent()) {
+                return ResponseEntity.ok(ApiResponseDTO.success("Member account retrieved successfully", account.get()));
+            } else {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .body(ApiResponseDTO.error("Member not found with ID: " + memberId));
+            }
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponseDTO.error("Failed to retrieve member account: " + e.getMessage()));
+        }
+    }
+
 
     /**
-     * Get borrowed books by date range
-     * GET /api/borrowed-books/date-range?start=2025-01-01&end=2025-12-31
+     * Get borrowed books by date range, page by page
+     * GET /api/borrowed-books/date-range?start=2025-01-01&end=2025-12-31&page=0&size=50
      */
     @GetMapping("/date-range")
-    public ResponseEntity<ApiResponseDTO<List<BorrowedBookDTO>>> getBorrowedBooksByDateRange(
+    public ResponseEntity<ApiResponseDTO<PageResponseDTO<BorrowedBookDTO>>> getBorrowedBooksByDateRange(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate start,
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate end) {
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate end,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size) {
         try {
-            if (start.isAfter(end)) {
-                return ResponseEntity.status(HttpStatus.BAD_REQUEST)
-                        .body(ApiResponseDTO.error("Start date cannot be after end date"));
-            }
-
-            if (start.isBefore(LocalDate.now().minusYears(5))) {
+            String rangeError = validateDateRange(start, end);
+            if (rangeError != null) {
                 return ResponseEntity.status(HttpStatus.BAD_REQUEST)
-                        .body(ApiResponseDTO.error("Start date cannot be more than 5 years in the past"));
+                        .body(ApiResponseDTO.error(rangeError));
             }
 
-            // For demonstration, we'll filter from all borrowed books
-            // In production, you'd add a date range method to the repository
-            List<BorrowedBookDTO> allBorrowedBooks = borrowedBookService.getAllBorrowedBooks();
-            List<BorrowedBookDTO> filteredBooks = allBorrowedBooks.stream()
-                    .filter(book -> book.getBorrowDate() != null &&
-                            !book.getBorrowDate().isBefore(start) &&
-                            !book.getBorrowDate().isAfter(end))
-                    .toList();
+            PageResponseDTO<BorrowedBookDTO> result =
+                    borrowedBookService.getBorrowedBooksByDateRange(start, end, page, size);
 
             return ResponseEntity.ok(ApiResponseDTO.success(
-                    "Found " + filteredBooks.size() + " book(s) borrowed between " + start + " and " + end,
-                    filteredBooks));
+                    "Found " + result.getTotalElements() + " book(s) borrowed between " + start + " and " + end +
+                            " (page " + page + ")",
+                    result));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(ApiResponseDTO.error("Failed to retrieve books by date range: " + e.getMessage()));
         }
     }
 
+    /**
+     * Stream borrowed books by date range as newline-delimited JSON
+     * GET /api/borrowed-books/date-range/stream?start=2025-01-01&end=2025-12-31
+     */
+    @GetMapping(value = "/date-range/stream", produces = NDJSON_MEDIA_TYPE)
+    public ResponseEntity<?> streamBorrowedBooksByDateRange(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate start,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate end) {
+        String rangeError = validateDateRange(start, end);
+        if (rangeError != null) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(ApiResponseDTO.error(rangeError));
+        }
+
+        StreamingResponseBody body = outputStream ->
+                borrowedBookService.streamBorrowedBooksByDateRange(start, end, dto -> {
+                    try {
+                        outputStream.write(objectMapper.writeValueAsBytes(dto));
+                        outputStream.write('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(NDJSON_MEDIA_TYPE))
+                .body(body);
+    }
+
+    /**
+     * Progress of the current or last overdue processing run
+     * GET /api/borrowed-books/overdue/job
+     */
+    @GetMapping("/overdue/job")
+    public ResponseEntity<ApiResponseDTO<OverdueJobStatusDTO>> getOverdueJobStatus() {
+        try {
+            OverdueJobStatusDTO status = borrowedBookService.getOverdueJobStatus();
+            return ResponseEntity.ok(ApiResponseDTO.success("Overdue job status retrieved", status));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponseDTO.error("Failed to retrieve overdue job status: " + e.getMessage()));
+        }
+    }
+
     /**
      * Get borrowing statistics
      * GET /api/borrowed-books/stats
@@ -228,24 +369,7 @@ public class BorrowedBookController {
     @GetMapping("/stats")
     public ResponseEntity<ApiResponseDTO<BorrowingStatsDTO>> getBorrowingStatistics() {
         try {
-            List<BorrowedBookDTO> allBorrowedBooks = borrowedBookService.getAllBorrowedBooks();
-
-            BorrowingStatsDTO stats = new BorrowingStatsDTO();
-            stats.setTotalBorrowings(allBorrowedBooks.size());
-            stats.setCurrentlyBorrowed((int) allBorrowedBooks.stream()
-                    .filter(book -> book.getStatus() == BorrowStatus.BORROWED)
-                    .count());
-            stats.setOverdueBooks((int) allBorrowedBooks.stream()
-                    .filter(book -> book.getStatus() == BorrowStatus.OVERDUE)
-                    .count());
-            stats.setReturnedBooks((int) allBorrowedBooks.stream()
-                    .filter(book -> book.getStatus() == BorrowStatus.RETURNED)
-                    .count());
-            stats.setTotalFinesCollected(allBorrowedBooks.stream()
-                    .filter(book -> book.getFineAmount() != null)
-                    .mapToDouble(BorrowedBookDTO::getFineAmount)
-                    .sum());
-
+            BorrowingStatsDTO stats = borrowingStatisticsService.getStatistics();
             return ResponseEntity.ok(ApiResponseDTO.success("Borrowing statistics retrieved successfully", stats));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -254,29 +378,28 @@ public class BorrowedBookController {
     }
 
     /**
-     * Inner class for borrowing statistics
+     * Validate a borrow date range, returning an error message or null when valid
      */
-    public static class BorrowingStatsDTO {
-        private int totalBorrowings;
-        private int currentlyBorrowed;
-        private int overdueBooks;
-        private int returnedBooks;
-        private double totalFinesCollected;
-
-        // Getters and setters
-        public int getTotalBorrowings() { return totalBorrowings; }
-        public void setTotalBorrowings(int totalBorrowings) { this.totalBorrowings = totalBorrowings; }
-
-        public int getCurrentlyBorrowed() { return currentlyBorrowed; }
-        public void setCurrentlyBorrowed(int currentlyBorrowed) { this.currentlyBorrowed = currentlyBorrowed; }
-
-        public int getOverdueBooks() { return overdueBooks; }
-        public void setOverdueBooks(int overdueBooks) { this.overdueBooks = overdueBooks; }
-
-        public int getReturnedBooks() { return returnedBooks; }
-        public void setReturnedBooks(int returnedBooks) { this.returnedBooks = returnedBooks; }
+    private String validateDateRange(LocalDate start, LocalDate end) {
+        if (start.isAfter(end)) {
+            return "Start date cannot be after end date";
+        }
+        if (start.isBefore(LocalDate.now().minusYears(5))) {
+            return "Start date cannot be more than 5 years in the past";
+        }
+        return null;
+    }
 
-        public double getTotalFinesCollected() { return totalFinesCollected; }
-        public void setTotalFinesCollected(double totalFinesCollected) { this.totalFinesCollected = totalFinesCollected; }
+    /**
+     * A rejected all-or-nothing batch is a conflict; otherwise report how many items went through
+     */
+    private ResponseEntity<ApiResponseDTO<BatchResultDTO>> batchResponse(BatchResultDTO result, String action) {
+        if (result.isRejected()) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(new ApiResponseDTO<>(false, "Batch rejected, no books were " + action +
+                            "; see the items for the reasons", result));
+        }
+        return ResponseEntity.ok(ApiResponseDTO.success(result.getSucceeded() + " of " + result.getRequested() +
+                " books " + action, result));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,44 @@
+package com.samsung.library.controller;
+
+import com.samsung.library.dto.ApiResponseDTO;
+import com.samsung.library.dto.CacheStatsDTO;
+import com.samsung.library.service.CacheService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/cache")
+@CrossOrigin(origins = "*")
+public class CacheController {
+
+    @Autowired
+    private CacheService cacheService;
+
+    // Get cache statistics
+    @GetMapping("/stats")
+    public ResponseEntity<ApiResponseDTO<List<CacheStatsDTO>>> getCacheStatistics() {
+        try {
+            List<CacheStatsDTO> stats = cacheService.getCacheStatistics();
+            return ResponseEntity.ok(ApiResponseDTO.success("Cache statistics retrieved", stats));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponseDTO.error("Failed to retrieve cache statistics: " + e.getMessage()));
+        }
+    }
+
+    // Clear all caches
+    @DeleteMapping
+    public ResponseEntity<ApiResponseDTO<Void>> clearCaches() {
+        try {
+            cacheService.clearAll();
+            return ResponseEntity.ok(ApiResponseDTO.success("Caches cleared", null));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponseDTO.error("Failed to clear caches: " + e.getMessage()));
+        }
+    }
+}
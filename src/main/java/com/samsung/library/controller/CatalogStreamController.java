@@ -0,0 +1,166 @@
+package com.samsung.library.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.samsung.library.dto.ApiResponseDTO;
+import com.samsung.library.service.CatalogStreamService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Non-blocking counterparts of the catalog list endpoints, as newline-delimited JSON.
+ * The servlet thread returns as soon as the stream is accepted; elements are sent as the
+ * database cursor produces them. 503 when too many streams are already running.
+ */
+@RestController
+@RequestMapping("/api/stream")
+@CrossOrigin(origins = "*")
+public class CatalogStreamController {
+
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    @Autowired
+    private CatalogStreamService catalogStreamService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${app.catalog-stream.flush-interval:50}")
+    private int flushInterval;
+
+    // GET /api/stream/books
+    @GetMapping(value = "/books", produces = "application/x-ndjson")
+    public ResponseEntity<ResponseBodyEmitter> streamBooks() {
+        return stream(consumer -> catalogStreamService.streamBooks(CatalogStreamService.BookFilter.ALL, null, consumer));
+    }
+
+    // GET /api/stream/books/available
+    @GetMapping(value = "/books/available", produces = "application/x-ndjson")
+    public ResponseEntity<ResponseBodyEmitter> streamAvailableBooks() {
+        return stream(consumer -> catalogStreamService.streamBooks(CatalogStreamService.BookFilter.AVAILABLE, null, consumer));
+    }
+
+    // GET /api/stream/books/category/{category}
+    @GetMapping(value = "/books/category/{category}", produces = "application/x-ndjson")
+    public ResponseEntity<ResponseBodyEmitter> streamBooksByCategory(@PathVariable String category) {
+        return stream(consumer -> catalogStreamService.streamBooks(CatalogStreamService.BookFilter.CATEGORY, category, consumer));
+    }
+
+    // GET /api/stream/authors
+    @GetMapping(value = "/authors", produces = "application/x-ndjson")
+    public ResponseEntity<ResponseBodyEmitter> streamAuthors() {
+        return stream(catalogStreamService::streamAuthors);
+    }
+
+    private ResponseEntity<ResponseBodyEmitter> stream(Function<Consumer<Object>, CompletableFuture<Long>> producer) {
+        ResponseBodyEmitter emitter = new ResponseBodyEmitter();
+        NdjsonSink sink = new NdjsonSink(emitter);
+        emitter.onTimeout(sink::cancel);
+        emitter.onError(error -> sink.cancel());
+
+        CompletableFuture<Long> result;
+        try {
+            result = producer.apply(sink);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(error(e.getMessage()));
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(error("Too many catalog streams in progress, please retry shortly"));
+        }
+
+        result.whenComplete((count, error) -> {
+            if (error == null) {
+                try {
+                    sink.flush();
+                    emitter.complete();
+                } catch (IOException e) {
+                    // Client went away; the container completes the request
+                }
+            } else if (!sink.isCancelled()) {
+                // Headers are already sent, so the best we can do is cut the stream short
+                emitter.completeWithError(error);
+            }
+        });
+
+        return ResponseEntity.ok().contentType(NDJSON).body(emitter);
+    }
+
+    // Single ApiResponseDTO error body (the handler methods are typed for the emitter return value handler)
+    private ResponseBodyEmitter error(String message) {
+        ResponseBodyEmitter emitter = new ResponseBodyEmitter();
+        try {
+            emitter.send(ApiResponseDTO.error(message), MediaType.APPLICATION_JSON);
+            emitter.complete();
+        } catch (IOException e) {
+            emitter.completeWithError(e);
+        }
+        return emitter;
+    }
+
+    /**
+     * Serializes elements as NDJSON lines and sends them every flush-interval elements.
+     * Stops the producer (by throwing) once the client is gone or the request timed out.
+     */
+    private class NdjsonSink implements Consumer<Object> {
+
+        private final ResponseBodyEmitter emitter;
+        private final ByteArrayOutputStream buffer = new ByteArrayOutputStream(8192);
+        private volatile boolean cancelled;
+        private int pending;
+
+        NdjsonSink(ResponseBodyEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        @Override
+        public void accept(Object element) {
+            if (cancelled) {
+                throw new CancellationException("Catalog stream cancelled");
+            }
+            try {
+                objectMapper.writeValue(buffer, element);
+                buffer.write('\n');
+                if (++pending >= flushInterval) {
+                    flush();
+                }
+            } catch (IOException e) {
+                cancelled = true;
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        void flush() throws IOException {
+            if (buffer.size() > 0) {
+                emitter.send(buffer.toByteArray(), NDJSON);
+                buffer.reset();
+            }
+            pending = 0;
+        }
+
+        void cancel() {
+            cancelled = true;
+        }
+
+        boolean isCancelled() {
+            return cancelled;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.samsung.library.controller;
+
+import com.samsung.library.dto.ApiResponseDTO;
+import com.samsung.library.service.ChangeFeedService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Server-Sent Events feed of availability deltas and loan status changes.
+ * Reconnecting clients send Last-Event-ID (EventSource does this by itself) to get what they missed.
+ */
+@RestController
+@RequestMapping("/api/changes")
+@CrossOrigin(origins = "*")
+public class ChangeFeedController {
+
+    @Autowired
+    private ChangeFeedService changeFeedService;
+
+    // GET /api/changes?bookId=1&bookId=2&types=availability
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<ResponseBodyEmitter> subscribe(
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventIdHeader,
+            @RequestParam(required = false) String lastEventId,
+            @RequestParam(required = false) List<Long> bookId,
+            @RequestParam(required = false) List<String> types) {
+        try {
+            String resumeFrom = lastEventIdHeader != null ? lastEventIdHeader : lastEventId;
+            return ResponseEntity.ok(changeFeedService.subscribe(resumeFrom, bookId, types));
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "5")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(error("Too many change feed subscribers, please retry shortly"));
+        }
+    }
+
+    // Single ApiResponseDTO error body (the handler method is typed for the emitter return value handler)
+    private ResponseBodyEmitter error(String message) {
+        ResponseBodyEmitter emitter = new ResponseBodyEmitter();
+        try {
+            emitter.send(ApiResponseDTO.error(message), MediaType.APPLICATION_JSON);
+            emitter.complete();
+        } catch (IOException e) {
+            emitter.completeWithError(e);
+        }
+        return emitter;
+    }
+}
@@ -0,0 +1,60 @@
+package com.samsung.library.controller;
+
+import com.samsung.library.dto.ApiResponseDTO;
+import com.samsung.library.service.ExportService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/api/export")
+@CrossOrigin(origins = "*")
+public class ExportController {
+
+    @Autowired
+    private ExportService exportService;
+
+    /**
+     * Stream a whole table as NDJSON or CSV (for warehouse syncs)
+     * GET /api/export/books?format=csv
+     * GET /api/export/borrowed-books?format=ndjson&from=2025-01-01&to=2025-12-31
+     */
+    @GetMapping("/{dataset}")
+    public ResponseEntity<?> export(
+            @PathVariable String dataset,
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        ExportService.Dataset exportDataset;
+        ExportService.Format exportFormat;
+        try {
+            exportDataset = ExportService.Dataset.fromPath(dataset);
+            exportFormat = ExportService.Format.fromName(format);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(ApiResponseDTO.error(e.getMessage()));
+        }
+        if (from != null && to != null && from.isAfter(to)) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(ApiResponseDTO.error("From date cannot be after to date"));
+        }
+
+        StreamingResponseBody body = outputStream ->
+                exportService.export(exportDataset, exportFormat, from, to, outputStream);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getMediaType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"" + exportDataset.getPath() + "." + exportFormat.getExtension() + "\"")
+                .body(body);
+    }
+}
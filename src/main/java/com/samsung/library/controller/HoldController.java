@@ -0,0 +1,108 @@
+package com.samsung.library.controller;
+
+import com.samsung.library.dto.ApiResponseDTO;
+import com.samsung.library.dto.HoldDTO;
+import com.samsung.library.service.HoldService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * REST Controller for holds on books with no copies on the shelf
+ * A returned copy is set aside for the first hold in line; the member then borrows it as usual
+ * through POST /api/borrowed-books/borrow before the pickup deadline
+ */
+@RestController
+@RequestMapping("/api/holds")
+@CrossOrigin(origins = "*")
+public class HoldController {
+
+    @Autowired
+    private HoldService holdService;
+
+    /**
+     * Join the queue for a book
+     * POST /api/holds
+     */
+    @PostMapping
+    public ResponseEntity<ApiResponseDTO<HoldDTO>> placeHold(@Valid @RequestBody HoldDTO holdDTO) {
+        try {
+            HoldDTO hold = holdService.placeHold(holdDTO);
+            return ResponseEntity.status(HttpStatus.CREATED)
+                    .body(ApiResponseDTO.success("Hold placed, position " + hold.getQueuePosition() + " in line", hold));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(ApiResponseDTO.error("Failed to place hold: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * Get hold by ID
+     * GET /api/holds/{id}
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<ApiResponseDTO<HoldDTO>> getHoldById(@PathVariable Long id) {
+        try {
+            Optional<HoldDTO> hold = holdService.getHoldById(id);
+            if (hold.isPresent()) {
+                return ResponseEntity.ok(ApiResponseDTO.success("Hold found", hold.get()));
+            } else {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .body(ApiResponseDTO.error("Hold not found with ID: " + id));
+            }
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponseDTO.error("Failed to retrieve hold: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * Cancel a hold
+     * DELETE /api/holds/{id}
+     */
+    @DeleteMapping("/{id}")
+    public ResponseEntity<ApiResponseDTO<HoldDTO>> cancelHold(@PathVariable Long id) {
+        try {
+            HoldDTO hold = holdService.cancelHold(id);
+            return ResponseEntity.ok(ApiResponseDTO.success("Hold cancelled successfully", hold));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(ApiResponseDTO.error("Failed to cancel hold: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * Waiting and ready holds of a member
+     * GET /api/holds/member/{memberId}
+     */
+    @GetMapping("/member/{memberId}")
+    public ResponseEntity<ApiResponseDTO<List<HoldDTO>>> getMemberHolds(@PathVariable Long memberId) {
+        try {
+            List<HoldDTO> holds = holdService.getActiveHoldsByMember(memberId);
+            return ResponseEntity.ok(ApiResponseDTO.success("Found " + holds.size() + " active hold(s)", holds));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponseDTO.error("Failed to retrieve member holds: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * Hold queue of a book
+     * GET /api/holds/book/{bookId}
+     */
+    @GetMapping("/book/{bookId}")
+    public ResponseEntity<ApiResponseDTO<List<HoldDTO>>> getBookQueue(@PathVariable Long bookId) {
+        try {
+            List<HoldDTO> holds = holdService.getQueueByBook(bookId);
+            return ResponseEntity.ok(ApiResponseDTO.success("Found " + holds.size() + " hold(s) in the queue", holds));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponseDTO.error("Failed to retrieve hold queue: " + e.getMessage()));
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.samsung.library.controller;
+
+import com.samsung.library.dto.ApiResponseDTO;
+import com.samsung.library.dto.ImportResultDTO;
+import com.samsung.library.service.ExportService;
+import com.samsung.library.service.ImportService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.InputStream;
+import java.util.Locale;
+
+@RestController
+@RequestMapping("/api/import")
+@CrossOrigin(origins = "*")
+public class ImportController {
+
+    @Autowired
+    private ImportService importService;
+
+    /**
+     * Bulk import a CSV or NDJSON file (same field names as the export)
+     * POST /api/import/books?createMissingAuthors=true  (multipart field "file")
+     */
+    @PostMapping("/{dataset}")
+    public ResponseEntity<ApiResponseDTO<ImportResultDTO>> importFile(
+            @PathVariable String dataset,
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(required = false) String format,
+            @RequestParam(defaultValue = "false") boolean createMissingAuthors) {
+        try {
+            ImportService.Dataset importDataset = ImportService.Dataset.fromPath(dataset);
+            ExportService.Format importFormat = resolveFormat(format, file.getOriginalFilename());
+            if (file.isEmpty()) {
+                throw new IllegalArgumentException("Uploaded file is empty");
+            }
+
+            ImportResultDTO result;
+            try (InputStream in = file.getInputStream()) {
+                result = importService.importFile(importDataset, importFormat, in, createMissingAuthors);
+            }
+            return ResponseEntity.ok(ApiResponseDTO.success(
+                    "Imported " + result.getImported() + " of " + result.getTotalRows() + " rows", result));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(ApiResponseDTO.error(e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponseDTO.error("Import failed: " + e.getMessage()));
+        }
+    }
+
+    // Explicit format parameter first, then the file extension
+    private ExportService.Format resolveFormat(String format, String filename) {
+        if (format != null && !format.isBlank()) {
+            return ExportService.Format.fromName(format);
+        }
+        String name = filename != null ? filename.toLowerCase(Locale.ROOT) : "";
+        if (name.endsWith(".csv")) {
+            return ExportService.Format.CSV;
+        }
+        if (name.endsWith(".ndjson") || name.endsWith(".jsonl")) {
+            return ExportService.Format.NDJSON;
+        }
+        throw new IllegalArgumentException("Cannot tell the file format from its name; pass format=csv or format=ndjson");
+    }
+}
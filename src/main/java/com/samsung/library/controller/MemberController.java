@@ -2,6 +2,7 @@ package com.samsung.library.controller;
 
 import com.samsung.library.dto.ApiResponseDTO;
 import com.samsung.library.dto.MemberDTO;
+import com.samsung.library.dto.PageResponseDTO;
 import com.samsung.library.service.MemberService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -33,11 +34,14 @@ public class MemberController {
         }
     }
 
-    // Get all members
+    // Get members one page at a time (borrowed books only when includeBorrowedBooks=true)
     @GetMapping
-    public ResponseEntity<ApiResponseDTO<List<MemberDTO>>> getAllMembers() {
+    public ResponseEntity<ApiResponseDTO<PageResponseDTO<MemberDTO>>> getAllMembers(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean includeBorrowedBooks) {
         try {
-            List<MemberDTO> members = memberService.getAllMembers();
+            PageResponseDTO<MemberDTO> members = memberService.getMembersPage(page, size, includeBorrowedBooks);
             return ResponseEntity.ok(ApiResponseDTO.success("Members retrieved successfully", members));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
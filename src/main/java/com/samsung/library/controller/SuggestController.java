@@ -0,0 +1,38 @@
+package com.samsung.library.controller;
+
+import com.samsung.library.dto.ApiResponseDTO;
+import com.samsung.library.dto.SuggestionDTO;
+import com.samsung.library.search.SuggestService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/suggest")
+@CrossOrigin(origins = "*")
+public class SuggestController {
+
+    @Autowired
+    private SuggestService suggestService;
+
+    // Typeahead suggestions for book titles, author names and member names
+    @GetMapping
+    public ResponseEntity<ApiResponseDTO<List<SuggestionDTO>>> suggest(
+            @RequestParam String q,
+            @RequestParam(required = false) String type,
+            @RequestParam(defaultValue = "10") int limit) {
+        try {
+            List<SuggestionDTO> suggestions = suggestService.suggest(q, type, limit);
+            return ResponseEntity.ok(ApiResponseDTO.success("Suggestions retrieved", suggestions));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(ApiResponseDTO.error(e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponseDTO.error("Failed to retrieve suggestions: " + e.getMessage()));
+        }
+    }
+}
@@ -22,6 +22,7 @@ public class AuthorDTO {
 
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private Long bookCount;
     private List<BookSummaryDTO> books;
 
     // Constructors
@@ -34,6 +35,19 @@ public class AuthorDTO {
         this.nationality = nationality;
     }
 
+    // Used by the paged authors listing projection
+    public AuthorDTO(Long id, String name, String biography, Integer birthYear, String nationality,
+                     LocalDateTime createdAt, LocalDateTime updatedAt, Long bookCount) {
+        this.id = id;
+        this.name = name;
+        this.biography = biography;
+        this.birthYear = birthYear;
+        this.nationality = nationality;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.bookCount = bookCount;
+    }
+
     // Getters and Setters
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
@@ -56,6 +70,9 @@ public class AuthorDTO {
     public LocalDateTime getUpdatedAt() { return updatedAt; }
     public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
 
+    public Long getBookCount() { return bookCount; }
+    public void setBookCount(Long bookCount) { this.bookCount = bookCount; }
+
     public List<BookSummaryDTO> getBooks() { return books; }
     public void setBooks(List<BookSummaryDTO> books) { this.books = books; }
 }
\ No newline at end of file
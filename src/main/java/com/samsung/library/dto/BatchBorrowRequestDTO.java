@@ -0,0 +1,51 @@
+package com.samsung.library.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.time.LocalDate;
+import java.util.List;
+
+public class BatchBorrowRequestDTO {
+    @NotNull(message = "Member ID is required")
+    private Long memberId;
+
+    @NotEmpty(message = "At least one book ID is required")
+    private List<@NotNull(message = "Book ID is required") Long> bookIds;
+
+    private LocalDate borrowDate;
+    private LocalDate dueDate;
+
+    @Size(max = 500, message = "Notes must not exceed 500 characters")
+    private String notes;
+
+    private BatchMode mode;
+
+    // Constructors
+    public BatchBorrowRequestDTO() {}
+
+    public BatchBorrowRequestDTO(Long memberId, List<Long> bookIds, BatchMode mode) {
+        this.memberId = memberId;
+        this.bookIds = bookIds;
+        this.mode = mode;
+    }
+
+    // Getters and Setters
+    public Long getMemberId() { return memberId; }
+    public void setMemberId(Long memberId) { this.memberId = memberId; }
+
+    public List<Long> getBookIds() { return bookIds; }
+    public void setBookIds(List<Long> bookIds) { this.bookIds = bookIds; }
+
+    public LocalDate getBorrowDate() { return borrowDate; }
+    public void setBorrowDate(LocalDate borrowDate) { this.borrowDate = borrowDate; }
+
+    public LocalDate getDueDate() { return dueDate; }
+    public void setDueDate(LocalDate dueDate) { this.dueDate = dueDate; }
+
+    public String getNotes() { return notes; }
+    public void setNotes(String notes) { this.notes = notes; }
+
+    public BatchMode getMode() { return mode; }
+    public void setMode(BatchMode mode) { this.mode = mode; }
+}
@@ -0,0 +1,33 @@
+package com.samsung.library.dto;
+
+/**
+ * Outcome of one item of a batch borrow/return (id is the book ID or borrowed book ID sent)
+ */
+public class BatchItemResultDTO {
+    private Long id;
+    private boolean success;
+    private String message;
+    private BorrowedBookDTO borrowedBook;
+
+    // Constructors
+    public BatchItemResultDTO() {}
+
+    public BatchItemResultDTO(Long id, boolean success, String message) {
+        this.id = id;
+        this.success = success;
+        this.message = message;
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public boolean isSuccess() { return success; }
+    public void setSuccess(boolean success) { this.success = success; }
+
+    public String getMessage() { return message; }
+    public void setMessage(String message) { this.message = message; }
+
+    public BorrowedBookDTO getBorrowedBook() { return borrowedBook; }
+    public void setBorrowedBook(BorrowedBookDTO borrowedBook) { this.borrowedBook = borrowedBook; }
+}
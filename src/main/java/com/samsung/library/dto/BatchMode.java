@@ -0,0 +1,9 @@
+package com.samsung.library.dto;
+
+/**
+ * How a batch borrow/return treats items that fail their checks
+ */
+public enum BatchMode {
+    ALL_OR_NOTHING, // any failed item rejects the whole batch
+    BEST_EFFORT     // valid items go through, failed ones are reported
+}
@@ -0,0 +1,43 @@
+package com.samsung.library.dto;
+
+import java.util.List;
+
+public class BatchResultDTO {
+    private BatchMode mode;
+    private int requested;
+    private int succeeded;
+    private int failed;
+    private boolean rejected;
+    private List<BatchItemResultDTO> items;
+
+    // Constructors
+    public BatchResultDTO() {}
+
+    public BatchResultDTO(BatchMode mode, List<BatchItemResultDTO> items, boolean rejected) {
+        this.mode = mode;
+        this.items = items;
+        this.rejected = rejected;
+        this.requested = items.size();
+        this.succeeded = (int) items.stream().filter(BatchItemResultDTO::isSuccess).count();
+        this.failed = requested - succeeded;
+    }
+
+    // Getters and Setters
+    public BatchMode getMode() { return mode; }
+    public void setMode(BatchMode mode) { this.mode = mode; }
+
+    public int getRequested() { return requested; }
+    public void setRequested(int requested) { this.requested = requested; }
+
+    public int getSucceeded() { return succeeded; }
+    public void setSucceeded(int succeeded) { this.succeeded = succeeded; }
+
+    public int getFailed() { return failed; }
+    public void setFailed(int failed) { this.failed = failed; }
+
+    public boolean isRejected() { return rejected; }
+    public void setRejected(boolean rejected) { this.rejected = rejected; }
+
+    public List<BatchItemResultDTO> getItems() { return items; }
+    public void setItems(List<BatchItemResultDTO> items) { this.items = items; }
+}
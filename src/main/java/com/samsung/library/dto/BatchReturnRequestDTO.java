@@ -0,0 +1,27 @@
+package com.samsung.library.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import java.util.List;
+
+public class BatchReturnRequestDTO {
+    @NotEmpty(message = "At least one borrowed book ID is required")
+    private List<@NotNull(message = "Borrowed book ID is required") Long> borrowedBookIds;
+
+    private BatchMode mode;
+
+    // Constructors
+    public BatchReturnRequestDTO() {}
+
+    public BatchReturnRequestDTO(List<Long> borrowedBookIds, BatchMode mode) {
+        this.borrowedBookIds = borrowedBookIds;
+        this.mode = mode;
+    }
+
+    // Getters and Setters
+    public List<Long> getBorrowedBookIds() { return borrowedBookIds; }
+    public void setBorrowedBookIds(List<Long> borrowedBookIds) { this.borrowedBookIds = borrowedBookIds; }
+
+    public BatchMode getMode() { return mode; }
+    public void setMode(BatchMode mode) { this.mode = mode; }
+}
@@ -28,6 +28,7 @@ public class BookDTO {
     private String description;
 
     private Integer totalCopies = 1;
+    // Read-only on update: follows totalCopies, borrows and returns
     private Integer availableCopies = 1;
 
     @NotNull(message = "Author ID is required")
@@ -36,6 +37,8 @@ public class BookDTO {
     private String authorName;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    // Optimistic lock version; an update sending an older one is rejected
+    private Long version;
 
     // Constructors
     public BookDTO() {}
@@ -88,4 +91,7 @@ public class BookDTO {
 
     public LocalDateTime getUpdatedAt() { return updatedAt; }
     public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
 }
\ No newline at end of file
@@ -0,0 +1,47 @@
+package com.samsung.library.dto;
+
+import com.samsung.library.model.Member;
+import com.samsung.library.model.MemberAccount;
+
+/**
+ * Everything borrowBook needs to check about a member, loaded in a single query
+ * Loan count and fines come from the member's account row; account is null if it does not exist yet
+ * readyHoldId is the member's ready hold on the book, whose set-aside copy the loan takes
+ */
+public class BorrowEligibilityDTO {
+    private Member member;
+    private MemberAccount account;
+    private boolean alreadyBorrowed;
+    private Long readyHoldId;
+
+    // Constructors
+    public BorrowEligibilityDTO() {}
+
+    public BorrowEligibilityDTO(Member member, MemberAccount account, Long sameBookLoans) {
+        this(member, account, sameBookLoans, null);
+    }
+
+    public BorrowEligibilityDTO(Member member, MemberAccount account, Long sameBookLoans, Long readyHoldId) {
+        this.member = member;
+        this.account = account;
+        this.alreadyBorrowed = sameBookLoans != null && sameBookLoans > 0;
+        this.readyHoldId = readyHoldId;
+    }
+
+    public long getActiveLoans() { return account != null ? account.getActiveLoans() : 0L; }
+
+    public double getOutstandingFines() { return account != null ? account.getOutstandingFines() : 0.0; }
+
+    // Getters and Setters
+    public Member getMember() { return member; }
+    public void setMember(Member member) { this.member = member; }
+
+    public MemberAccount getAccount() { return account; }
+    public void setAccount(MemberAccount account) { this.account = account; }
+
+    public boolean isAlreadyBorrowed() { return alreadyBorrowed; }
+    public void setAlreadyBorrowed(boolean alreadyBorrowed) { this.alreadyBorrowed = alreadyBorrowed; }
+
+    public Long getReadyHoldId() { return readyHoldId; }
+    public void setReadyHoldId(Long readyHoldId) { this.readyHoldId = readyHoldId; }
+}
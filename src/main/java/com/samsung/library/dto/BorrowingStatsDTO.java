@@ -0,0 +1,25 @@
+package com.samsung.library.dto;
+
+public class BorrowingStatsDTO {
+    private int totalBorrowings;
+    private int currentlyBorrowed;
+    private int overdueBooks;
+    private int returnedBooks;
+    private double totalFinesCollected;
+
+    // Getters and setters
+    public int getTotalBorrowings() { return totalBorrowings; }
+    public void setTotalBorrowings(int totalBorrowings) { this.totalBorrowings = totalBorrowings; }
+
+    public int getCurrentlyBorrowed() { return currentlyBorrowed; }
+    public void setCurrentlyBorrowed(int currentlyBorrowed) { this.currentlyBorrowed = currentlyBorrowed; }
+
+    public int getOverdueBooks() { return overdueBooks; }
+    public void setOverdueBooks(int overdueBooks) { this.overdueBooks = overdueBooks; }
+
+    public int getReturnedBooks() { return returnedBooks; }
+    public void setReturnedBooks(int returnedBooks) { this.returnedBooks = returnedBooks; }
+
+    public double getTotalFinesCollected() { return totalFinesCollected; }
+    public void setTotalFinesCollected(double totalFinesCollected) { this.totalFinesCollected = totalFinesCollected; }
+}
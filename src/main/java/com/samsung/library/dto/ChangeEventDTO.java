@@ -0,0 +1,82 @@
+package com.samsung.library.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.samsung.library.model.BorrowStatus;
+import java.time.LocalDateTime;
+
+/**
+ * One entry of the change feed (GET /api/changes).
+ * availability: bookId, availableCopies, totalCopies (values after the change)
+ * loan: borrowedBookId, bookId, memberId, change (BORROWED, RETURNED, OVERDUE...) and the new status
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ChangeEventDTO {
+
+    public static final String AVAILABILITY = "availability";
+    public static final String LOAN = "loan";
+
+    private String id;
+    private String type;
+    private Long bookId;
+    private Integer availableCopies;
+    private Integer totalCopies;
+    private Long borrowedBookId;
+    private Long memberId;
+    private String change;
+    private BorrowStatus status;
+    private LocalDateTime timestamp;
+
+    // Constructors
+    public ChangeEventDTO() {}
+
+    public static ChangeEventDTO availability(Long bookId, Integer availableCopies, Integer totalCopies) {
+        ChangeEventDTO event = new ChangeEventDTO();
+        event.type = AVAILABILITY;
+        event.bookId = bookId;
+        event.availableCopies = availableCopies;
+        event.totalCopies = totalCopies;
+        return event;
+    }
+
+    public static ChangeEventDTO loan(Long borrowedBookId, Long bookId, Long memberId, String change, BorrowStatus status) {
+        ChangeEventDTO event = new ChangeEventDTO();
+        event.type = LOAN;
+        event.borrowedBookId = borrowedBookId;
+        event.bookId = bookId;
+        event.memberId = memberId;
+        event.change = change;
+        event.status = status;
+        return event;
+    }
+
+    // Getters and Setters
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public String getType() { return type; }
+    public void setType(String type) { this.type = type; }
+
+    public Long getBookId() { return bookId; }
+    public void setBookId(Long bookId) { this.bookId = bookId; }
+
+    public Integer getAvailableCopies() { return availableCopies; }
+    public void setAvailableCopies(Integer availableCopies) { this.availableCopies = availableCopies; }
+
+    public Integer getTotalCopies() { return totalCopies; }
+    public void setTotalCopies(Integer totalCopies) { this.totalCopies = totalCopies; }
+
+    public Long getBorrowedBookId() { return borrowedBookId; }
+    public void setBorrowedBookId(Long borrowedBookId) { this.borrowedBookId = borrowedBookId; }
+
+    public Long getMemberId() { return memberId; }
+    public void setMemberId(Long memberId) { this.memberId = memberId; }
+
+    public String getChange() { return change; }
+    public void setChange(String change) { this.change = change; }
+
+    public BorrowStatus getStatus() { return status; }
+    public void setStatus(BorrowStatus status) { this.status = status; }
+
+    public LocalDateTime getTimestamp() { return timestamp; }
+    public void setTimestamp(LocalDateTime timestamp) { this.timestamp = timestamp; }
+}
@@ -0,0 +1,73 @@
+package com.samsung.library.dto;
+
+import com.samsung.library.model.HoldStatus;
+import jakarta.validation.constraints.NotNull;
+import java.time.LocalDateTime;
+
+public class HoldDTO {
+    private Long id;
+
+    @NotNull(message = "Book ID is required")
+    private Long bookId;
+
+    @NotNull(message = "Member ID is required")
+    private Long memberId;
+
+    private String bookTitle;
+    private String authorName;
+    private String memberName;
+    private HoldStatus status;
+
+    // 1 = next in line; only set while the hold is waiting
+    private Long queuePosition;
+
+    private LocalDateTime requestedAt;
+    private LocalDateTime readyAt;
+    private LocalDateTime expiresAt;
+    private LocalDateTime closedAt;
+
+    // Constructors
+    public HoldDTO() {}
+
+    public HoldDTO(Long bookId, Long memberId) {
+        this.bookId = bookId;
+        this.memberId = memberId;
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getBookId() { return bookId; }
+    public void setBookId(Long bookId) { this.bookId = bookId; }
+
+    public Long getMemberId() { return memberId; }
+    public void setMemberId(Long memberId) { this.memberId = memberId; }
+
+    public String getBookTitle() { return bookTitle; }
+    public void setBookTitle(String bookTitle) { this.bookTitle = bookTitle; }
+
+    public String getAuthorName() { return authorName; }
+    public void setAuthorName(String authorName) { this.authorName = authorName; }
+
+    public String getMemberName() { return memberName; }
+    public void setMemberName(String memberName) { this.memberName = memberName; }
+
+    public HoldStatus getStatus() { return status; }
+    public void setStatus(HoldStatus status) { this.status = status; }
+
+    public Long getQueuePosition() { return queuePosition; }
+    public void setQueuePosition(Long queuePosition) { this.queuePosition = queuePosition; }
+
+    public LocalDateTime getRequestedAt() { return requestedAt; }
+    public void setRequestedAt(LocalDateTime requestedAt) { this.requestedAt = requestedAt; }
+
+    public LocalDateTime getReadyAt() { return readyAt; }
+    public void setReadyAt(LocalDateTime readyAt) { this.readyAt = readyAt; }
+
+    public LocalDateTime getExpiresAt() { return expiresAt; }
+    public void setExpiresAt(LocalDateTime expiresAt) { this.expiresAt = expiresAt; }
+
+    public LocalDateTime getClosedAt() { return closedAt; }
+    public void setClosedAt(LocalDateTime closedAt) { this.closedAt = closedAt; }
+}
@@ -0,0 +1,21 @@
+package com.samsung.library.dto;
+
+public class ImportErrorDTO {
+    private long row;
+    private String message;
+
+    // Constructors
+    public ImportErrorDTO() {}
+
+    public ImportErrorDTO(long row, String message) {
+        this.row = row;
+        this.message = message;
+    }
+
+    // Getters and Setters
+    public long getRow() { return row; }
+    public void setRow(long row) { this.row = row; }
+
+    public String getMessage() { return message; }
+    public void setMessage(String message) { this.message = message; }
+}
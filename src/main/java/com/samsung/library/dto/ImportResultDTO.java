@@ -0,0 +1,47 @@
+package com.samsung.library.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ImportResultDTO {
+    private String dataset;
+    private long totalRows;
+    private long imported;
+    private long failed;
+    private long authorsCreated;
+    private long durationMs;
+    private boolean errorsTruncated;
+    private List<ImportErrorDTO> errors = new ArrayList<>();
+
+    // Constructors
+    public ImportResultDTO() {}
+
+    public ImportResultDTO(String dataset) {
+        this.dataset = dataset;
+    }
+
+    // Getters and Setters
+    public String getDataset() { return dataset; }
+    public void setDataset(String dataset) { this.dataset = dataset; }
+
+    public long getTotalRows() { return totalRows; }
+    public void setTotalRows(long totalRows) { this.totalRows = totalRows; }
+
+    public long getImported() { return imported; }
+    public void setImported(long imported) { this.imported = imported; }
+
+    public long getFailed() { return failed; }
+    public void setFailed(long failed) { this.failed = failed; }
+
+    public long getAuthorsCreated() { return authorsCreated; }
+    public void setAuthorsCreated(long authorsCreated) { this.authorsCreated = authorsCreated; }
+
+    public long getDurationMs() { return durationMs; }
+    public void setDurationMs(long durationMs) { this.durationMs = durationMs; }
+
+    public boolean isErrorsTruncated() { return errorsTruncated; }
+    public void setErrorsTruncated(boolean errorsTruncated) { this.errorsTruncated = errorsTruncated; }
+
+    public List<ImportErrorDTO> getErrors() { return errors; }
+    public void setErrors(List<ImportErrorDTO> errors) { this.errors = errors; }
+}
@@ -0,0 +1,50 @@
+package com.samsung.library.dto;
+
+import com.samsung.library.model.MemberAccount;
+
+/**
+ * Loan and fine totals of a member (GET /api/borrowed-books/member/{memberId}/account)
+ */
+public class MemberAccountDTO {
+    private Long memberId;
+    private long activeLoans;
+    private long overdueLoans;
+    private double outstandingFines;
+
+    // Constructors
+    public MemberAccountDTO() {}
+
+    // Also used by the aggregate queries over borrowed_books
+    public MemberAccountDTO(Long memberId, Long activeLoans, Long overdueLoans, Double outstandingFines) {
+        this.memberId = memberId;
+        this.activeLoans = activeLoans != null ? activeLoans : 0L;
+        this.overdueLoans = overdueLoans != null ? overdueLoans : 0L;
+        this.outstandingFines = outstandingFines != null ? outstandingFines : 0.0;
+    }
+
+    public MemberAccountDTO(MemberAccount account) {
+        this(account.getMemberId(), account.getActiveLoans(), account.getOverdueLoans(), account.getOutstandingFines());
+    }
+
+    /**
+     * Whether the stored totals match these (fines compared to the cent)
+     */
+    public boolean matches(MemberAccount account) {
+        return account.getActiveLoans() == activeLoans
+                && account.getOverdueLoans() == overdueLoans
+                && Math.abs(account.getOutstandingFines() - outstandingFines) < 0.005;
+    }
+
+    // Getters and Setters
+    public Long getMemberId() { return memberId; }
+    public void setMemberId(Long memberId) { this.memberId = memberId; }
+
+    public long getActiveLoans() { return activeLoans; }
+    public void setActiveLoans(long activeLoans) { this.activeLoans = activeLoans; }
+
+    public long getOverdueLoans() { return overdueLoans; }
+    public void setOverdueLoans(long overdueLoans) { this.overdueLoans = overdueLoans; }
+
+    public double getOutstandingFines() { return outstandingFines; }
+    public void setOutstandingFines(double outstandingFines) { this.outstandingFines = outstandingFines; }
+}
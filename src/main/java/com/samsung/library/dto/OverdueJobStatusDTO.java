@@ -0,0 +1,51 @@
+package com.samsung.library.dto;
+
+import java.time.LocalDateTime;
+
+public class OverdueJobStatusDTO {
+    private boolean running;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private int chunkSize;
+    private int parallelism;
+    private long chunksProcessed;
+    private long chunksFailed;
+    private long rowsScanned;
+    private long rowsUpdated;
+    private Long lastScannedId;
+    private String lastError;
+
+    // Getters and Setters
+    public boolean isRunning() { return running; }
+    public void setRunning(boolean running) { this.running = running; }
+
+    public LocalDateTime getStartedAt() { return startedAt; }
+    public void setStartedAt(LocalDateTime startedAt) { this.startedAt = startedAt; }
+
+    public LocalDateTime getFinishedAt() { return finishedAt; }
+    public void setFinishedAt(LocalDateTime finishedAt) { this.finishedAt = finishedAt; }
+
+    public int getChunkSize() { return chunkSize; }
+    public void setChunkSize(int chunkSize) { this.chunkSize = chunkSize; }
+
+    public int getParallelism() { return parallelism; }
+    public void setParallelism(int parallelism) { this.parallelism = parallelism; }
+
+    public long getChunksProcessed() { return chunksProcessed; }
+    public void setChunksProcessed(long chunksProcessed) { this.chunksProcessed = chunksProcessed; }
+
+    public long getChunksFailed() { return chunksFailed; }
+    public void setChunksFailed(long chunksFailed) { this.chunksFailed = chunksFailed; }
+
+    public long getRowsScanned() { return rowsScanned; }
+    public void setRowsScanned(long rowsScanned) { this.rowsScanned = rowsScanned; }
+
+    public long getRowsUpdated() { return rowsUpdated; }
+    public void setRowsUpdated(long rowsUpdated) { this.rowsUpdated = rowsUpdated; }
+
+    public Long getLastScannedId() { return lastScannedId; }
+    public void setLastScannedId(Long lastScannedId) { this.lastScannedId = lastScannedId; }
+
+    public String getLastError() { return lastError; }
+    public void setLastError(String lastError) { this.lastError = lastError; }
+}
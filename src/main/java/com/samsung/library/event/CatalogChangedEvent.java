@@ -0,0 +1,31 @@
+package com.samsung.library.event;
+
+/**
+ * Published by the catalog services when books or authors are written.
+ * Listeners (search index, suggestions) reload what they need once the transaction commits.
+ */
+public class CatalogChangedEvent {
+
+    public enum Type {
+        BOOK_SAVED,
+        BOOK_DELETED,
+        AUTHOR_SAVED,
+        AUTHOR_DELETED,
+        RELOAD
+    }
+
+    private final Type type;
+    private final Long id;
+
+    public CatalogChangedEvent(Type type, Long id) {
+        this.type = type;
+        this.id = id;
+    }
+
+    public static CatalogChangedEvent reload() {
+        return new CatalogChangedEvent(Type.RELOAD, null);
+    }
+
+    public Type getType() { return type; }
+    public Long getId() { return id; }
+}
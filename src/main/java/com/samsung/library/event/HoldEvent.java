@@ -0,0 +1,55 @@
+package com.samsung.library.event;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published by HoldService when a hold is placed, gets a copy set aside, or leaves the queue.
+ * Carries what a notification needs (member contact, book title, pickup deadline) so listeners
+ * running after commit do not have to read the hold back.
+ */
+public class HoldEvent {
+
+    public enum Type {
+        PLACED,
+        READY,
+        FULFILLED,
+        CANCELLED,
+        EXPIRED
+    }
+
+    private final Type type;
+    private final Long holdId;
+    private final Long bookId;
+    private final String bookTitle;
+    private final Long memberId;
+    private final String memberName;
+    private final String memberEmail;
+    private final LocalDateTime expiresAt;
+
+    public HoldEvent(Type type, Long holdId, Long bookId, String bookTitle,
+                     Long memberId, String memberName, String memberEmail, LocalDateTime expiresAt) {
+        this.type = type;
+        this.holdId = holdId;
+        this.bookId = bookId;
+        this.bookTitle = bookTitle;
+        this.memberId = memberId;
+        this.memberName = memberName;
+        this.memberEmail = memberEmail;
+        this.expiresAt = expiresAt;
+    }
+
+    // Getters
+    public Type getType() { return type; }
+    public Long getHoldId() { return holdId; }
+    public Long getBookId() { return bookId; }
+    public String getBookTitle() { return bookTitle; }
+    public Long getMemberId() { return memberId; }
+    public String getMemberName() { return memberName; }
+    public String getMemberEmail() { return memberEmail; }
+    public LocalDateTime getExpiresAt() { return expiresAt; }
+
+    @Override
+    public String toString() {
+        return "HoldEvent{" + type + ", holdId=" + holdId + ", bookId=" + bookId + ", memberId=" + memberId + "}";
+    }
+}
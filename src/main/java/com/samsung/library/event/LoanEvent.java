@@ -0,0 +1,64 @@
+package com.samsung.library.event;
+
+import com.samsung.library.model.BorrowStatus;
+
+/**
+ * Published by BorrowedBookService whenever a borrowing record is created, changed or removed.
+ * Carries the status and fine before and after the change so listeners can apply deltas
+ * without reading the record back from the database.
+ */
+public class LoanEvent {
+
+    public enum Type {
+        BORROWED,
+        RETURNED,
+        UPDATED,
+        DELETED,
+        OVERDUE
+    }
+
+    private final Type type;
+    private final Long borrowedBookId;
+    private final Long bookId;
+    private final Long memberId;
+    private final BorrowStatus previousStatus;
+    private final double previousFine;
+    private final BorrowStatus newStatus;
+    private final double newFine;
+
+    public LoanEvent(Type type, Long borrowedBookId, Long bookId, Long memberId,
+                     BorrowStatus previousStatus, Double previousFine,
+                     BorrowStatus newStatus, Double newFine) {
+        this.type = type;
+        this.borrowedBookId = borrowedBookId;
+        this.bookId = bookId;
+        this.memberId = memberId;
+        this.previousStatus = previousStatus;
+        this.previousFine = previousFine != null ? previousFine : 0.0;
+        this.newStatus = newStatus;
+        this.newFine = newFine != null ? newFine : 0.0;
+    }
+
+    /**
+     * Removal of a loan (e.g. with its book, member or author), built by the repository queries
+     */
+    public LoanEvent(Long borrowedBookId, Long bookId, Long memberId, BorrowStatus status, Double fine) {
+        this(Type.DELETED, borrowedBookId, bookId, memberId, status, fine, null, null);
+    }
+
+    // Getters
+    public Type getType() { return type; }
+    public Long getBorrowedBookId() { return borrowedBookId; }
+    public Long getBookId() { return bookId; }
+    public Long getMemberId() { return memberId; }
+    public BorrowStatus getPreviousStatus() { return previousStatus; }
+    public double getPreviousFine() { return previousFine; }
+    public BorrowStatus getNewStatus() { return newStatus; }
+    public double getNewFine() { return newFine; }
+
+    @Override
+    public String toString() {
+        return "LoanEvent{" + type + ", borrowedBookId=" + borrowedBookId +
+                ", " + previousStatus + " -> " + newStatus + "}";
+    }
+}
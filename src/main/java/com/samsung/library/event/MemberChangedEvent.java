@@ -0,0 +1,23 @@
+package com.samsung.library.event;
+
+/**
+ * Published by MemberService when a member is created, updated or deleted
+ */
+public class MemberChangedEvent {
+
+    public enum Type {
+        SAVED,
+        DELETED
+    }
+
+    private final Type type;
+    private final Long memberId;
+
+    public MemberChangedEvent(Type type, Long memberId) {
+        this.type = type;
+        this.memberId = memberId;
+    }
+
+    public Type getType() { return type; }
+    public Long getMemberId() { return memberId; }
+}
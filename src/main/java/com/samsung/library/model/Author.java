@@ -9,10 +9,14 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "authors")
+@Table(name = "authors", indexes = {
+        @Index(name = "idx_authors_nationality_key", columnList = "nationality_key")
+})
 public class Author {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "author_id")
+    @TableGenerator(name = "author_id", table = "id_generators", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "authors", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Author name is required")
@@ -30,6 +34,11 @@ public class Author {
     @Column(name = "nationality", length = 50)
     private String nationality;
 
+    // LOWER(nationality), maintained by the database; case-insensitive nationality lookups compare against it
+    @Column(name = "nationality_key", length = 50, insertable = false, updatable = false,
+            columnDefinition = "VARCHAR(50) GENERATED ALWAYS AS (LOWER(nationality))")
+    private String nationalityKey;
+
     @Column(name = "created_at")
     private LocalDateTime createdAt;
 
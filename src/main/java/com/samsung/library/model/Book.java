@@ -7,14 +7,23 @@ import jakarta.validation.constraints.Size;
 import jakarta.validation.constraints.Min;
 import com.fasterxml.jackson.annotation.JsonBackReference;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
+import org.hibernate.annotations.ColumnDefault;
 import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
-@Table(name = "books")
+@Table(name = "books", indexes = {
+        @Index(name = "idx_books_category", columnList = "category"),
+        @Index(name = "idx_books_category_key", columnList = "category_key"),
+        @Index(name = "idx_books_available_copies", columnList = "available_copies"),
+        @Index(name = "idx_books_publishing_year", columnList = "publishing_year")
+})
 public class Book {
+    // Pooled ids from the id_generators table (blocks of 50) so inserts can be JDBC-batched
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "book_id")
+    @TableGenerator(name = "book_id", table = "id_generators", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "books", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Book title is required")
@@ -27,6 +36,11 @@ public class Book {
     @Column(nullable = false, length = 50)
     private String category;
 
+    // LOWER(category), maintained by the database; case-insensitive category lookups compare against it
+    @Column(name = "category_key", length = 50, insertable = false, updatable = false,
+            columnDefinition = "VARCHAR(50) GENERATED ALWAYS AS (LOWER(category))")
+    private String categoryKey;
+
     @NotNull(message = "Publishing year is required")
     @Min(value = 1000, message = "Publishing year must be valid")
     @Column(name = "publishing_year", nullable = false)
@@ -46,6 +60,12 @@ public class Book {
     @Column(name = "available_copies")
     private Integer availableCopies = 1;
 
+    // Optimistic lock for whole-entity edits; copy counts also move through conditional UPDATEs
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     @Column(name = "created_at")
     private LocalDateTime createdAt;
 
@@ -112,6 +132,9 @@ public class Book {
     public Integer getAvailableCopies() { return availableCopies; }
     public void setAvailableCopies(Integer availableCopies) { this.availableCopies = availableCopies; }
 
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
+
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
 
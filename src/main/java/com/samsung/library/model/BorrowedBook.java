@@ -9,10 +9,16 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "borrowed_books")
+@Table(name = "borrowed_books", indexes = {
+        @Index(name = "idx_borrowed_books_borrow_date", columnList = "borrow_date, id"),
+        @Index(name = "idx_borrowed_books_status_due", columnList = "status, due_date"),
+        @Index(name = "idx_borrowed_books_member_status_book", columnList = "member_id, status, book_id")
+})
 public class BorrowedBook {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "borrowed_book_id")
+    @TableGenerator(name = "borrowed_book_id", table = "id_generators", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "borrowed_books", allocationSize = 50)
     private Long id;
 
     @NotNull(message = "Borrow date is required")
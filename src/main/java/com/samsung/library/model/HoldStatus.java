@@ -0,0 +1,9 @@
+package com.samsung.library.model;
+
+public enum HoldStatus {
+    WAITING,    // In the queue for the next returned copy
+    READY,      // A copy is set aside until the pickup deadline
+    FULFILLED,  // Member borrowed the set-aside copy
+    CANCELLED,
+    EXPIRED     // Not picked up in time
+}
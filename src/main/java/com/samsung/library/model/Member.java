@@ -9,10 +9,16 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
-@Table(name = "members")
+@Table(name = "members", indexes = {
+        @Index(name = "idx_members_status", columnList = "membership_status"),
+        @Index(name = "idx_members_phone", columnList = "phone"),
+        @Index(name = "idx_members_membership_date", columnList = "membership_date")
+})
 public class Member {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "member_id")
+    @TableGenerator(name = "member_id", table = "id_generators", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "members", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Member name is required")
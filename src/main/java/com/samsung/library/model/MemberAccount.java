@@ -0,0 +1,63 @@
+package com.samsung.library.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Per-member loan and fine totals, kept in step with borrowed_books by MemberAccountService
+ * so borrow checks and fine lookups read one row instead of aggregating the member's loans.
+ * Shares its key with the member.
+ */
+@Entity
+@Table(name = "member_accounts")
+public class MemberAccount {
+    @Id
+    @Column(name = "member_id")
+    private Long memberId;
+
+    // Loans with status BORROWED
+    @Column(name = "active_loans", nullable = false)
+    private long activeLoans;
+
+    @Column(name = "overdue_loans", nullable = false)
+    private long overdueLoans;
+
+    // Sum of the fines of all the member's loans
+    @Column(name = "outstanding_fines", nullable = false)
+    private double outstandingFines;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    // Constructors
+    public MemberAccount() {}
+
+    public MemberAccount(Long memberId, long activeLoans, long overdueLoans, double outstandingFines) {
+        this.memberId = memberId;
+        this.activeLoans = activeLoans;
+        this.overdueLoans = overdueLoans;
+        this.outstandingFines = outstandingFines;
+    }
+
+    @PrePersist
+    @PreUpdate
+    protected void onWrite() {
+        updatedAt = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+    public Long getMemberId() { return memberId; }
+    public void setMemberId(Long memberId) { this.memberId = memberId; }
+
+    public long getActiveLoans() { return activeLoans; }
+    public void setActiveLoans(long activeLoans) { this.activeLoans = activeLoans; }
+
+    public long getOverdueLoans() { return overdueLoans; }
+    public void setOverdueLoans(long overdueLoans) { this.overdueLoans = overdueLoans; }
+
+    public double getOutstandingFines() { return outstandingFines; }
+    public void setOutstandingFines(double outstandingFines) { this.outstandingFines = outstandingFines; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
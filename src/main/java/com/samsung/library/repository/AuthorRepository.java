@@ -1,11 +1,19 @@
 package com.samsung.library.repository;
+import com.samsung.library.dto.AuthorDTO;
 import com.samsung.library.model.Author;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 @Repository
 public interface AuthorRepository extends JpaRepository<Author, Long> {
@@ -13,8 +21,9 @@ public interface AuthorRepository extends JpaRepository<Author, Long> {
     // Find authors by name (case insensitive)
     List<Author> findByNameContainingIgnoreCase(String name);
 
-    // Find authors by nationality
-    List<Author> findByNationalityIgnoreCase(String nationality);
+    // Find authors by nationality, case insensitive through the generated nationality_key (idx_authors_nationality_key)
+    @Query("SELECT a FROM Author a WHERE a.nationalityKey = LOWER(:nationality)")
+    List<Author> findByNationalityIgnoreCase(@Param("nationality") String nationality);
 
     // Custom query to find authors with their book count
     @Query("SELECT a FROM Author a LEFT JOIN FETCH a.books WHERE a.id = :id")
@@ -28,6 +37,21 @@ public interface AuthorRepository extends JpaRepository<Author, Long> {
     @Query("SELECT a FROM Author a LEFT JOIN FETCH a.books")
     List<Author> findAllWithBooks();
 
+    // Page of author columns plus book count (no entities, no join fan-out; Slice skips the count query)
+    @Query("SELECT new com.samsung.library.dto.AuthorDTO(a.id, a.name, a.biography, a.birthYear, " +
+            "a.nationality, a.createdAt, a.updatedAt, " +
+            "(SELECT COUNT(b) FROM Book b WHERE b.author = a)) " +
+            "FROM Author a")
+    Slice<AuthorDTO> findAuthorSummaries(Pageable pageable);
+
+    // Same columns as findAuthorSummaries for every author in ID order (must be consumed inside a transaction)
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.samsung.library.dto.AuthorDTO(a.id, a.name, a.biography, a.birthYear, " +
+            "a.nationality, a.createdAt, a.updatedAt, " +
+            "(SELECT COUNT(b) FROM Book b WHERE b.author = a)) " +
+            "FROM Author a ORDER BY a.id")
+    Stream<AuthorDTO> streamAuthorSummaries();
+
     // Count books by author
     @Query("SELECT COUNT(b) FROM Book b WHERE b.author.id = :authorId")
     Long countBooksByAuthor(@Param("authorId") Long authorId);
@@ -1,12 +1,21 @@
 package com.samsung.library.repository;
 
 import com.samsung.library.model.Book;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 @Repository
 public interface BookRepository extends JpaRepository<Book, Long> {
@@ -14,11 +23,13 @@ public interface BookRepository extends JpaRepository<Book, Long> {
     // Find books by title (case insensitive)
     List<Book> findByTitleContainingIgnoreCase(String title);
 
-    // Find books by category
-    List<Book> findByCategoryIgnoreCase(String category);
+    // Find books by category, case insensitive through the generated lower-case category_key (idx_books_category_key)
+    @Query("SELECT b FROM Book b WHERE b.categoryKey = LOWER(:category)")
+    List<Book> findByCategoryIgnoreCase(@Param("category") String category);
 
-    // Find books by author
-    List<Book> findByAuthorId(Long authorId);
+    // Find books by author, on the author_id column (the derived query joined authors first)
+    @Query("SELECT b FROM Book b WHERE b.author.id = :authorId")
+    List<Book> findByAuthorId(@Param("authorId") Long authorId);
 
     // Find books by publishing year
     List<Book> findByPublishingYear(Integer year);
@@ -52,10 +63,88 @@ public interface BookRepository extends JpaRepository<Book, Long> {
     @Query("SELECT b FROM Book b JOIN FETCH b.author WHERE b.id = :id")
     Optional<Book> findByIdWithAuthor(@Param("id") Long id);
 
+    // Load a batch of books (e.g. a page of search hits) with their authors
+    @Query("SELECT b FROM Book b JOIN FETCH b.author WHERE b.id IN :ids")
+    List<Book> findAllWithAuthorByIdIn(@Param("ids") Collection<Long> ids);
+
+    // First :perAuthor books (by ID) of each given author as
+    // [id, title, category, publishing_year, available_copies, total_copies, author_id]
+    @Query(value = "SELECT id, title, category, publishing_year, available_copies, total_copies, author_id FROM (" +
+            "SELECT b.id, b.title, b.category, b.publishing_year, b.available_copies, b.total_copies, b.author_id, " +
+            "ROW_NUMBER() OVER (PARTITION BY b.author_id ORDER BY b.id) AS rn " +
+            "FROM books b WHERE b.author_id IN (:authorIds)) ranked " +
+            "WHERE rn <= :perAuthor ORDER BY author_id, id", nativeQuery = true)
+    List<Object[]> findBookSummariesByAuthorIds(@Param("authorIds") Collection<Long> authorIds,
+                                                @Param("perAuthor") int perAuthor);
+
+    // Stream every book with its author in ID order (must be consumed inside a transaction)
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT b FROM Book b JOIN FETCH b.author ORDER BY b.id")
+    Stream<Book> streamAllWithAuthor();
+
+    // Stream books with available copies with their authors in ID order (must be consumed inside a transaction)
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT b FROM Book b JOIN FETCH b.author WHERE b.availableCopies > 0 ORDER BY b.id")
+    Stream<Book> streamAvailableWithAuthor();
+
+    // Stream books of a category (case insensitive, see findByCategoryIgnoreCase) with their authors in ID order
+    // (must be consumed inside a transaction)
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT b FROM Book b JOIN FETCH b.author WHERE b.categoryKey = LOWER(:category) ORDER BY b.id")
+    Stream<Book> streamByCategoryWithAuthor(@Param("category") String category);
+
     // Get all distinct categories
     @Query("SELECT DISTINCT b.category FROM Book b ORDER BY b.category")
     List<String> findAllCategories();
 
+    // Atomically take one copy if any is left; returns 1 on success, 0 when none are available
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Book b SET b.availableCopies = b.availableCopies - 1, " +
+            "b.version = b.version + 1, b.updatedAt = CURRENT_TIMESTAMP " +
+            "WHERE b.id = :id AND b.availableCopies > 0")
+    int decrementAvailableCopies(@Param("id") Long id);
+
+    // Take one copy of each book in a single statement (callers lock and check the rows first)
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Book b SET b.availableCopies = b.availableCopies - 1, " +
+            "b.version = b.version + 1, b.updatedAt = CURRENT_TIMESTAMP " +
+            "WHERE b.id IN :ids AND b.availableCopies > 0")
+    int decrementAvailableCopiesByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Put one copy of each book back in a single statement (callers lock and check the rows first)
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Book b SET b.availableCopies = b.availableCopies + 1, " +
+            "b.version = b.version + 1, b.updatedAt = CURRENT_TIMESTAMP " +
+            "WHERE b.id IN :ids AND b.availableCopies < b.totalCopies")
+    int incrementAvailableCopiesByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Lock a set of books for the rest of the transaction, in ID order so concurrent batches cannot deadlock
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM Book b WHERE b.id IN :ids ORDER BY b.id")
+    List<Book> findAllByIdInForUpdate(@Param("ids") Collection<Long> ids);
+
+    // Atomically put one copy back unless all copies are already on the shelf
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Book b SET b.availableCopies = b.availableCopies + 1, " +
+            "b.version = b.version + 1, b.updatedAt = CURRENT_TIMESTAMP " +
+            "WHERE b.id = :id AND b.availableCopies < b.totalCopies")
+    int incrementAvailableCopies(@Param("id") Long id);
+
+    // Atomically move available copies by an arbitrary amount, staying within [0, totalCopies]
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Book b SET b.availableCopies = b.availableCopies + :change, " +
+            "b.version = b.version + 1, b.updatedAt = CURRENT_TIMESTAMP " +
+            "WHERE b.id = :id AND b.availableCopies + :change >= 0 " +
+            "AND b.availableCopies + :change <= b.totalCopies")
+    int adjustAvailableCopies(@Param("id") Long id, @Param("change") int change);
+
+    // Add or remove copies of a title: total and shelf counts move together, only copies on the shelf can be removed
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Book b SET b.totalCopies = b.totalCopies + :change, b.availableCopies = b.availableCopies + :change, " +
+            "b.version = b.version + 1, b.updatedAt = CURRENT_TIMESTAMP " +
+            "WHERE b.id = :id AND b.availableCopies + :change >= 0")
+    int adjustTotalCopies(@Param("id") Long id, @Param("change") int change);
+
     // Count books by category
     @Query("SELECT b.category, COUNT(b) FROM Book b GROUP BY b.category")
     List<Object[]> countBooksByCategory();
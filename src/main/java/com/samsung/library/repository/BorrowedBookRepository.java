@@ -1,13 +1,29 @@
 package com.samsung.library.repository;
 
+import com.samsung.library.dto.BorrowEligibilityDTO;
+import com.samsung.library.event.LoanEvent;
 import com.samsung.library.model.BorrowedBook;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 @Repository
 public interface BorrowedBookRepository extends JpaRepository<BorrowedBook, Long> {
@@ -23,6 +39,79 @@ public interface BorrowedBookRepository extends JpaRepository<BorrowedBook, Long
             "WHERE bb.id = :id")
     Optional<BorrowedBook> findByIdWithDetails(@Param("id") Long id);
 
+    // Page through borrowed books with book, author and member fetched in the same query
+    @Query(value = "SELECT bb FROM BorrowedBook bb " +
+            "JOIN FETCH bb.book b " +
+            "JOIN FETCH bb.member m " +
+            "JOIN FETCH b.author a",
+            countQuery = "SELECT COUNT(bb) FROM BorrowedBook bb")
+    Page<BorrowedBook> findAllWithDetails(Pageable pageable);
+
+    // Keyset page: borrowed books with an id greater than afterId, in id order
+    @Query("SELECT bb FROM BorrowedBook bb " +
+            "JOIN FETCH bb.book b " +
+            "JOIN FETCH bb.member m " +
+            "JOIN FETCH b.author a " +
+            "WHERE bb.id > :afterId " +
+            "ORDER BY bb.id")
+    List<BorrowedBook> findAllWithDetailsAfterId(@Param("afterId") Long afterId, Limit limit);
+
+    // Page of borrowed books whose borrow date falls in [start, end] (uses idx_borrowed_books_borrow_date)
+    @Query(value = "SELECT bb FROM BorrowedBook bb " +
+            "JOIN FETCH bb.book b " +
+            "JOIN FETCH bb.member m " +
+            "JOIN FETCH b.author a " +
+            "WHERE bb.borrowDate BETWEEN :start AND :end",
+            countQuery = "SELECT COUNT(bb) FROM BorrowedBook bb WHERE bb.borrowDate BETWEEN :start AND :end")
+    Page<BorrowedBook> findByBorrowDateBetweenWithDetails(@Param("start") LocalDate start,
+                                                          @Param("end") LocalDate end,
+                                                          Pageable pageable);
+
+    // Stream borrowed books in a borrow date range in index order (must be consumed inside a transaction)
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT bb FROM BorrowedBook bb " +
+            "JOIN FETCH bb.book b " +
+            "JOIN FETCH bb.member m " +
+            "JOIN FETCH b.author a " +
+            "WHERE bb.borrowDate BETWEEN :start AND :end " +
+            "ORDER BY bb.borrowDate, bb.id")
+    Stream<BorrowedBook> streamByBorrowDateBetweenWithDetails(@Param("start") LocalDate start,
+                                                              @Param("end") LocalDate end);
+
+    // Borrowing history of a batch of members (e.g. one page) with book and author in the same query
+    @Query("SELECT bb FROM BorrowedBook bb " +
+            "JOIN FETCH bb.book b " +
+            "JOIN FETCH b.author a " +
+            "WHERE bb.member.id IN :memberIds " +
+            "ORDER BY bb.member.id, bb.borrowDate DESC, bb.id DESC")
+    List<BorrowedBook> findByMemberIdInWithBook(@Param("memberIds") Collection<Long> memberIds);
+
+    // Borrowed books by ID with book, author and member fetched in the same query
+    @Query("SELECT bb FROM BorrowedBook bb " +
+            "JOIN FETCH bb.book b " +
+            "JOIN FETCH bb.member m " +
+            "JOIN FETCH b.author a " +
+            "WHERE bb.id IN :ids")
+    List<BorrowedBook> findAllWithDetailsByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Lock a set of borrowing records for the rest of the transaction (ID order) and return their book IDs
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT bb.book.id FROM BorrowedBook bb WHERE bb.id IN :ids ORDER BY bb.id")
+    List<Long> lockBookIdsByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Close a loan if it is still open; 0 when a concurrent return already closed it
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE BorrowedBook bb SET bb.returnDate = :returnDate, bb.status = 'RETURNED', " +
+            "bb.fineAmount = :fine, bb.updatedAt = CURRENT_TIMESTAMP " +
+            "WHERE bb.id = :id AND bb.status IN ('BORROWED', 'OVERDUE')")
+    int closeLoan(@Param("id") Long id, @Param("returnDate") LocalDate returnDate, @Param("fine") Double fine);
+
+    // Which of the given books the member currently has on loan (batch borrows)
+    @Query("SELECT bb.book.id FROM BorrowedBook bb WHERE bb.member.id = :memberId " +
+            "AND bb.book.id IN :bookIds AND bb.status = 'BORROWED'")
+    List<Long> findBorrowedBookIdsByMember(@Param("memberId") Long memberId,
+                                          @Param("bookIds") Collection<Long> bookIds);
+
     // Check if a book is currently borrowed by a member
     @Query("SELECT COUNT(bb) > 0 FROM BorrowedBook bb WHERE bb.book.id = :bookId AND bb.member.id = :memberId AND bb.status = 'BORROWED'")
     boolean isBookCurrentlyBorrowedByMember(@Param("bookId") Long bookId, @Param("memberId") Long memberId);
@@ -34,4 +123,36 @@ public interface BorrowedBookRepository extends JpaRepository<BorrowedBook, Long
     // Calculate total fines for a member
     @Query("SELECT COALESCE(SUM(bb.fineAmount), 0) FROM BorrowedBook bb WHERE bb.member.id = :memberId")
     Double calculateTotalFinesByMember(@Param("memberId") Long memberId);
+
+    // Member with their account (loan count, fines), the duplicate-loan count and their ready hold on the book
+    // in one round-trip (borrow checks)
+    @Query("SELECT new com.samsung.library.dto.BorrowEligibilityDTO(m, a, " +
+            "(SELECT COUNT(bb) FROM BorrowedBook bb WHERE bb.member = m AND bb.book.id = :bookId AND bb.status = 'BORROWED'), " +
+            "(SELECT MIN(h.id) FROM Hold h WHERE h.member = m AND h.book.id = :bookId " +
+            "AND h.status = com.samsung.library.model.HoldStatus.READY AND h.expiresAt > :now)) " +
+            "FROM Member m LEFT JOIN MemberAccount a ON a.memberId = m.id WHERE m.id = :memberId")
+    Optional<BorrowEligibilityDTO> findBorrowEligibility(@Param("memberId") Long memberId, @Param("bookId") Long bookId,
+                                                         @Param("now") LocalDateTime now);
+
+    // Member with their account, without a specific book (batch borrows)
+    @Query("SELECT new com.samsung.library.dto.BorrowEligibilityDTO(m, a, 0L) " +
+            "FROM Member m LEFT JOIN MemberAccount a ON a.memberId = m.id WHERE m.id = :memberId")
+    Optional<BorrowEligibilityDTO> findMemberEligibility(@Param("memberId") Long memberId);
+
+    // Removal events of the loans that a book, member or author delete cascades to
+    @Query("SELECT new com.samsung.library.event.LoanEvent(bb.id, bb.book.id, bb.member.id, bb.status, bb.fineAmount) " +
+            "FROM BorrowedBook bb WHERE bb.book.id = :bookId")
+    List<LoanEvent> findLoanRemovalsByBookId(@Param("bookId") Long bookId);
+
+    @Query("SELECT new com.samsung.library.event.LoanEvent(bb.id, bb.book.id, bb.member.id, bb.status, bb.fineAmount) " +
+            "FROM BorrowedBook bb WHERE bb.member.id = :memberId")
+    List<LoanEvent> findLoanRemovalsByMemberId(@Param("memberId") Long memberId);
+
+    @Query("SELECT new com.samsung.library.event.LoanEvent(bb.id, bb.book.id, bb.member.id, bb.status, bb.fineAmount) " +
+            "FROM BorrowedBook bb WHERE bb.book.author.id = :authorId")
+    List<LoanEvent> findLoanRemovalsByAuthorId(@Param("authorId") Long authorId);
+
+    // Count and fine total per status (used to reconcile the in-memory statistics)
+    @Query("SELECT bb.status, COUNT(bb), COALESCE(SUM(bb.fineAmount), 0) FROM BorrowedBook bb GROUP BY bb.status")
+    List<Object[]> aggregateByStatus();
 }
\ No newline at end of file
@@ -0,0 +1,106 @@
+package com.samsung.library.repository;
+
+import com.samsung.library.model.Hold;
+import com.samsung.library.model.HoldStatus;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface HoldRepository extends JpaRepository<Hold, Long> {
+
+    // Find hold with book, author and member
+    @Query("SELECT h FROM Hold h " +
+            "JOIN FETCH h.book b " +
+            "JOIN FETCH b.author a " +
+            "JOIN FETCH h.member m " +
+            "WHERE h.id = :id")
+    Optional<Hold> findByIdWithDetails(@Param("id") Long id);
+
+    // First holds in the queue of a book (callers lock the book row first)
+    @Query("SELECT h FROM Hold h " +
+            "JOIN FETCH h.book b " +
+            "JOIN FETCH h.member m " +
+            "WHERE b.id = :bookId AND h.status = com.samsung.library.model.HoldStatus.WAITING " +
+            "ORDER BY h.requestedAt, h.id")
+    List<Hold> findQueueHead(@Param("bookId") Long bookId, Limit limit);
+
+    // Waiting and ready holds of a book in queue order
+    @Query("SELECT h FROM Hold h " +
+            "JOIN FETCH h.book b " +
+            "JOIN FETCH b.author a " +
+            "JOIN FETCH h.member m " +
+            "WHERE b.id = :bookId AND h.status IN :statuses " +
+            "ORDER BY h.requestedAt, h.id")
+    List<Hold> findByBookIdAndStatusIn(@Param("bookId") Long bookId,
+                                       @Param("statuses") Collection<HoldStatus> statuses);
+
+    // Waiting and ready holds of a member, oldest first
+    @Query("SELECT h FROM Hold h " +
+            "JOIN FETCH h.book b " +
+            "JOIN FETCH b.author a " +
+            "JOIN FETCH h.member m " +
+            "WHERE m.id = :memberId AND h.status IN :statuses " +
+            "ORDER BY h.requestedAt, h.id")
+    List<Hold> findByMemberIdAndStatusIn(@Param("memberId") Long memberId,
+                                         @Param("statuses") Collection<HoldStatus> statuses);
+
+    // Ready (not yet expired) holds of a member for some books, as [bookId, holdId]
+    @Query("SELECT h.book.id, h.id FROM Hold h WHERE h.member.id = :memberId AND h.book.id IN :bookIds " +
+            "AND h.status = com.samsung.library.model.HoldStatus.READY AND h.expiresAt > :now")
+    List<Object[]> findReadyHoldIds(@Param("memberId") Long memberId,
+                                    @Param("bookIds") Collection<Long> bookIds,
+                                    @Param("now") LocalDateTime now);
+
+    long countByMemberIdAndStatusIn(Long memberId, Collection<HoldStatus> statuses);
+
+    boolean existsByMemberIdAndBookIdAndStatusIn(Long memberId, Long bookId, Collection<HoldStatus> statuses);
+
+    // Waiting holds of the book ahead of the given queue position
+    @Query("SELECT COUNT(h) FROM Hold h WHERE h.book.id = :bookId " +
+            "AND h.status = com.samsung.library.model.HoldStatus.WAITING " +
+            "AND (h.requestedAt < :requestedAt OR (h.requestedAt = :requestedAt AND h.id < :id))")
+    long countWaitingAhead(@Param("bookId") Long bookId,
+                           @Param("requestedAt") LocalDateTime requestedAt,
+                           @Param("id") Long id);
+
+    // Ready holds past their pickup deadline (expiry sweeper)
+    @Query("SELECT h.id FROM Hold h WHERE h.status = com.samsung.library.model.HoldStatus.READY " +
+            "AND h.expiresAt <= :now ORDER BY h.expiresAt, h.id")
+    List<Long> findExpiredReadyIds(@Param("now") LocalDateTime now, Limit limit);
+
+    // Set a copy aside for a waiting hold; returns 0 if the hold left the queue meanwhile
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Hold h SET h.status = com.samsung.library.model.HoldStatus.READY, " +
+            "h.readyAt = :now, h.expiresAt = :expiresAt, h.updatedAt = :now " +
+            "WHERE h.id = :id AND h.status = com.samsung.library.model.HoldStatus.WAITING")
+    int markReady(@Param("id") Long id, @Param("now") LocalDateTime now, @Param("expiresAt") LocalDateTime expiresAt);
+
+    // Move holds from one status to a closing one; returns how many were still in the expected status
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Hold h SET h.status = :to, h.closedAt = :now, h.updatedAt = :now " +
+            "WHERE h.id IN :ids AND h.status = :from")
+    int close(@Param("ids") Collection<Long> ids, @Param("from") HoldStatus from,
+              @Param("to") HoldStatus to, @Param("now") LocalDateTime now);
+
+    // Remove every hold (any status) of a book, member or author's books before that row is deleted
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Hold h WHERE h.book.id = :bookId")
+    int deleteByBookId(@Param("bookId") Long bookId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Hold h WHERE h.member.id = :memberId")
+    int deleteByMemberId(@Param("memberId") Long memberId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Hold h WHERE h.book.id IN (SELECT b.id FROM Book b WHERE b.author.id = :authorId)")
+    int deleteByAuthorId(@Param("authorId") Long authorId);
+}
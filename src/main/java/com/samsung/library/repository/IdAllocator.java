@@ -0,0 +1,97 @@
+package com.samsung.library.repository;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Hands out primary keys to the JDBC write paths (bulk import, batch borrow) from the same
+ * id_generators table the entities' pooled @TableGenerator uses, so both never collide.
+ *
+ * Hibernate stores the last value it handed out (hibernate.id.generator.stored_last_used, the
+ * default): a fetch that reads S and writes S + ALLOCATION_SIZE uses the block S - ALLOCATION_SIZE + 2
+ * .. S + 1. Moving S to S + k * ALLOCATION_SIZE here therefore reserves k such blocks in a row.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+public class IdAllocator {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdAllocator.class);
+
+    public static final String AUTHORS = "authors";
+    public static final String BOOKS = "books";
+    public static final String MEMBERS = "members";
+    public static final String BORROWED_BOOKS = "borrowed_books";
+
+    // Must match allocationSize of the entities' @TableGenerator
+    public static final int ALLOCATION_SIZE = 50;
+
+    private static final List<String> SEGMENTS = List.of(AUTHORS, BOOKS, MEMBERS, BORROWED_BOOKS);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    /**
+     * Reserve count consecutive IDs for the table's segment and return the first one.
+     * Runs in its own short transaction so the generator row is not held by the caller's.
+     */
+    public long allocate(String segment, int count) {
+        if (count <= 0) {
+            throw new IllegalArgumentException("Count must be positive");
+        }
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        Long first = template.execute(status -> {
+            Long current = jdbcTemplate.queryForObject(
+                    "SELECT next_val FROM id_generators WHERE sequence_name = ? FOR UPDATE", Long.class, segment);
+            if (current == null) {
+                throw new IllegalStateException("No id generator row for " + segment);
+            }
+            long start = Math.max(current - ALLOCATION_SIZE + 2, 1);
+            long last = start + count - 1;
+            long blocks = Math.max(1, Math.floorDiv(last - current - 1 + ALLOCATION_SIZE - 1, ALLOCATION_SIZE) + 1);
+            jdbcTemplate.update("UPDATE id_generators SET next_val = ? WHERE sequence_name = ?",
+                    current + blocks * ALLOCATION_SIZE, segment);
+            return start;
+        });
+        return first;
+    }
+
+    /**
+     * Make sure every generator row exists and is ahead of the IDs already in its table
+     * (rows written before the switch from AUTO_INCREMENT, or by the sample data loader).
+     * Only ever moves next_val forward, so it is safe with other instances running.
+     */
+    @PostConstruct
+    public void alignWithTables() {
+        for (String segment : SEGMENTS) {
+            Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + segment, Long.class);
+            // Next block starts at floor - ALLOCATION_SIZE + 2, i.e. past the highest existing ID
+            long floor = (maxId != null ? maxId : 0) + ALLOCATION_SIZE;
+            try {
+                jdbcTemplate.update("INSERT INTO id_generators (sequence_name, next_val) VALUES (?, ?)", segment, floor);
+            } catch (DuplicateKeyException e) {
+                // Row already there; fall through to the update
+            }
+            int moved = jdbcTemplate.update(
+                    "UPDATE id_generators SET next_val = ? WHERE sequence_name = ? AND next_val < ?",
+                    floor, segment, floor);
+            if (moved > 0) {
+                logger.info("Moved id generator for {} to {}", segment, floor);
+            }
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.samsung.library.repository;
+
+import com.samsung.library.dto.MemberAccountDTO;
+import com.samsung.library.model.MemberAccount;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface MemberAccountRepository extends JpaRepository<MemberAccount, Long> {
+
+    // Lock an account before overwriting it with recomputed totals
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM MemberAccount a WHERE a.memberId = :memberId")
+    Optional<MemberAccount> findByIdForUpdate(@Param("memberId") Long memberId);
+
+    // Apply a change in place, so concurrent transactions add up instead of overwriting each other
+    @Modifying
+    @Query("UPDATE MemberAccount a SET a.activeLoans = a.activeLoans + :loans, " +
+            "a.overdueLoans = a.overdueLoans + :overdue, a.outstandingFines = a.outstandingFines + :fines, " +
+            "a.updatedAt = :now WHERE a.memberId = :memberId")
+    int applyDelta(@Param("memberId") Long memberId, @Param("loans") long loans, @Param("overdue") long overdue,
+                   @Param("fines") double fines, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("DELETE FROM MemberAccount a WHERE a.memberId = :memberId")
+    int deleteByMemberId(@Param("memberId") Long memberId);
+
+    // Totals recomputed from borrowed_books for one member (empty if the member does not exist)
+    @Query("SELECT new com.samsung.library.dto.MemberAccountDTO(m.id, " +
+            "SUM(CASE WHEN bb.status = com.samsung.library.model.BorrowStatus.BORROWED THEN 1L ELSE 0L END), " +
+            "SUM(CASE WHEN bb.status = com.samsung.library.model.BorrowStatus.OVERDUE THEN 1L ELSE 0L END), " +
+            "COALESCE(SUM(bb.fineAmount), 0.0)) " +
+            "FROM Member m LEFT JOIN BorrowedBook bb ON bb.member = m " +
+            "WHERE m.id = :memberId GROUP BY m.id")
+    Optional<MemberAccountDTO> aggregateByMemberId(@Param("memberId") Long memberId);
+
+    // Next slice of member IDs for the drift check
+    @Query("SELECT m.id FROM Member m WHERE m.id > :afterId ORDER BY m.id")
+    List<Long> findMemberIdsAfter(@Param("afterId") Long afterId, Limit limit);
+
+    // Members of the slice whose account is missing or differs from borrowed_books
+    @Query("SELECT m.id FROM Member m LEFT JOIN MemberAccount a ON a.memberId = m.id " +
+            "WHERE m.id IN :memberIds AND (a.memberId IS NULL " +
+            "OR a.activeLoans <> (SELECT COUNT(bb) FROM BorrowedBook bb WHERE bb.member = m " +
+            "AND bb.status = com.samsung.library.model.BorrowStatus.BORROWED) " +
+            "OR a.overdueLoans <> (SELECT COUNT(bb) FROM BorrowedBook bb WHERE bb.member = m " +
+            "AND bb.status = com.samsung.library.model.BorrowStatus.OVERDUE) " +
+            "OR ABS(a.outstandingFines - (SELECT COALESCE(SUM(bb.fineAmount), 0) FROM BorrowedBook bb " +
+            "WHERE bb.member = m)) >= 0.005)")
+    List<Long> findDriftedMemberIds(@Param("memberIds") Collection<Long> memberIds);
+}
@@ -1,6 +1,9 @@
 package com.samsung.library.schedule;
 
 import com.samsung.library.service.BorrowedBookService;
+import com.samsung.library.service.BorrowingStatisticsService;
+import com.samsung.library.service.HoldService;
+import com.samsung.library.service.MemberAccountService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -25,6 +28,15 @@ public class ScheduledTasks {
     @Autowired
     private BorrowedBookService borrowedBookService;
 
+    @Autowired
+    private BorrowingStatisticsService borrowingStatisticsService;
+
+    @Autowired
+    private HoldService holdService;
+
+    @Autowired
+    private MemberAccountService memberAccountService;
+
     /**
      * Update overdue books status every day at midnight
      * Cron: 0 0 0 * * * (second minute hour day month weekday)
@@ -42,6 +54,56 @@ public class ScheduledTasks {
         }
     }
 
+    /**
+     * Reconcile in-memory borrowing statistics with the database every 15 minutes
+     * Cron: 0 0/15 * * * * (every 15 minutes)
+     */
+    @Scheduled(cron = "${app.scheduling.stats-reconcile-cron:0 0/15 * * * *}")
+    public void reconcileBorrowingStatistics() {
+        String timestamp = LocalDateTime.now().format(formatter);
+
+        try {
+            borrowingStatisticsService.reconcile();
+            logger.info("📈 [{}] Borrowing statistics reconciled", timestamp);
+        } catch (Exception e) {
+            logger.error("❌ [{}] Failed to reconcile borrowing statistics", timestamp, e);
+        }
+    }
+
+    /**
+     * Expire holds not picked up in time and pass their copies on, every 10 minutes
+     * Cron: 0 0/10 * * * * (every 10 minutes)
+     */
+    @Scheduled(cron = "${app.scheduling.hold-expiry-cron:0 0/10 * * * *}")
+    public void expireHolds() {
+        String timestamp = LocalDateTime.now().format(formatter);
+
+        try {
+            int expired = holdService.expireHolds();
+            if (expired > 0) {
+                logger.info("⏰ [{}] Expired {} unclaimed hold(s)", timestamp, expired);
+            }
+        } catch (Exception e) {
+            logger.error("❌ [{}] Failed to expire holds", timestamp, e);
+        }
+    }
+
+    /**
+     * Check member account summaries against borrowed_books and rebuild drifted ones, every hour
+     * Cron: 0 30 * * * * (every hour at minute 30)
+     */
+    @Scheduled(cron = "${app.scheduling.member-account-verify-cron:0 30 * * * *}")
+    public void verifyMemberAccounts() {
+        String timestamp = LocalDateTime.now().format(formatter);
+
+        try {
+            int rebuilt = memberAccountService.verifyAccounts();
+            logger.info("🧾 [{}] Member accounts verified, {} rebuilt", timestamp, rebuilt);
+        } catch (Exception e) {
+            logger.error("❌ [{}] Failed to verify member accounts", timestamp, e);
+        }
+    }
+
     /**
      * Log system health every hour
      * Cron: 0 0 * * * * (every hour at minute 0)
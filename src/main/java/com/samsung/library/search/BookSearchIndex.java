@@ -0,0 +1,567 @@
+package com.samsung.library.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntPredicate;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory inverted index over book title, author name, category and description.
+ *
+ * Every indexed version of a book gets a new ordinal; posting lists are appended in ordinal order,
+ * so they stay sorted and can be merged/intersected without extra sorting. Replaced or removed
+ * books are tombstoned and squeezed out by {@link #compact()} once they make up half the index.
+ * Terms live in a TreeMap so a query token also matches every indexed term it is a prefix of.
+ */
+public class BookSearchIndex {
+
+    static final byte TITLE = 1;
+    static final byte AUTHOR = 2;
+    static final byte CATEGORY = 4;
+    static final byte DESCRIPTION = 8;
+    static final byte ALL_FIELDS = TITLE | AUTHOR | CATEGORY | DESCRIPTION;
+
+    private static final float TITLE_WEIGHT = 3.0f;
+    private static final float AUTHOR_WEIGHT = 2.0f;
+    private static final float CATEGORY_WEIGHT = 1.5f;
+    private static final float DESCRIPTION_WEIGHT = 1.0f;
+
+    // Prefix-only matches rank below exact term matches
+    private static final float PREFIX_BOOST = 0.6f;
+    private static final int NO_YEAR = Integer.MIN_VALUE;
+    private static final int MIN_COMPACTION_GARBAGE = 1024;
+    private static final Pattern NON_TOKEN = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final int maxPrefixExpansions;
+
+    // Guarded by lock
+    private final TreeMap<String, PostingList> postings = new TreeMap<>();
+    private final Map<Long, Integer> ordinalByBookId = new HashMap<>();
+    private final BitSet live = new BitSet();
+    private long[] bookIds = new long[1024];
+    private long[] authorIds = new long[1024];
+    private int[] years = new int[1024];
+    private String[] categories = new String[1024];
+    private int nextOrdinal;
+    private int liveCount;
+
+    public BookSearchIndex() {
+        this(256);
+    }
+
+    public BookSearchIndex(int maxPrefixExpansions) {
+        this.maxPrefixExpansions = maxPrefixExpansions;
+    }
+
+    /**
+     * Add a book, replacing any previously indexed version of it
+     */
+    public void index(Document document) {
+        Map<String, float[]> termWeights = new HashMap<>();
+        Map<String, Integer> termFields = new HashMap<>();
+        collect(termWeights, termFields, document.getTitle(), TITLE, TITLE_WEIGHT);
+        collect(termWeights, termFields, document.getAuthorName(), AUTHOR, AUTHOR_WEIGHT);
+        collect(termWeights, termFields, document.getCategory(), CATEGORY, CATEGORY_WEIGHT);
+        collect(termWeights, termFields, document.getDescription(), DESCRIPTION, DESCRIPTION_WEIGHT);
+
+        lock.writeLock().lock();
+        try {
+            tombstone(document.getBookId());
+            ensureCapacity(nextOrdinal + 1);
+            int ordinal = nextOrdinal++;
+            bookIds[ordinal] = document.getBookId();
+            authorIds[ordinal] = document.getAuthorId() != null ? document.getAuthorId() : 0L;
+            years[ordinal] = document.getPublishingYear() != null ? document.getPublishingYear() : NO_YEAR;
+            categories[ordinal] = normalizeCategory(document.getCategory());
+            live.set(ordinal);
+            liveCount++;
+            ordinalByBookId.put(document.getBookId(), ordinal);
+
+            for (Map.Entry<String, float[]> entry : termWeights.entrySet()) {
+                postings.computeIfAbsent(entry.getKey(), term -> new PostingList())
+                        .add(ordinal, entry.getValue()[0], termFields.get(entry.getKey()).byteValue());
+            }
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove a book; returns false if it was not indexed
+     */
+    public boolean remove(Long bookId) {
+        lock.writeLock().lock();
+        try {
+            boolean removed = tombstone(bookId);
+            compactIfNeeded();
+            return removed;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove every book written by the given author
+     */
+    public int removeByAuthor(Long authorId) {
+        lock.writeLock().lock();
+        try {
+            int removed = 0;
+            for (int ordinal = live.nextSetBit(0); ordinal >= 0; ordinal = live.nextSetBit(ordinal + 1)) {
+                if (authorIds[ordinal] == authorId) {
+                    ordinalByBookId.remove(bookIds[ordinal]);
+                    live.clear(ordinal);
+                    liveCount--;
+                    removed++;
+                }
+            }
+            compactIfNeeded();
+            return removed;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Ranked search. Every query token must match (AND); a token matches indexed terms equal to it
+     * or starting with it. Results are ordered by score, then by book ID.
+     */
+    public SearchResult search(SearchQuery query, int offset, int limit) {
+        List<Clause> clauses = new ArrayList<>();
+        addClauses(clauses, query.getText(), ALL_FIELDS);
+        addClauses(clauses, query.getTitle(), TITLE);
+        addClauses(clauses, query.getAuthorName(), AUTHOR);
+        String category = normalizeCategory(query.getCategory());
+        int year = query.getPublishingYear() != null ? query.getPublishingYear() : NO_YEAR;
+
+        lock.readLock().lock();
+        try {
+            Matches matches;
+            if (clauses.isEmpty()) {
+                matches = Matches.allLive(live, nextOrdinal);
+            } else {
+                matches = null;
+                for (Clause clause : clauses) {
+                    Matches clauseMatches = match(clause);
+                    matches = matches == null ? clauseMatches : matches.intersect(clauseMatches);
+                    if (matches.size == 0) {
+                        break;
+                    }
+                }
+            }
+            if (category != null || year != NO_YEAR) {
+                matches = matches.filter(ordinal -> (category == null || category.equals(categories[ordinal]))
+                        && (year == NO_YEAR || years[ordinal] == year));
+            }
+            return topHits(matches, offset, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Number of books currently searchable
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return liveCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Number of distinct indexed terms
+     */
+    public int termCount() {
+        lock.readLock().lock();
+        try {
+            return postings.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Drop tombstoned postings and renumber the remaining books densely
+     */
+    public void compact() {
+        lock.writeLock().lock();
+        try {
+            int[] remap = new int[nextOrdinal];
+            int next = 0;
+            for (int ordinal = 0; ordinal < nextOrdinal; ordinal++) {
+                if (live.get(ordinal)) {
+                    remap[ordinal] = next;
+                    bookIds[next] = bookIds[ordinal];
+                    authorIds[next] = authorIds[ordinal];
+                    years[next] = years[ordinal];
+                    categories[next] = categories[ordinal];
+                    next++;
+                } else {
+                    remap[ordinal] = -1;
+                }
+            }
+            Arrays.fill(categories, next, nextOrdinal, null);
+
+            Iterator<PostingList> lists = postings.values().iterator();
+            while (lists.hasNext()) {
+                PostingList list = lists.next();
+                list.remap(remap);
+                if (list.size == 0) {
+                    lists.remove();
+                }
+            }
+
+            ordinalByBookId.clear();
+            for (int ordinal = 0; ordinal < next; ordinal++) {
+                ordinalByBookId.put(bookIds[ordinal], ordinal);
+            }
+            live.clear();
+            live.set(0, next);
+            nextOrdinal = next;
+            liveCount = next;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Lower-case, accent-stripped alphanumeric tokens
+     */
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return Collections.emptyList();
+        }
+        String normalized = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        List<String> tokens = new ArrayList<>();
+        for (String token : NON_TOKEN.split(normalized)) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    // =============== PRIVATE HELPER METHODS ===============
+
+    private static void collect(Map<String, float[]> termWeights, Map<String, Integer> termFields,
+                                String text, byte field, float fieldWeight) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        for (String token : tokenize(text)) {
+            frequencies.merge(token, 1, Integer::sum);
+        }
+        frequencies.forEach((term, frequency) -> {
+            termWeights.computeIfAbsent(term, t -> new float[1])[0] +=
+                    fieldWeight * (1.0f + (float) Math.log(frequency));
+            termFields.merge(term, (int) field, (a, b) -> a | b);
+        });
+    }
+
+    private static void addClauses(List<Clause> clauses, String text, byte fields) {
+        for (String token : tokenize(text)) {
+            clauses.add(new Clause(token, fields));
+        }
+    }
+
+    private static String normalizeCategory(String category) {
+        return category == null || category.isBlank() ? null : category.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private boolean tombstone(Long bookId) {
+        Integer ordinal = ordinalByBookId.remove(bookId);
+        if (ordinal == null) {
+            return false;
+        }
+        live.clear(ordinal);
+        liveCount--;
+        return true;
+    }
+
+    private void compactIfNeeded() {
+        int garbage = nextOrdinal - liveCount;
+        if (garbage >= MIN_COMPACTION_GARBAGE && garbage > liveCount) {
+            compact();
+        }
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > bookIds.length) {
+            int newLength = Math.max(capacity, bookIds.length + (bookIds.length >> 1));
+            bookIds = Arrays.copyOf(bookIds, newLength);
+            authorIds = Arrays.copyOf(authorIds, newLength);
+            years = Arrays.copyOf(years, newLength);
+            categories = Arrays.copyOf(categories, newLength);
+        }
+    }
+
+    /**
+     * Best score per live book for one query token across its exact and prefix-expanded terms
+     */
+    private Matches match(Clause clause) {
+        List<PostingList> lists = new ArrayList<>();
+        List<Float> boosts = new ArrayList<>();
+        PostingList exact = postings.get(clause.token);
+        if (exact != null) {
+            lists.add(exact);
+            boosts.add(1.0f);
+        }
+        int expansions = 0;
+        for (Map.Entry<String, PostingList> entry : postings.tailMap(clause.token, false).entrySet()) {
+            if (!entry.getKey().startsWith(clause.token) || expansions++ >= maxPrefixExpansions) {
+                break;
+            }
+            lists.add(entry.getValue());
+            boosts.add(PREFIX_BOOST);
+        }
+
+        int total = 0;
+        for (PostingList list : lists) {
+            total += list.size;
+        }
+        // (ordinal << 32 | score bits): non-negative float bits sort like the floats themselves,
+        // so after sorting the last entry of each ordinal run carries its best score
+        long[] packed = new long[total];
+        int count = 0;
+        for (int i = 0; i < lists.size(); i++) {
+            PostingList list = lists.get(i);
+            float idf = (float) Math.log(1.0 + (double) Math.max(liveCount, 1) / list.size);
+            float boost = boosts.get(i) * idf;
+            for (int j = 0; j < list.size; j++) {
+                int ordinal = list.ordinals[j];
+                if ((list.fields[j] & clause.fields) != 0 && live.get(ordinal)) {
+                    packed[count++] = ((long) ordinal << 32) | Float.floatToIntBits(list.weights[j] * boost);
+                }
+            }
+        }
+        if (lists.size() > 1) {
+            Arrays.sort(packed, 0, count);
+        }
+
+        Matches matches = new Matches(count);
+        for (int i = 0; i < count; i++) {
+            int ordinal = (int) (packed[i] >>> 32);
+            if (i + 1 < count && (int) (packed[i + 1] >>> 32) == ordinal) {
+                continue;
+            }
+            matches.add(ordinal, Float.intBitsToFloat((int) packed[i]));
+        }
+        return matches;
+    }
+
+    private SearchResult topHits(Matches matches, int offset, int limit) {
+        int wanted = (int) Math.min((long) offset + limit, matches.size);
+        // Min-heap on (score, -bookId) keeps the best "wanted" hits
+        PriorityQueue<Integer> heap = new PriorityQueue<>(Math.max(wanted, 1), (a, b) -> {
+            int byScore = Float.compare(matches.scores[a], matches.scores[b]);
+            return byScore != 0 ? byScore
+                    : Long.compare(bookIds[matches.ordinals[b]], bookIds[matches.ordinals[a]]);
+        });
+        for (int i = 0; i < matches.size && wanted > 0; i++) {
+            if (heap.size() < wanted) {
+                heap.add(i);
+            } else if (heap.comparator().compare(i, heap.peek()) > 0) {
+                heap.poll();
+                heap.add(i);
+            }
+        }
+
+        Hit[] ranked = new Hit[heap.size()];
+        for (int i = ranked.length - 1; i >= 0; i--) {
+            int index = heap.poll();
+            ranked[i] = new Hit(bookIds[matches.ordinals[index]], matches.scores[index]);
+        }
+        List<Hit> page = offset >= ranked.length
+                ? Collections.emptyList()
+                : Arrays.asList(ranked).subList(offset, ranked.length);
+        return new SearchResult(page, matches.size);
+    }
+
+    /**
+     * Postings of one term, sorted by ordinal
+     */
+    private static final class PostingList {
+        private int[] ordinals = new int[4];
+        private float[] weights = new float[4];
+        private byte[] fields = new byte[4];
+        private int size;
+
+        void add(int ordinal, float weight, byte fieldMask) {
+            if (size == ordinals.length) {
+                int newLength = size + (size >> 1) + 1;
+                ordinals = Arrays.copyOf(ordinals, newLength);
+                weights = Arrays.copyOf(weights, newLength);
+                fields = Arrays.copyOf(fields, newLength);
+            }
+            ordinals[size] = ordinal;
+            weights[size] = weight;
+            fields[size] = fieldMask;
+            size++;
+        }
+
+        void remap(int[] remap) {
+            int next = 0;
+            for (int i = 0; i < size; i++) {
+                int ordinal = remap[ordinals[i]];
+                if (ordinal >= 0) {
+                    ordinals[next] = ordinal;
+                    weights[next] = weights[i];
+                    fields[next] = fields[i];
+                    next++;
+                }
+            }
+            size = next;
+            if (ordinals.length > size * 2 + 4) {
+                ordinals = Arrays.copyOf(ordinals, size);
+                weights = Arrays.copyOf(weights, size);
+                fields = Arrays.copyOf(fields, size);
+            }
+        }
+    }
+
+    /**
+     * Candidate books (sorted by ordinal) with their accumulated scores
+     */
+    private static final class Matches {
+        private final int[] ordinals;
+        private final float[] scores;
+        private int size;
+
+        Matches(int capacity) {
+            ordinals = new int[capacity];
+            scores = new float[capacity];
+        }
+
+        static Matches allLive(BitSet live, int upTo) {
+            Matches matches = new Matches(live.cardinality());
+            for (int ordinal = live.nextSetBit(0); ordinal >= 0 && ordinal < upTo; ordinal = live.nextSetBit(ordinal + 1)) {
+                matches.add(ordinal, 0.0f);
+            }
+            return matches;
+        }
+
+        void add(int ordinal, float score) {
+            ordinals[size] = ordinal;
+            scores[size] = score;
+            size++;
+        }
+
+        Matches intersect(Matches other) {
+            Matches result = new Matches(Math.min(size, other.size));
+            int i = 0;
+            int j = 0;
+            while (i < size && j < other.size) {
+                if (ordinals[i] < other.ordinals[j]) {
+                    i++;
+                } else if (ordinals[i] > other.ordinals[j]) {
+                    j++;
+                } else {
+                    result.add(ordinals[i], scores[i] + other.scores[j]);
+                    i++;
+                    j++;
+                }
+            }
+            return result;
+        }
+
+        Matches filter(IntPredicate predicate) {
+            Matches result = new Matches(size);
+            for (int i = 0; i < size; i++) {
+                if (predicate.test(ordinals[i])) {
+                    result.add(ordinals[i], scores[i]);
+                }
+            }
+            return result;
+        }
+    }
+
+    private static final class Clause {
+        private final String token;
+        private final byte fields;
+
+        Clause(String token, byte fields) {
+            this.token = token;
+            this.fields = fields;
+        }
+    }
+
+    /**
+     * Searchable fields of one book
+     */
+    public static class Document {
+        private final Long bookId;
+        private final String title;
+        private final String description;
+        private final String category;
+        private final Integer publishingYear;
+        private final Long authorId;
+        private final String authorName;
+
+        public Document(Long bookId, String title, String description, String category,
+                        Integer publishingYear, Long authorId, String authorName) {
+            this.bookId = bookId;
+            this.title = title;
+            this.description = description;
+            this.category = category;
+            this.publishingYear = publishingYear;
+            this.authorId = authorId;
+            this.authorName = authorName;
+        }
+
+        public Long getBookId() { return bookId; }
+        public String getTitle() { return title; }
+        public String getDescription() { return description; }
+        public String getCategory() { return category; }
+        public Integer getPublishingYear() { return publishingYear; }
+        public Long getAuthorId() { return authorId; }
+        public String getAuthorName() { return authorName; }
+    }
+
+    /**
+     * One ranked result
+     */
+    public static class Hit {
+        private final Long bookId;
+        private final float score;
+
+        public Hit(Long bookId, float score) {
+            this.bookId = bookId;
+            this.score = score;
+        }
+
+        public Long getBookId() { return bookId; }
+        public float getScore() { return score; }
+    }
+
+    /**
+     * A page of hits plus the total number of matching books
+     */
+    public static class SearchResult {
+        private final List<Hit> hits;
+        private final long totalHits;
+
+        public SearchResult(List<Hit> hits, long totalHits) {
+            this.hits = hits;
+            this.totalHits = totalHits;
+        }
+
+        public List<Hit> getHits() { return hits; }
+        public long getTotalHits() { return totalHits; }
+    }
+}
@@ -0,0 +1,176 @@
+package com.samsung.library.search;
+
+import com.samsung.library.event.CatalogChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Owns the book search index: builds it from the database in the background at startup
+ * and keeps it in step with committed catalog changes.
+ *
+ * Until the first build finishes {@link #search} returns null and callers fall back to SQL.
+ */
+@Service
+public class BookSearchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BookSearchService.class);
+
+    private static final String SELECT_SQL =
+            "SELECT b.id, b.title, b.description, b.category, b.publishing_year, b.author_id, " +
+            "a.name AS author_name FROM books b JOIN authors a ON a.id = b.author_id";
+
+    private static final int FETCH_SIZE = 1000;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${app.search.max-prefix-expansions:256}")
+    private int maxPrefixExpansions;
+
+    private volatile BookSearchIndex index;
+    private final AtomicBoolean rebuilding = new AtomicBoolean(false);
+    // A rebuild was asked for after the running one started reading (e.g. an import finished meanwhile)
+    private final AtomicBoolean rebuildRequested = new AtomicBoolean(false);
+    // Changes committed while a rebuild is reading the table; replayed on the new index
+    private final Queue<CatalogChangedEvent> changedDuringRebuild = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Ranked search, or null if the index has not been built yet
+     */
+    public BookSearchIndex.SearchResult search(SearchQuery query, int offset, int limit) {
+        BookSearchIndex current = index;
+        return current != null ? current.search(query, offset, limit) : null;
+    }
+
+    public boolean isReady() {
+        return index != null;
+    }
+
+    /**
+     * Build the index once the application is up, without delaying startup
+     */
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        rebuild();
+    }
+
+    /**
+     * Full rebuild requested after bulk changes (e.g. imports)
+     */
+    @Async
+    @TransactionalEventListener(condition = "#event.type.name() == 'RELOAD'", fallbackExecution = true)
+    public void onReload(CatalogChangedEvent event) {
+        rebuild();
+    }
+
+    /**
+     * Apply a single committed book or author change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        if (event.getType() == CatalogChangedEvent.Type.RELOAD) {
+            return;
+        }
+        if (rebuilding.get()) {
+            changedDuringRebuild.add(event);
+        }
+        BookSearchIndex current = index;
+        if (current != null) {
+            apply(current, event);
+        }
+    }
+
+    /**
+     * Stream every book into a fresh index and swap it in
+     * (a request arriving while a rebuild runs triggers another one once it is done)
+     */
+    public void rebuild() {
+        rebuildRequested.set(true);
+        // Whoever gets the flag keeps building until no request is left, so none is dropped
+        while (rebuildRequested.get() && rebuilding.compareAndSet(false, true)) {
+            try {
+                rebuildRequested.set(false);
+                buildIndex();
+            } finally {
+                rebuilding.set(false);
+            }
+        }
+    }
+
+    private void buildIndex() {
+        try {
+            long start = System.currentTimeMillis();
+            BookSearchIndex fresh = new BookSearchIndex(maxPrefixExpansions);
+            jdbcTemplate.query(con -> {
+                PreparedStatement ps = con.prepareStatement(SELECT_SQL);
+                ps.setFetchSize(FETCH_SIZE);
+                return ps;
+            }, (RowCallbackHandler) rs -> fresh.index(mapDocument(rs)));
+
+            index = fresh;
+            CatalogChangedEvent missed;
+            while ((missed = changedDuringRebuild.poll()) != null) {
+                apply(fresh, missed);
+            }
+            logger.info("Search index built: {} books, {} terms in {} ms",
+                    fresh.size(), fresh.termCount(), System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            logger.error("Failed to build search index: {}", e.getMessage(), e);
+        }
+    }
+
+    // =============== PRIVATE HELPER METHODS ===============
+
+    private void apply(BookSearchIndex target, CatalogChangedEvent event) {
+        try {
+            switch (event.getType()) {
+                case BOOK_SAVED -> {
+                    var documents = jdbcTemplate.query(SELECT_SQL + " WHERE b.id = ?",
+                            (rs, rowNum) -> mapDocument(rs), event.getId());
+                    if (documents.isEmpty()) {
+                        target.remove(event.getId());
+                    } else {
+                        target.index(documents.get(0));
+                    }
+                }
+                case BOOK_DELETED -> target.remove(event.getId());
+                case AUTHOR_SAVED -> jdbcTemplate.query(SELECT_SQL + " WHERE b.author_id = ?",
+                        (RowCallbackHandler) rs -> target.index(mapDocument(rs)), event.getId());
+                case AUTHOR_DELETED -> target.removeByAuthor(event.getId());
+                default -> { }
+            }
+        } catch (Exception e) {
+            // The entry stays stale until the next rebuild; search results are re-read from the database anyway
+            logger.warn("Could not update search index for {} {}: {}", event.getType(), event.getId(), e.getMessage());
+        }
+    }
+
+    private static BookSearchIndex.Document mapDocument(ResultSet rs) throws SQLException {
+        Integer year = rs.getObject("publishing_year") != null ? rs.getInt("publishing_year") : null;
+        return new BookSearchIndex.Document(
+                rs.getLong("id"),
+                rs.getString("title"),
+                rs.getString("description"),
+                rs.getString("category"),
+                year,
+                rs.getLong("author_id"),
+                rs.getString("author_name"));
+    }
+}
@@ -0,0 +1,39 @@
+package com.samsung.library.search;
+
+/**
+ * Book search criteria. Free text matches any field; title and author name only match their own field.
+ */
+public class SearchQuery {
+    private String text;
+    private String title;
+    private String authorName;
+    private String category;
+    private Integer publishingYear;
+
+    // Constructors
+    public SearchQuery() {}
+
+    public SearchQuery(String text, String title, String authorName, String category, Integer publishingYear) {
+        this.text = text;
+        this.title = title;
+        this.authorName = authorName;
+        this.category = category;
+        this.publishingYear = publishingYear;
+    }
+
+    // Getters and Setters
+    public String getText() { return text; }
+    public void setText(String text) { this.text = text; }
+
+    public String getTitle() { return title; }
+    public void setTitle(String title) { this.title = title; }
+
+    public String getAuthorName() { return authorName; }
+    public void setAuthorName(String authorName) { this.authorName = authorName; }
+
+    public String getCategory() { return category; }
+    public void setCategory(String category) { this.category = category; }
+
+    public Integer getPublishingYear() { return publishingYear; }
+    public void setPublishingYear(Integer publishingYear) { this.publishingYear = publishingYear; }
+}
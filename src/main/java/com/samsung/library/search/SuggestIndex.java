@@ -0,0 +1,191 @@
+package com.samsung.library.search;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Prefix lookup over short names (book titles, author and member names) for search-as-you-type.
+ *
+ * Each name is normalized (lower-case, accents and punctuation stripped) and stored in a sorted
+ * skip list once per word start, so "rings" finds "The Lord of the Rings". The key of the whole name
+ * is kept in a key space of its own, so a lookup range-scans the names starting with the query first
+ * and only then the other word starts. Memory is bounded by the entry cap, the key length cap and the
+ * number of word starts indexed per name. Reads are lock-free; writes are serialized.
+ */
+public class SuggestIndex {
+
+    private static final char SEPARATOR = '\u0000';
+    // Prefix of whole-name keys; sorts before every normalized word
+    private static final char LEADING = '\u0001';
+    // Candidates examined per requested suggestion before ranking
+    private static final int CANDIDATE_FACTOR = 4;
+
+    private final int maxEntries;
+    private final int maxKeyLength;
+    private final int maxWordStarts;
+
+    private final ConcurrentSkipListMap<String, Long> keys = new ConcurrentSkipListMap<>();
+    private final ConcurrentHashMap<Long, Entry> entries = new ConcurrentHashMap<>();
+
+    public SuggestIndex(int maxEntries, int maxKeyLength, int maxWordStarts) {
+        this.maxEntries = maxEntries;
+        this.maxKeyLength = maxKeyLength;
+        this.maxWordStarts = maxWordStarts;
+    }
+
+    /**
+     * Add or replace an entry. Returns false if the index is full and the entry is new.
+     * The group (e.g. the author of a book) allows removing related entries together.
+     */
+    public synchronized boolean put(Long id, String text, long group) {
+        Entry existing = entries.get(id);
+        if (existing == null && entries.size() >= maxEntries) {
+            return false;
+        }
+        if (existing != null) {
+            if (existing.text.equals(text) && existing.group == group) {
+                return true;
+            }
+            removeKeys(existing);
+        }
+
+        List<String> tokens = BookSearchIndex.tokenize(text);
+        List<String> entryKeys = new ArrayList<>();
+        for (int i = 0; i < tokens.size() && i < maxWordStarts; i++) {
+            String suffix = String.join(" ", tokens.subList(i, tokens.size()));
+            if (suffix.length() > maxKeyLength) {
+                suffix = suffix.substring(0, maxKeyLength);
+            }
+            String key = (i == 0 ? LEADING + suffix : suffix) + SEPARATOR + id;
+            if (!entryKeys.contains(key)) {
+                entryKeys.add(key);
+                keys.put(key, id);
+            }
+        }
+        entries.put(id, new Entry(text, String.join(" ", tokens), group, entryKeys.toArray(new String[0])));
+        return true;
+    }
+
+    public synchronized boolean remove(Long id) {
+        Entry existing = entries.remove(id);
+        if (existing == null) {
+            return false;
+        }
+        removeKeys(existing);
+        return true;
+    }
+
+    /**
+     * Remove every entry of a group
+     */
+    public synchronized int removeGroup(long group) {
+        List<Long> ids = new ArrayList<>();
+        entries.forEach((id, entry) -> {
+            if (entry.group == group) {
+                ids.add(id);
+            }
+        });
+        ids.forEach(this::remove);
+        return ids.size();
+    }
+
+    /**
+     * Up to limit names with a word starting with the given prefix. Names that start with it
+     * come first, then shorter names.
+     */
+    public List<Suggestion> suggest(String prefix, int limit) {
+        String query = String.join(" ", BookSearchIndex.tokenize(prefix));
+        if (query.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        if (query.length() > maxKeyLength) {
+            query = query.substring(0, maxKeyLength);
+        }
+
+        Map<Long, Entry> candidates = new LinkedHashMap<>();
+        int maxCandidates = limit * CANDIDATE_FACTOR;
+        collect(LEADING + query, candidates, maxCandidates);
+        // Names with the query further in only fill the places the leading matches leave
+        if (candidates.size() < limit) {
+            collect(query, candidates, maxCandidates);
+        }
+
+        String finalQuery = query;
+        List<Suggestion> suggestions = new ArrayList<>(candidates.size());
+        candidates.forEach((id, entry) ->
+                suggestions.add(new Suggestion(id, entry.text, entry.normalized.startsWith(finalQuery))));
+        suggestions.sort(Comparator.comparing((Suggestion s) -> !s.startsWithQuery)
+                .thenComparingInt(s -> s.text.length())
+                .thenComparing(s -> s.text));
+        return suggestions.size() > limit ? suggestions.subList(0, limit) : suggestions;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public int keyCount() {
+        return keys.size();
+    }
+
+    public boolean isFull() {
+        return entries.size() >= maxEntries;
+    }
+
+    // Add the entries of the keys starting with the prefix until there are maxCandidates
+    private void collect(String prefix, Map<Long, Entry> candidates, int maxCandidates) {
+        for (Map.Entry<String, Long> key : keys.subMap(prefix, true, prefix + Character.MAX_VALUE, false).entrySet()) {
+            if (candidates.size() >= maxCandidates) {
+                return;
+            }
+            Entry entry = entries.get(key.getValue());
+            if (entry != null) {
+                candidates.putIfAbsent(key.getValue(), entry);
+            }
+        }
+    }
+
+    private void removeKeys(Entry entry) {
+        for (String key : entry.keys) {
+            keys.remove(key);
+        }
+    }
+
+    private static final class Entry {
+        private final String text;
+        private final String normalized;
+        private final long group;
+        private final String[] keys;
+
+        Entry(String text, String normalized, long group, String[] keys) {
+            this.text = text;
+            this.normalized = normalized;
+            this.group = group;
+            this.keys = keys;
+        }
+    }
+
+    /**
+     * One suggested name
+     */
+    public static class Suggestion {
+        private final Long id;
+        private final String text;
+        private final boolean startsWithQuery;
+
+        public Suggestion(Long id, String text, boolean startsWithQuery) {
+            this.id = id;
+            this.text = text;
+            this.startsWithQuery = startsWithQuery;
+        }
+
+        public Long getId() { return id; }
+        public String getText() { return text; }
+        public boolean isStartsWithQuery() { return startsWithQuery; }
+    }
+}
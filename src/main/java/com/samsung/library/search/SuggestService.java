@@ -0,0 +1,242 @@
+package com.samsung.library.search;
+
+import com.samsung.library.dto.SuggestionDTO;
+import com.samsung.library.event.CatalogChangedEvent;
+import com.samsung.library.event.MemberChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Search-as-you-type suggestions for books, authors and members.
+ *
+ * The prefix indexes are filled at startup by streaming id/name columns over JDBC (no entities)
+ * and then kept current from committed change events. Until the first build finishes there
+ * are no suggestions.
+ */
+@Service
+public class SuggestService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SuggestService.class);
+
+    public static final String BOOK = "book";
+    public static final String AUTHOR = "author";
+    public static final String MEMBER = "member";
+
+    private static final String BOOKS_SQL = "SELECT id, title, author_id FROM books";
+    private static final String AUTHORS_SQL = "SELECT id, name FROM authors";
+    private static final String MEMBERS_SQL = "SELECT id, name FROM members";
+    private static final int FETCH_SIZE = 1000;
+    private static final int MAX_LIMIT = 50;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${app.suggest.max-entries:250000}")
+    private int maxEntries;
+
+    @Value("${app.suggest.max-key-length:48}")
+    private int maxKeyLength;
+
+    @Value("${app.suggest.max-word-starts:6}")
+    private int maxWordStarts;
+
+    private volatile SuggestIndex books;
+    private volatile SuggestIndex authors;
+    private volatile SuggestIndex members;
+    private final AtomicBoolean rebuilding = new AtomicBoolean(false);
+    // A rebuild was asked for after the running one started reading (e.g. an import finished meanwhile)
+    private final AtomicBoolean rebuildRequested = new AtomicBoolean(false);
+    // Changes committed while a rebuild is reading the tables; replayed on the new indexes
+    private final Queue<Object> changedDuringRebuild = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Suggestions of one type (book, author, member), or of every type when type is null
+     */
+    public List<SuggestionDTO> suggest(String prefix, String type, int limit) {
+        int max = Math.min(Math.max(limit, 1), MAX_LIMIT);
+        String normalizedType = type != null ? type.toLowerCase(Locale.ROOT) : null;
+        if (normalizedType != null && !List.of(BOOK, AUTHOR, MEMBER).contains(normalizedType)) {
+            throw new IllegalArgumentException("Unknown suggestion type: " + type);
+        }
+
+        List<SuggestionDTO> suggestions = new ArrayList<>();
+        if (normalizedType == null || BOOK.equals(normalizedType)) {
+            addSuggestions(suggestions, books, BOOK, prefix, max);
+        }
+        if (normalizedType == null || AUTHOR.equals(normalizedType)) {
+            addSuggestions(suggestions, authors, AUTHOR, prefix, max);
+        }
+        if (normalizedType == null || MEMBER.equals(normalizedType)) {
+            addSuggestions(suggestions, members, MEMBER, prefix, max);
+        }
+        return suggestions;
+    }
+
+    /**
+     * Build the indexes once the application is up, without delaying startup
+     */
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        rebuild();
+    }
+
+    /**
+     * Full rebuild requested after bulk changes (e.g. imports)
+     */
+    @Async
+    @TransactionalEventListener(condition = "#event.type.name() == 'RELOAD'", fallbackExecution = true)
+    public void onReload(CatalogChangedEvent event) {
+        rebuild();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        if (event.getType() != CatalogChangedEvent.Type.RELOAD) {
+            onChange(event);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMemberChanged(MemberChangedEvent event) {
+        onChange(event);
+    }
+
+    /**
+     * Stream names from the database into fresh indexes and swap them in
+     * (a request arriving while a rebuild runs triggers another one once it is done)
+     */
+    public void rebuild() {
+        rebuildRequested.set(true);
+        // Whoever gets the flag keeps building until no request is left, so none is dropped
+        while (rebuildRequested.get() && rebuilding.compareAndSet(false, true)) {
+            try {
+                rebuildRequested.set(false);
+                buildIndexes();
+            } finally {
+                rebuilding.set(false);
+            }
+        }
+    }
+
+    private void buildIndexes() {
+        try {
+            long start = System.currentTimeMillis();
+            SuggestIndex freshBooks = newIndex();
+            SuggestIndex freshAuthors = newIndex();
+            SuggestIndex freshMembers = newIndex();
+            stream(BOOKS_SQL, freshBooks, BOOK, rs -> freshBooks.put(rs.getLong("id"), rs.getString("title"), rs.getLong("author_id")));
+            stream(AUTHORS_SQL, freshAuthors, AUTHOR, rs -> freshAuthors.put(rs.getLong("id"), rs.getString("name"), 0L));
+            stream(MEMBERS_SQL, freshMembers, MEMBER, rs -> freshMembers.put(rs.getLong("id"), rs.getString("name"), 0L));
+
+            books = freshBooks;
+            authors = freshAuthors;
+            members = freshMembers;
+            Object missed;
+            while ((missed = changedDuringRebuild.poll()) != null) {
+                apply(missed);
+            }
+            logger.info("Suggestion indexes built: {} books, {} authors, {} members ({} keys) in {} ms",
+                    freshBooks.size(), freshAuthors.size(), freshMembers.size(),
+                    freshBooks.keyCount() + freshAuthors.keyCount() + freshMembers.keyCount(),
+                    System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            logger.error("Failed to build suggestion indexes: {}", e.getMessage(), e);
+        }
+    }
+
+    // =============== PRIVATE HELPER METHODS ===============
+
+    private SuggestIndex newIndex() {
+        return new SuggestIndex(maxEntries, maxKeyLength, maxWordStarts);
+    }
+
+    private void stream(String sql, SuggestIndex target, String type, RowCallbackHandler handler) {
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(sql);
+            ps.setFetchSize(FETCH_SIZE);
+            return ps;
+        }, (RowCallbackHandler) rs -> {
+            if (!target.isFull()) {
+                handler.processRow(rs);
+            }
+        });
+        if (target.isFull()) {
+            logger.warn("Suggestion index for {} is full ({} entries); raise app.suggest.max-entries", type, maxEntries);
+        }
+    }
+
+    private void addSuggestions(List<SuggestionDTO> suggestions, SuggestIndex index, String type,
+                                String prefix, int limit) {
+        if (index != null) {
+            index.suggest(prefix, limit).forEach(s -> suggestions.add(new SuggestionDTO(type, s.getId(), s.getText())));
+        }
+    }
+
+    private void onChange(Object event) {
+        if (rebuilding.get()) {
+            changedDuringRebuild.add(event);
+        }
+        if (books != null) {
+            apply(event);
+        }
+    }
+
+    private void apply(Object event) {
+        try {
+            if (event instanceof CatalogChangedEvent catalogEvent) {
+                Long id = catalogEvent.getId();
+                switch (catalogEvent.getType()) {
+                    case BOOK_SAVED -> reload(books, "SELECT id, title, author_id FROM books WHERE id = ?", id,
+                            rs -> books.put(id, rs.getString("title"), rs.getLong("author_id")));
+                    case BOOK_DELETED -> books.remove(id);
+                    case AUTHOR_SAVED -> reload(authors, "SELECT id, name FROM authors WHERE id = ?", id,
+                            rs -> authors.put(id, rs.getString("name"), 0L));
+                    case AUTHOR_DELETED -> {
+                        authors.remove(id);
+                        books.removeGroup(id);
+                    }
+                    default -> { }
+                }
+            } else if (event instanceof MemberChangedEvent memberEvent) {
+                Long id = memberEvent.getMemberId();
+                if (memberEvent.getType() == MemberChangedEvent.Type.DELETED) {
+                    members.remove(id);
+                } else {
+                    reload(members, "SELECT id, name FROM members WHERE id = ?", id,
+                            rs -> members.put(id, rs.getString("name"), 0L));
+                }
+            }
+        } catch (Exception e) {
+            logger.warn("Could not update suggestion index for {}: {}", event, e.getMessage());
+        }
+    }
+
+    private void reload(SuggestIndex target, String sql, Long id, RowCallbackHandler handler) {
+        boolean[] found = {false};
+        jdbcTemplate.query(sql, (RowCallbackHandler) rs -> {
+            found[0] = true;
+            handler.processRow(rs);
+        }, id);
+        if (!found[0]) {
+            target.remove(id);
+        }
+    }
+}
@@ -1,14 +1,30 @@
 package com.samsung.library.service;
 
+import com.samsung.library.config.CacheConfig;
 import com.samsung.library.dto.AuthorDTO;
 import com.samsung.library.dto.BookSummaryDTO;
+import com.samsung.library.dto.PageResponseDTO;
+import com.samsung.library.event.CatalogChangedEvent;
 import com.samsung.library.model.Author;
 import com.samsung.library.repository.AuthorRepository;
+import com.samsung.library.repository.BookRepository;
+import com.samsung.library.repository.BorrowedBookRepository;
+import com.samsung.library.repository.HoldRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -19,6 +35,21 @@ public class AuthorService {
     @Autowired
     private AuthorRepository authorRepository;
 
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private HoldRepository holdRepository;
+
+    @Autowired
+    private BorrowedBookRepository borrowedBookRepository;
+
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_BOOKS_PER_AUTHOR = 50;
+
     // Create a new author
     public AuthorDTO createAuthor(AuthorDTO authorDTO) {
         Author author = convertToEntity(authorDTO);
@@ -27,6 +58,7 @@ public class AuthorService {
     }
 
     // Get author by ID
+    @Cacheable(value = CacheConfig.AUTHORS_CACHE, key = "#id", unless = "#result == null")
     @Transactional(readOnly = true)
     public Optional<AuthorDTO> getAuthorById(Long id) {
         return authorRepository.findById(id)
@@ -40,16 +72,41 @@ public class AuthorService {
                 .map(this::convertToDTOWithBooks);
     }
 
-    // Get all authors
+    // Get a page of authors with their book count, plus up to booksPerAuthor books each (two queries at most)
     @Transactional(readOnly = true)
-    public List<AuthorDTO> getAllAuthors() {
-        return authorRepository.findAllWithBooks()  // or findAll() with @EntityGraph
-                .stream()
-                .map(this::convertToDTOWithBooks)
-                .collect(Collectors.toList());
+    public PageResponseDTO<AuthorDTO> getAuthorsPage(int page, int size, int booksPerAuthor) {
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        Slice<AuthorDTO> slice = authorRepository.findAuthorSummaries(
+                PageRequest.of(Math.max(page, 0), pageSize, Sort.by("id")));
+        List<AuthorDTO> content = slice.getContent();
+
+        int perAuthor = Math.min(booksPerAuthor, MAX_BOOKS_PER_AUTHOR);
+        if (perAuthor > 0 && !content.isEmpty()) {
+            Map<Long, List<BookSummaryDTO>> books = new HashMap<>();
+            List<Long> authorIds = content.stream().map(AuthorDTO::getId).collect(Collectors.toList());
+            for (Object[] row : bookRepository.findBookSummariesByAuthorIds(authorIds, perAuthor)) {
+                books.computeIfAbsent(((Number) row[6]).longValue(), id -> new ArrayList<>())
+                        .add(new BookSummaryDTO(
+                                ((Number) row[0]).longValue(),
+                                (String) row[1],
+                                (String) row[2],
+                                row[3] != null ? ((Number) row[3]).intValue() : null,
+                                row[4] != null ? ((Number) row[4]).intValue() : null,
+                                row[5] != null ? ((Number) row[5]).intValue() : null
+                        ));
+            }
+            content.forEach(author -> author.setBooks(books.getOrDefault(author.getId(), new ArrayList<>())));
+        }
+
+        return new PageResponseDTO<>(content, slice.getNumber(), slice.getSize(), null, null,
+                slice.hasNext(), null);
     }
 
-    // Update author
+    // Update author (cached books carry the author name, so they are evicted too)
+    @Caching(evict = {
+            @CacheEvict(value = CacheConfig.AUTHORS_CACHE, key = "#id"),
+            @CacheEvict(value = CacheConfig.BOOKS_CACHE, allEntries = true)
+    })
     public AuthorDTO updateAuthor(Long id, AuthorDTO authorDTO) {
         Optional<Author> existingAuthor = authorRepository.findById(id);
         if (existingAuthor.isPresent()) {
@@ -60,15 +117,25 @@ public class AuthorService {
             author.setNationality(authorDTO.getNationality());
 
             Author updatedAuthor = authorRepository.save(author);
+            eventPublisher.publishEvent(new CatalogChangedEvent(CatalogChangedEvent.Type.AUTHOR_SAVED, id));
             return convertToDTO(updatedAuthor);
         }
         return null;
     }
 
-    // Delete author
+    // Delete author (cascades to the author's books)
+    @Caching(evict = {
+            @CacheEvict(value = CacheConfig.AUTHORS_CACHE, key = "#id"),
+            @CacheEvict(value = CacheConfig.BOOKS_CACHE, allEntries = true),
+            @CacheEvict(value = CacheConfig.CATEGORIES_CACHE, allEntries = true)
+    })
     public boolean deleteAuthor(Long id) {
         if (authorRepository.existsById(id)) {
+            holdRepository.deleteByAuthorId(id);
+            // Loans of the author's books go with them (cascade); loan statistics and member accounts follow the events
+            borrowedBookRepository.findLoanRemovalsByAuthorId(id).forEach(eventPublisher::publishEvent);
             authorRepository.deleteById(id);
+            eventPublisher.publishEvent(new CatalogChangedEvent(CatalogChangedEvent.Type.AUTHOR_DELETED, id));
             return true;
         }
         return false;
@@ -91,7 +158,7 @@ public class AuthorService {
     }
 
     // Convert entity to DTO
-    private AuthorDTO convertToDTO(Author author) {
+    AuthorDTO convertToDTO(Author author) {
         AuthorDTO dto = new AuthorDTO();
         dto.setId(author.getId());
         dto.setName(author.getName());
@@ -104,7 +171,7 @@ public class AuthorService {
     }
 
     // Convert entity to DTO with books
-    private AuthorDTO convertToDTOWithBooks(Author author) {
+    AuthorDTO convertToDTOWithBooks(Author author) {
         AuthorDTO dto = convertToDTO(author);
         if (author.getBooks() != null) {
             List<BookSummaryDTO> bookSummaries = author.getBooks().stream()
@@ -1,16 +1,32 @@
 package com.samsung.library.service;
 
+import com.samsung.library.config.CacheConfig;
 import com.samsung.library.dto.BookDTO;
+import com.samsung.library.dto.PageResponseDTO;
 import com.samsung.library.dto.SearchRequestDTO;
+import com.samsung.library.event.CatalogChangedEvent;
 import com.samsung.library.model.Author;
 import com.samsung.library.model.Book;
 import com.samsung.library.repository.AuthorRepository;
 import com.samsung.library.repository.BookRepository;
+import com.samsung.library.repository.BorrowedBookRepository;
+import com.samsung.library.repository.HoldRepository;
+import com.samsung.library.search.BookSearchIndex;
+import com.samsung.library.search.BookSearchService;
+import com.samsung.library.search.SearchQuery;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -24,19 +40,37 @@ public class BookService {
     @Autowired
     private AuthorRepository authorRepository;
 
+    @Autowired
+    private BookSearchService bookSearchService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private HoldRepository holdRepository;
+
+    @Autowired
+    private BorrowedBookRepository borrowedBookRepository;
+
+    private static final int MAX_SEARCH_PAGE_SIZE = 100;
+    private static final int LOAD_BATCH_SIZE = 1000;
+
     // Create a new book
+    @CacheEvict(value = CacheConfig.CATEGORIES_CACHE, allEntries = true)
     public BookDTO createBook(BookDTO bookDTO) {
         Optional<Author> author = authorRepository.findById(bookDTO.getAuthorId());
         if (author.isPresent()) {
             Book book = convertToEntity(bookDTO);
             book.setAuthor(author.get());
             Book savedBook = bookRepository.save(book);
+            eventPublisher.publishEvent(new CatalogChangedEvent(CatalogChangedEvent.Type.BOOK_SAVED, savedBook.getId()));
             return convertToDTO(savedBook);
         }
         throw new RuntimeException("Author not found with ID: " + bookDTO.getAuthorId());
     }
 
     // Get book by ID
+    @Cacheable(value = CacheConfig.BOOKS_CACHE, key = "#id", unless = "#result == null")
     @Transactional(readOnly = true)
     public Optional<BookDTO> getBookById(Long id) {
         return bookRepository.findByIdWithAuthor(id)
@@ -52,11 +86,20 @@ public class BookService {
     }
 
     // Update book
+    @Caching(evict = {
+            @CacheEvict(value = CacheConfig.BOOKS_CACHE, key = "#id"),
+            @CacheEvict(value = CacheConfig.CATEGORIES_CACHE, allEntries = true)
+    })
     public BookDTO updateBook(Long id, BookDTO bookDTO) {
         Optional<Book> existingBook = bookRepository.findById(id);
         if (existingBook.isPresent()) {
             Book book = existingBook.get();
 
+            // Reject edits made from an older read (borrows and returns move the version too)
+            if (bookDTO.getVersion() != null && !bookDTO.getVersion().equals(book.getVersion())) {
+                throw new ObjectOptimisticLockingFailureException(Book.class, id);
+            }
+
             // Update author if changed
             if (!book.getAuthor().getId().equals(bookDTO.getAuthorId())) {
                 Optional<Author> newAuthor = authorRepository.findById(bookDTO.getAuthorId());
@@ -72,27 +115,57 @@ public class BookService {
             book.setPublishingYear(bookDTO.getPublishingYear());
             book.setIsbn(bookDTO.getIsbn());
             book.setDescription(bookDTO.getDescription());
-            book.setTotalCopies(bookDTO.getTotalCopies());
-            book.setAvailableCopies(bookDTO.getAvailableCopies());
 
-            Book updatedBook = bookRepository.save(book);
+            Book updatedBook = bookRepository.saveAndFlush(book);
+
+            // Copy counts are never taken from the client: a new total moves the shelf count by the same
+            // amount in one conditional update, so borrows since the client's read are kept
+            int addedCopies = bookDTO.getTotalCopies() != null ? bookDTO.getTotalCopies() - book.getTotalCopies() : 0;
+            if (addedCopies != 0) {
+                if (book.getTotalCopies() + addedCopies < 0 || bookRepository.adjustTotalCopies(id, addedCopies) == 0) {
+                    throw new RuntimeException("Cannot remove " + -addedCopies + " copies of '" + book.getTitle() +
+                            "': only copies on the shelf can be removed");
+                }
+                updatedBook = bookRepository.findByIdWithAuthor(id).orElseThrow();
+            }
+
+            eventPublisher.publishEvent(new CatalogChangedEvent(CatalogChangedEvent.Type.BOOK_SAVED, id));
             return convertToDTO(updatedBook);
         }
         return null;
     }
 
     // Delete book
+    @Caching(evict = {
+            @CacheEvict(value = CacheConfig.BOOKS_CACHE, key = "#id"),
+            @CacheEvict(value = CacheConfig.CATEGORIES_CACHE, allEntries = true)
+    })
     public boolean deleteBook(Long id) {
         if (bookRepository.existsById(id)) {
+            // Holds reference the book; copies set aside for them go with it
+            holdRepository.deleteByBookId(id);
+            // The loans go with the book (cascade); loan statistics and member accounts follow the events
+            borrowedBookRepository.findLoanRemovalsByBookId(id).forEach(eventPublisher::publishEvent);
             bookRepository.deleteById(id);
+            eventPublisher.publishEvent(new CatalogChangedEvent(CatalogChangedEvent.Type.BOOK_DELETED, id));
             return true;
         }
         return false;
     }
 
-    // Search books
+    // Search books (served from the search index; SQL LIKE scan only until the index is built)
     @Transactional(readOnly = true)
     public List<BookDTO> searchBooks(SearchRequestDTO searchRequest) {
+        BookSearchIndex.SearchResult result = bookSearchService.search(new SearchQuery(null,
+                        searchRequest.getBookTitle(),
+                        searchRequest.getAuthorName(),
+                        searchRequest.getCategory(),
+                        searchRequest.getPublishingYear()),
+                0, Integer.MAX_VALUE);
+        if (result != null) {
+            return loadInRankOrder(result.getHits());
+        }
+
         return bookRepository.searchBooks(
                         searchRequest.getBookTitle(),
                         searchRequest.getCategory(),
@@ -103,6 +176,35 @@ public class BookService {
                 .collect(Collectors.toList());
     }
 
+    // Ranked free-text search over title, author, category and description, one page at a time
+    @Transactional(readOnly = true)
+    public PageResponseDTO<BookDTO> searchBooks(String query, String category, Integer year, int page, int size) {
+        int pageSize = Math.min(Math.max(size, 1), MAX_SEARCH_PAGE_SIZE);
+        int pageNumber = Math.max(page, 0);
+        int offset = (int) Math.min((long) pageNumber * pageSize, Integer.MAX_VALUE);
+
+        BookSearchIndex.SearchResult result = bookSearchService.search(
+                new SearchQuery(query, null, null, category, year), offset, pageSize);
+        List<BookDTO> content;
+        long total;
+        if (result != null) {
+            content = loadInRankOrder(result.getHits());
+            total = result.getTotalHits();
+        } else {
+            List<Book> books = bookRepository.searchBooks(query, category, null, year);
+            total = books.size();
+            content = books.stream()
+                    .skip(offset)
+                    .limit(pageSize)
+                    .map(this::convertToDTO)
+                    .collect(Collectors.toList());
+        }
+
+        int totalPages = (int) ((total + pageSize - 1) / pageSize);
+        return new PageResponseDTO<>(content, pageNumber, pageSize, total, totalPages,
+                (long) offset + pageSize < total, null);
+    }
+
     // Get available books
     @Transactional(readOnly = true)
     public List<BookDTO> getAvailableBooks() {
@@ -120,28 +222,40 @@ public class BookService {
     }
 
     // Get all categories
+    @Cacheable(value = CacheConfig.CATEGORIES_CACHE, key = "'all'")
     @Transactional(readOnly = true)
     public List<String> getAllCategories() {
         return bookRepository.findAllCategories();
     }
 
     // Update book availability (used when borrowing/returning)
+    // Runs as a single conditional UPDATE so concurrent callers can never push the count out of range
+    @CacheEvict(value = CacheConfig.BOOKS_CACHE, key = "#bookId")
     public boolean updateBookAvailability(Long bookId, int change) {
-        Optional<Book> book = bookRepository.findById(bookId);
-        if (book.isPresent()) {
-            Book b = book.get();
-            int newAvailableCopies = b.getAvailableCopies() + change;
-            if (newAvailableCopies >= 0 && newAvailableCopies <= b.getTotalCopies()) {
-                b.setAvailableCopies(newAvailableCopies);
-                bookRepository.save(b);
-                return true;
+        return bookRepository.adjustAvailableCopies(bookId, change) > 0;
+    }
+
+    // Load search hits from the database, keeping the index's ranking
+    private List<BookDTO> loadInRankOrder(List<BookSearchIndex.Hit> hits) {
+        List<BookDTO> books = new ArrayList<>(hits.size());
+        for (int from = 0; from < hits.size(); from += LOAD_BATCH_SIZE) {
+            List<BookSearchIndex.Hit> batch = hits.subList(from, Math.min(from + LOAD_BATCH_SIZE, hits.size()));
+            Map<Long, Book> byId = new HashMap<>();
+            bookRepository.findAllWithAuthorByIdIn(batch.stream().map(BookSearchIndex.Hit::getBookId).toList())
+                    .forEach(book -> byId.put(book.getId(), book));
+            for (BookSearchIndex.Hit hit : batch) {
+                Book book = byId.get(hit.getBookId());
+                // Skip hits deleted since the index was updated
+                if (book != null) {
+                    books.add(convertToDTO(book));
+                }
             }
         }
-        return false;
+        return books;
     }
 
     // Convert entity to DTO
-    private BookDTO convertToDTO(Book book) {
+    BookDTO convertToDTO(Book book) {
         BookDTO dto = new BookDTO();
         dto.setId(book.getId());
         dto.setTitle(book.getTitle());
@@ -155,6 +269,7 @@ public class BookService {
         dto.setAuthorName(book.getAuthor().getName());
         dto.setCreatedAt(book.getCreatedAt());
         dto.setUpdatedAt(book.getUpdatedAt());
+        dto.setVersion(book.getVersion());
         return dto;
     }
 
@@ -1,7 +1,18 @@
 // BorrowedBookService.java
 package com.samsung.library.service;
 
+import com.samsung.library.config.CacheConfig;
+import com.samsung.library.dto.BatchBorrowRequestDTO;
+import com.samsung.library.dto.BatchItemResultDTO;
+import com.samsung.library.dto.BatchMode;
+import com.samsung.library.dto.BatchResultDTO;
+import com.samsung.library.dto.BatchReturnRequestDTO;
+import com.samsung.library.dto.BorrowEligibilityDTO;
 import com.samsung.library.dto.BorrowedBookDTO;
+import com.samsung.library.dto.MemberAccountDTO;
+import com.samsung.library.dto.OverdueJobStatusDTO;
+import com.samsung.library.dto.PageResponseDTO;
+import com.samsung.library.event.LoanEvent;
 import com.samsung.library.model.Book;
 import com.samsung.library.model.BorrowedBook;
 import com.samsung.library.model.BorrowStatus;
@@ -9,16 +20,47 @@ import com.samsung.library.model.Member;
 import com.samsung.library.model.MembershipStatus;
 import com.samsung.library.repository.BookRepository;
 import com.samsung.library.repository.BorrowedBookRepository;
+import com.samsung.library.repository.IdAllocator;
 import com.samsung.library.repository.MemberRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @Transactional
@@ -33,32 +75,87 @@ public class BorrowedBookService {
     @Autowired
     private MemberRepository memberRepository;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private OverdueBookProcessor overdueBookProcessor;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private IdAllocator idAllocator;
+
+    @Autowired
+    private HoldService holdService;
+
+    @Autowired
+    private MemberAccountService memberAccountService;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${app.borrowing.batch-mode:BEST_EFFORT}")
+    private BatchMode defaultBatchMode;
+
+    @Value("${app.borrowing.max-batch-size:50}")
+    private int maxBatchSize;
+
     // Configuration constants
     private static final int DEFAULT_BORROW_DAYS = 14;
     private static final int MAX_BOOKS_PER_MEMBER = 5;
     private static final double FINE_PER_DAY = 1.0; // $1 per day
     private static final int GRACE_PERIOD_DAYS = 1; // 1 day grace period before fines
+    private static final double MAX_OUTSTANDING_FINES = 50.0; // $50 limit
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final String CURSOR_PREFIX = "bb:";
+    private static final int STREAM_CLEAR_INTERVAL = 500;
+
+    private static final String INSERT_LOAN_SQL =
+            "INSERT INTO borrowed_books (id, book_id, member_id, borrow_date, due_date, status, fine_amount, notes, " +
+            "created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String RETURN_LOAN_SQL =
+            "UPDATE borrowed_books SET return_date = ?, status = 'RETURNED', fine_amount = ?, updated_at = ? " +
+            "WHERE id = ?";
 
     /**
      * Borrow a book - Creates a new borrowing record
      */
     public BorrowedBookDTO borrowBook(BorrowedBookDTO borrowedBookDTO) {
-        // Step 1: Validate and get book
-        Book book = validateAndGetBook(borrowedBookDTO.getBookId());
-
-        // Step 2: Validate and get member
-        Member member = validateAndGetMember(borrowedBookDTO.getMemberId());
-
-        // Step 3: Perform borrowing business rules validation
-        validateBorrowingRules(book, member);
+        // Step 1: Load member, account, duplicate-loan count and ready hold (one keyed query)
+        Optional<BorrowEligibilityDTO> eligibility = borrowedBookRepository.findBorrowEligibility(
+                borrowedBookDTO.getMemberId(), borrowedBookDTO.getBookId(), LocalDateTime.now());
+        Long readyHoldId = eligibility.map(BorrowEligibilityDTO::getReadyHoldId).orElse(null);
+
+        // Step 2: Validate and get book (author fetched in the same query for the response);
+        // a copy set aside for the member's hold is taken instead of one from the shelf
+        Book book = readyHoldId != null
+                ? getBookWithAuthor(borrowedBookDTO.getBookId())
+                : validateAndGetBook(borrowedBookDTO.getBookId());
+
+        // Step 3: Validate member and borrowing rules from the loaded member and account rows
+        Member member = validateEligibleMember(borrowedBookDTO.getMemberId(), eligibility);
+
+        // Step 4: Take a copy of the already-loaded book atomically (fails if a concurrent borrow took the last one)
+        if (readyHoldId != null) {
+            if (!holdService.fulfilHolds(member.getId(), Map.of(book.getId(), readyHoldId))) {
+                throw new RuntimeException("The hold on '" + book.getTitle() + "' is no longer ready for pickup");
+            }
+        } else if (bookRepository.decrementAvailableCopies(book.getId()) == 0) {
+            throw new RuntimeException("Book '" + book.getTitle() + "' is not available for borrowing. No copies available.");
+        }
+        evictCachedBook(book.getId());
 
-        // Step 4: Create and save borrowing record
+        // Step 5: Create and save borrowing record
         BorrowedBook borrowedBook = createBorrowedBookRecord(book, member, borrowedBookDTO);
         BorrowedBook savedBorrowedBook = borrowedBookRepository.save(borrowedBook);
 
-        // Step 5: Update book availability
-        updateBookAvailability(book.getId(), -1);
-
+        publishLoanEvent(LoanEvent.Type.BORROWED, savedBorrowedBook, null, null);
         return convertToDTO(savedBorrowedBook);
     }
 
@@ -73,22 +170,225 @@ public class BorrowedBookService {
         // Validate that book can be returned
         validateBookReturn(borrowedBook);
 
-        // Process return
+        BorrowStatus previousStatus = borrowedBook.getStatus();
+        Double previousFine = borrowedBook.getFineAmount();
+
+        // Close the record only if it is still open, so concurrent returns (single or batch)
+        // release the copy and publish the return exactly once
         LocalDate returnDate = LocalDate.now();
+        Double fine = calculateFine(borrowedBook.getDueDate(), returnDate);
+        if (borrowedBookRepository.closeLoan(borrowedBookId, returnDate, fine) == 0) {
+            throw new RuntimeException("Book has already been returned");
+        }
+        // The row is written; the entity only carries the new values for the response and the event
+        entityManager.detach(borrowedBook);
         borrowedBook.setReturnDate(returnDate);
         borrowedBook.setStatus(BorrowStatus.RETURNED);
-
-        // Calculate and set fine if applicable
-        Double fine = calculateFine(borrowedBook.getDueDate(), returnDate);
         borrowedBook.setFineAmount(fine);
+        borrowedBook.setUpdatedAt(LocalDateTime.now());
+
+        // Update book availability; the copy goes to the first hold in the queue if there is one
+        releaseCopy(borrowedBook.getBook().getId());
+
+        publishLoanEvent(LoanEvent.Type.RETURNED, borrowedBook, previousStatus, previousFine);
+        return convertToDTO(borrowedBook);
+    }
 
-        // Save updated record
-        BorrowedBook updatedBorrowedBook = borrowedBookRepository.save(borrowedBook);
+    /**
+     * Borrow several books for one member in one go (e.g. a stack scanned at the checkout desk)
+     * The member is checked once, the books are locked and decremented together and all loans
+     * are inserted in one JDBC batch. In ALL_OR_NOTHING mode nothing is written if any item fails.
+     */
+    public BatchResultDTO borrowBooks(BatchBorrowRequestDTO request) {
+        BatchMode mode = request.getMode() != null ? request.getMode() : defaultBatchMode;
+        List<Long> bookIds = request.getBookIds();
+        validateBatchSize(bookIds.size());
+
+        // Step 1: Member standing, active loans and fines from the member and their account row
+        BorrowEligibilityDTO eligibility = withAccount(borrowedBookRepository.findMemberEligibility(request.getMemberId())
+                .orElseThrow(() -> new RuntimeException("Member not found with ID: " + request.getMemberId())));
+        Member member = eligibility.getMember();
+        validateMemberStanding(member, eligibility.getOutstandingFines());
+
+        // Step 2: Lock the books so availability cannot change between the checks and the writes
+        Set<Long> distinctIds = new TreeSet<>(bookIds);
+        Map<Long, Book> books = lockBooks(distinctIds);
+        Set<Long> alreadyBorrowed = new HashSet<>(
+                borrowedBookRepository.findBorrowedBookIdsByMember(member.getId(), distinctIds));
+        Map<Long, Long> readyHolds = holdService.findReadyHoldIds(member.getId(), distinctIds);
+        long freeSlots = MAX_BOOKS_PER_MEMBER - eligibility.getActiveLoans();
+
+        // Step 3: Check every item against the locked state
+        List<BatchItemResultDTO> items = new ArrayList<>(bookIds.size());
+        List<Book> toBorrow = new ArrayList<>();
+        Set<Long> seen = new HashSet<>();
+        for (Long bookId : bookIds) {
+            Book book = books.get(bookId);
+            String error = null;
+            if (!seen.add(bookId)) {
+                error = "Book is listed more than once in this batch";
+            } else if (book == null) {
+                error = "Book not found with ID: " + bookId;
+            } else if (alreadyBorrowed.contains(bookId)) {
+                error = "Member '" + member.getName() + "' has already borrowed this book";
+            } else if (book.getAvailableCopies() <= 0 && !readyHolds.containsKey(bookId)) {
+                error = "Book '" + book.getTitle() + "' is not available for borrowing. No copies available.";
+            } else if (toBorrow.size() >= freeSlots) {
+                error = "Member '" + member.getName() + "' has reached the maximum limit of " +
+                        MAX_BOOKS_PER_MEMBER + " borrowed books";
+            } else {
+                toBorrow.add(book);
+            }
+            items.add(new BatchItemResultDTO(bookId, error == null, error != null ? error : "Book borrowed successfully"));
+        }
 
-        // Update book availability
-        updateBookAvailability(borrowedBook.getBook().getId(), 1);
+        if (toBorrow.size() < items.size() && mode == BatchMode.ALL_OR_NOTHING) {
+            return rejectBatch(mode, items);
+        }
+        if (toBorrow.isEmpty()) {
+            return new BatchResultDTO(mode, items, false);
+        }
 
-        return convertToDTO(updatedBorrowedBook);
+        // Step 4: Take the copies set aside for the member's holds, and one shelf copy of every other
+        // book in one statement, then insert all loans in one batch
+        Map<Long, Long> fulfilled = new HashMap<>();
+        List<Long> borrowIds = new ArrayList<>();
+        for (Book book : toBorrow) {
+            if (readyHolds.containsKey(book.getId())) {
+                fulfilled.put(book.getId(), readyHolds.get(book.getId()));
+            } else {
+                borrowIds.add(book.getId());
+            }
+        }
+        if (!holdService.fulfilHolds(member.getId(), fulfilled)
+                || (!borrowIds.isEmpty() && bookRepository.decrementAvailableCopiesByIdIn(borrowIds) != borrowIds.size())) {
+            throw new RuntimeException("Book availability changed during the batch; nothing was borrowed");
+        }
+        BorrowedBookDTO template = new BorrowedBookDTO();
+        template.setBorrowDate(request.getBorrowDate());
+        template.setDueDate(request.getDueDate());
+        template.setNotes(request.getNotes());
+        List<BorrowedBook> loans = new ArrayList<>(toBorrow.size());
+        for (Book book : toBorrow) {
+            loans.add(createBorrowedBookRecord(book, member, template));
+        }
+        insertLoans(loans);
+
+        Map<Long, BorrowedBook> loansByBook = new HashMap<>();
+        for (BorrowedBook loan : loans) {
+            loansByBook.put(loan.getBook().getId(), loan);
+            evictCachedBook(loan.getBook().getId());
+            publishLoanEvent(LoanEvent.Type.BORROWED, loan, null, null);
+        }
+        for (BatchItemResultDTO item : items) {
+            if (item.isSuccess()) {
+                item.setBorrowedBook(convertToDTO(loansByBook.get(item.getId())));
+            }
+        }
+        return new BatchResultDTO(mode, items, false);
+    }
+
+    /**
+     * Return several borrowed books in one go
+     * Records and books are locked up front, fines are computed per record and all records are
+     * updated in one JDBC batch. In ALL_OR_NOTHING mode nothing is written if any item fails.
+     */
+    public BatchResultDTO returnBooks(BatchReturnRequestDTO request) {
+        BatchMode mode = request.getMode() != null ? request.getMode() : defaultBatchMode;
+        List<Long> borrowedBookIds = request.getBorrowedBookIds();
+        validateBatchSize(borrowedBookIds.size());
+
+        // Step 1: Lock the records and their books (books before they are loaded, so they are read fresh),
+        // then load the records with book, author and member
+        Set<Long> distinctIds = new TreeSet<>(borrowedBookIds);
+        Map<Long, Book> books = lockBooks(new TreeSet<>(borrowedBookRepository.lockBookIdsByIdIn(distinctIds)));
+        Map<Long, BorrowedBook> loans = new HashMap<>();
+        borrowedBookRepository.findAllWithDetailsByIdIn(distinctIds)
+                .forEach(loan -> loans.put(loan.getId(), loan));
+
+        // Step 2: Check every item; copies going back must still fit on the shelf
+        LocalDate returnDate = LocalDate.now();
+        List<BatchItemResultDTO> items = new ArrayList<>(borrowedBookIds.size());
+        List<BorrowedBook> toReturn = new ArrayList<>();
+        Map<Long, Integer> copiesBack = new TreeMap<>();
+        Set<Long> seen = new HashSet<>();
+        for (Long borrowedBookId : borrowedBookIds) {
+            BorrowedBook loan = loans.get(borrowedBookId);
+            String error = null;
+            if (!seen.add(borrowedBookId)) {
+                error = "Borrowed book record is listed more than once in this batch";
+            } else if (loan == null) {
+                error = "Borrowed book record not found with ID: " + borrowedBookId;
+            } else {
+                try {
+                    validateBookReturn(loan);
+                    Book book = books.get(loan.getBook().getId());
+                    int pending = copiesBack.getOrDefault(book.getId(), 0);
+                    if (book.getAvailableCopies() + pending >= book.getTotalCopies()) {
+                        error = "Available copies cannot exceed total copies";
+                    } else {
+                        copiesBack.put(book.getId(), pending + 1);
+                        toReturn.add(loan);
+                    }
+                } catch (RuntimeException e) {
+                    error = e.getMessage();
+                }
+            }
+            items.add(new BatchItemResultDTO(borrowedBookId, error == null,
+                    error != null ? error : "Book returned successfully"));
+        }
+
+        if (toReturn.size() < items.size() && mode == BatchMode.ALL_OR_NOTHING) {
+            return rejectBatch(mode, items);
+        }
+        if (toReturn.isEmpty()) {
+            return new BatchResultDTO(mode, items, false);
+        }
+
+        // Step 3: Close all records in one batch, then put the copies back
+        List<Double> fines = new ArrayList<>(toReturn.size());
+        for (BorrowedBook loan : toReturn) {
+            fines.add(calculateFine(loan.getDueDate(), returnDate));
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(RETURN_LOAN_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                ps.setDate(1, java.sql.Date.valueOf(returnDate));
+                ps.setDouble(2, fines.get(i));
+                ps.setTimestamp(3, now);
+                ps.setLong(4, toReturn.get(i).getId());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return toReturn.size();
+            }
+        });
+        // Copies go to the first holds in each book's queue, the rest back on the shelf
+        copiesBack.replaceAll((bookId, copies) -> copies - holdService.allocateReturnedCopies(bookId, copies));
+        copiesBack.values().removeIf(copies -> copies == 0);
+        restockBooks(copiesBack);
+
+        Map<Long, BorrowedBookDTO> returned = new HashMap<>();
+        for (int i = 0; i < toReturn.size(); i++) {
+            BorrowedBook loan = toReturn.get(i);
+            BorrowedBookDTO dto = convertToDTO(loan);
+            dto.setReturnDate(returnDate);
+            dto.setStatus(BorrowStatus.RETURNED);
+            dto.setFineAmount(fines.get(i));
+            dto.setUpdatedAt(now.toLocalDateTime());
+            returned.put(loan.getId(), dto);
+            eventPublisher.publishEvent(new LoanEvent(LoanEvent.Type.RETURNED, loan.getId(),
+                    loan.getBook().getId(), loan.getMember().getId(),
+                    loan.getStatus(), loan.getFineAmount(), BorrowStatus.RETURNED, fines.get(i)));
+        }
+        for (BatchItemResultDTO item : items) {
+            if (item.isSuccess()) {
+                item.setBorrowedBook(returned.get(item.getId()));
+            }
+        }
+        return new BatchResultDTO(mode, items, false);
     }
 
     /**
@@ -110,6 +410,100 @@ public class BorrowedBookService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Get one page of borrowed books (offset pagination, ordered by ID)
+     * Book, author and member are fetched in the same query to avoid N+1 loads
+     */
+    @Transactional(readOnly = true)
+    public PageResponseDTO<BorrowedBookDTO> getBorrowedBooksPage(int page, int size) {
+        int pageSize = normalizePageSize(size);
+        Page<BorrowedBook> result = borrowedBookRepository.findAllWithDetails(
+                PageRequest.of(Math.max(page, 0), pageSize, Sort.by("id")));
+
+        List<BorrowedBookDTO> content = result.getContent().stream()
+                .map(this::convertToDTO)
+                .collect(Collectors.toList());
+
+        String nextCursor = result.hasNext() ? encodeCursor(content.get(content.size() - 1).getId()) : null;
+        return new PageResponseDTO<>(content, result.getNumber(), pageSize,
+                result.getTotalElements(), result.getTotalPages(), result.hasNext(), nextCursor);
+    }
+
+    /**
+     * Get the page of borrowed books that follows the given ID (keyset pagination)
+     * Cost per page stays constant no matter how deep the client has walked
+     */
+    @Transactional(readOnly = true)
+    public PageResponseDTO<BorrowedBookDTO> getBorrowedBooksAfter(Long afterId, int size) {
+        int pageSize = normalizePageSize(size);
+
+        // Fetch one extra row to find out whether another page exists
+        List<BorrowedBook> rows = borrowedBookRepository.findAllWithDetailsAfterId(
+                afterId != null ? afterId : 0L, Limit.of(pageSize + 1));
+        boolean hasNext = rows.size() > pageSize;
+
+        List<BorrowedBookDTO> content = rows.stream()
+                .limit(pageSize)
+                .map(this::convertToDTO)
+                .collect(Collectors.toList());
+
+        String nextCursor = hasNext ? encodeCursor(content.get(content.size() - 1).getId()) : null;
+        return new PageResponseDTO<>(content, null, pageSize, null, null, hasNext, nextCursor);
+    }
+
+    /**
+     * Get one page of borrowed books whose borrow date is within [start, end]
+     */
+    @Transactional(readOnly = true)
+    public PageResponseDTO<BorrowedBookDTO> getBorrowedBooksByDateRange(LocalDate start, LocalDate end,
+                                                                        int page, int size) {
+        int pageSize = normalizePageSize(size);
+        Page<BorrowedBook> result = borrowedBookRepository.findByBorrowDateBetweenWithDetails(
+                start, end, PageRequest.of(Math.max(page, 0), pageSize, Sort.by("borrowDate", "id")));
+
+        List<BorrowedBookDTO> content = result.getContent().stream()
+                .map(this::convertToDTO)
+                .collect(Collectors.toList());
+
+        return new PageResponseDTO<>(content, result.getNumber(), pageSize,
+                result.getTotalElements(), result.getTotalPages(), result.hasNext(), null);
+    }
+
+    /**
+     * Stream every borrowed book whose borrow date is within [start, end] to the given consumer
+     * Rows are read through a database cursor and the persistence context is cleared as we go,
+     * so memory stays flat regardless of the size of the range
+     */
+    @Transactional(readOnly = true)
+    public long streamBorrowedBooksByDateRange(LocalDate start, LocalDate end, Consumer<BorrowedBookDTO> consumer) {
+        long count = 0;
+        try (Stream<BorrowedBook> rows = borrowedBookRepository.streamByBorrowDateBetweenWithDetails(start, end)) {
+            for (BorrowedBook borrowedBook : (Iterable<BorrowedBook>) rows::iterator) {
+                consumer.accept(convertToDTO(borrowedBook));
+                if (++count % STREAM_CLEAR_INTERVAL == 0) {
+                    entityManager.clear();
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Decode a cursor token returned by a previous page into the last seen ID
+     */
+    public Long decodeCursor(String cursor) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!decoded.startsWith(CURSOR_PREFIX)) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+            return Long.parseLong(decoded.substring(CURSOR_PREFIX.length()));
+        } catch (IllegalArgumentException e) {
+            // NumberFormatException is an IllegalArgumentException as well
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+
     /**
      * Update borrowed book record
      */
@@ -117,6 +511,9 @@ public class BorrowedBookService {
         BorrowedBook existingRecord = borrowedBookRepository.findByIdWithDetails(id)
                 .orElseThrow(() -> new RuntimeException("Borrowed book record not found with ID: " + id));
 
+        BorrowStatus previousStatus = existingRecord.getStatus();
+        Double previousFine = existingRecord.getFineAmount();
+
         // Update fields
         updateBorrowedBookFields(existingRecord, borrowedBookDTO);
 
@@ -127,6 +524,7 @@ public class BorrowedBookService {
         }
 
         BorrowedBook updatedRecord = borrowedBookRepository.save(existingRecord);
+        publishLoanEvent(LoanEvent.Type.UPDATED, updatedRecord, previousStatus, previousFine);
         return convertToDTO(updatedRecord);
     }
 
@@ -143,39 +541,41 @@ public class BorrowedBookService {
 
         // If book is still borrowed, return it automatically
         if (borrowedBook.getStatus() == BorrowStatus.BORROWED) {
-            updateBookAvailability(borrowedBook.getBook().getId(), 1);
+            releaseCopy(borrowedBook.getBook().getId());
         }
 
         borrowedBookRepository.deleteById(id);
+        eventPublisher.publishEvent(new LoanEvent(LoanEvent.Type.DELETED, id,
+                borrowedBook.getBook().getId(), borrowedBook.getMember().getId(),
+                borrowedBook.getStatus(), borrowedBook.getFineAmount(), null, null));
         return true;
     }
 
     /**
      * Update overdue books status and calculate fines (scheduled task)
+     * Delegates to the chunked processor, which manages its own per-chunk transactions
      */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public void updateOverdueBooks() {
-        List<BorrowedBook> overdueBooks = borrowedBookRepository.findOverdueBooks(LocalDate.now());
-
-        for (BorrowedBook borrowedBook : overdueBooks) {
-            borrowedBook.setStatus(BorrowStatus.OVERDUE);
-
-            // Calculate current fine
-            Double currentFine = calculateFine(borrowedBook.getDueDate(), LocalDate.now());
-            borrowedBook.setFineAmount(currentFine);
-        }
+        overdueBookProcessor.run();
+    }
 
-        if (!overdueBooks.isEmpty()) {
-            borrowedBookRepository.saveAll(overdueBooks);
-            System.out.println("Updated " + overdueBooks.size() + " overdue books");
-        }
+    /**
+     * Progress of the current or last overdue processing run
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public OverdueJobStatusDTO getOverdueJobStatus() {
+        return overdueBookProcessor.getStatus();
     }
 
     /**
-     * Calculate total outstanding fines for a member
+     * Calculate total outstanding fines for a member (from the cached member account)
      */
     @Transactional(readOnly = true)
     public Double calculateMemberOutstandingFines(Long memberId) {
-        return borrowedBookRepository.calculateTotalFinesByMember(memberId);
+        return memberAccountService.getAccount(memberId)
+                .map(MemberAccountDTO::getOutstandingFines)
+                .orElse(0.0);
     }
 
     // =============== PRIVATE HELPER METHODS ===============
@@ -184,8 +584,7 @@ public class BorrowedBookService {
      * Validate and retrieve book for borrowing
      */
     private Book validateAndGetBook(Long bookId) {
-        Book book = bookRepository.findById(bookId)
-                .orElseThrow(() -> new RuntimeException("Book not found with ID: " + bookId));
+        Book book = getBookWithAuthor(bookId);
 
         if (book.getAvailableCopies() <= 0) {
             throw new RuntimeException("Book '" + book.getTitle() + "' is not available for borrowing. No copies available.");
@@ -194,46 +593,149 @@ public class BorrowedBookService {
         return book;
     }
 
+    private Book getBookWithAuthor(Long bookId) {
+        return bookRepository.findByIdWithAuthor(bookId)
+                .orElseThrow(() -> new RuntimeException("Book not found with ID: " + bookId));
+    }
+
     /**
-     * Validate and retrieve member for borrowing
+     * Validate member and borrowing business rules
+     * Membership status, active loan count, outstanding fines and the duplicate-loan check
+     * all come from one query (member and account by key) instead of a round-trip each
      */
-    private Member validateAndGetMember(Long memberId) {
-        Member member = memberRepository.findById(memberId)
-                .orElseThrow(() -> new RuntimeException("Member not found with ID: " + memberId));
+    private Member validateEligibleMember(Long memberId, Optional<BorrowEligibilityDTO> found) {
+        BorrowEligibilityDTO eligibility = withAccount(found
+                .orElseThrow(() -> new RuntimeException("Member not found with ID: " + memberId)));
+        Member member = eligibility.getMember();
+        validateMemberStanding(member, eligibility.getOutstandingFines());
 
-        if (member.getMembershipStatus() != MembershipStatus.ACTIVE) {
-            throw new RuntimeException("Member '" + member.getName() + "' does not have an active membership");
+        // Check if member already has this book borrowed
+        if (eligibility.isAlreadyBorrowed()) {
+            throw new RuntimeException("Member '" + member.getName() + "' has already borrowed this book");
+        }
+
+        // Check maximum books limit
+        if (eligibility.getActiveLoans() >= MAX_BOOKS_PER_MEMBER) {
+            throw new RuntimeException("Member '" + member.getName() + "' has reached the maximum limit of " +
+                    MAX_BOOKS_PER_MEMBER + " borrowed books");
         }
 
         return member;
     }
 
     /**
-     * Validate borrowing business rules
+     * Members without an account row yet get one built from their loans
      */
-    private void validateBorrowingRules(Book book, Member member) {
-        // Check if member already has this book borrowed
-        boolean alreadyBorrowed = borrowedBookRepository.isBookCurrentlyBorrowedByMember(
-                book.getId(), member.getId());
-        if (alreadyBorrowed) {
-            throw new RuntimeException("Member '" + member.getName() + "' has already borrowed this book");
+    private BorrowEligibilityDTO withAccount(BorrowEligibilityDTO eligibility) {
+        if (eligibility.getAccount() == null) {
+            eligibility.setAccount(memberAccountService.openAccount(eligibility.getMember().getId()));
         }
+        return eligibility;
+    }
 
-        // Check maximum books limit
-        Long currentBorrowings = borrowedBookRepository.countCurrentBorrowingsByMember(member.getId());
-        if (currentBorrowings >= MAX_BOOKS_PER_MEMBER) {
-            throw new RuntimeException("Member '" + member.getName() + "' has reached the maximum limit of " +
-                    MAX_BOOKS_PER_MEMBER + " borrowed books");
+    /**
+     * Membership must be active and outstanding fines under the limit
+     */
+    private void validateMemberStanding(Member member, double outstandingFines) {
+        if (member.getMembershipStatus() != MembershipStatus.ACTIVE) {
+            throw new RuntimeException("Member '" + member.getName() + "' does not have an active membership");
         }
 
         // Check if member has outstanding fines (optional business rule)
-        Double outstandingFines = calculateMemberOutstandingFines(member.getId());
-        if (outstandingFines > 50.0) { // $50 limit
+        if (outstandingFines > MAX_OUTSTANDING_FINES) {
             throw new RuntimeException("Member '" + member.getName() + "' has outstanding fines of $" +
                     String.format("%.2f", outstandingFines) + ". Please clear fines before borrowing more books.");
         }
     }
 
+    private void validateBatchSize(int size) {
+        if (size > maxBatchSize) {
+            throw new IllegalArgumentException("A batch may contain at most " + maxBatchSize + " items");
+        }
+    }
+
+    /**
+     * Lock the books (ID order) and load them with their authors
+     */
+    private Map<Long, Book> lockBooks(Collection<Long> bookIds) {
+        Map<Long, Book> books = new HashMap<>();
+        if (bookIds.isEmpty()) {
+            return books;
+        }
+        bookRepository.findAllByIdInForUpdate(bookIds);
+        // Same persistence context: this only initializes the authors of the locked books
+        bookRepository.findAllWithAuthorByIdIn(bookIds).forEach(book -> books.put(book.getId(), book));
+        return books;
+    }
+
+    /**
+     * Every item is reported as failed; the ones that passed their checks were not applied either
+     */
+    private BatchResultDTO rejectBatch(BatchMode mode, List<BatchItemResultDTO> items) {
+        for (BatchItemResultDTO item : items) {
+            if (item.isSuccess()) {
+                item.setSuccess(false);
+                item.setMessage("Not applied: other items in this all-or-nothing batch failed");
+            }
+        }
+        return new BatchResultDTO(mode, items, true);
+    }
+
+    /**
+     * Insert new loans with one JDBC batch, using IDs reserved from the entities' id generator
+     */
+    private void insertLoans(List<BorrowedBook> loans) {
+        LocalDateTime now = LocalDateTime.now();
+        Timestamp timestamp = Timestamp.valueOf(now);
+        long firstId = idAllocator.allocate(IdAllocator.BORROWED_BOOKS, loans.size());
+        for (int i = 0; i < loans.size(); i++) {
+            BorrowedBook loan = loans.get(i);
+            loan.setId(firstId + i);
+            loan.setCreatedAt(now);
+            loan.setUpdatedAt(now);
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_LOAN_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                BorrowedBook loan = loans.get(i);
+                ps.setLong(1, loan.getId());
+                ps.setLong(2, loan.getBook().getId());
+                ps.setLong(3, loan.getMember().getId());
+                ps.setDate(4, java.sql.Date.valueOf(loan.getBorrowDate()));
+                ps.setDate(5, java.sql.Date.valueOf(loan.getDueDate()));
+                ps.setString(6, loan.getStatus().name());
+                ps.setDouble(7, loan.getFineAmount());
+                ps.setString(8, loan.getNotes());
+                ps.setTimestamp(9, timestamp);
+                ps.setTimestamp(10, timestamp);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return loans.size();
+            }
+        });
+    }
+
+    /**
+     * Put returned copies back: one statement for all books getting a single copy, one per book otherwise
+     */
+    private void restockBooks(Map<Long, Integer> copiesBack) {
+        List<Long> singles = new ArrayList<>();
+        for (Map.Entry<Long, Integer> entry : copiesBack.entrySet()) {
+            if (entry.getValue() == 1) {
+                singles.add(entry.getKey());
+            } else if (bookRepository.adjustAvailableCopies(entry.getKey(), entry.getValue()) == 0) {
+                throw new RuntimeException("Available copies cannot exceed total copies");
+            }
+        }
+        if (!singles.isEmpty() && bookRepository.incrementAvailableCopiesByIdIn(singles) != singles.size()) {
+            throw new RuntimeException("Available copies cannot exceed total copies");
+        }
+        copiesBack.keySet().forEach(this::evictCachedBook);
+    }
+
     /**
      * Create borrowed book record
      */
@@ -267,7 +769,7 @@ public class BorrowedBookService {
     /**
      * Calculate fine amount based on due date and return date
      */
-    private Double calculateFine(LocalDate dueDate, LocalDate returnDate) {
+    static Double calculateFine(LocalDate dueDate, LocalDate returnDate) {
         if (returnDate == null || !returnDate.isAfter(dueDate)) {
             return 0.0;
         }
@@ -284,24 +786,66 @@ public class BorrowedBookService {
     }
 
     /**
-     * Update book availability
+     * Update book availability with a conditional UPDATE (no read-modify-write)
      */
     private void updateBookAvailability(Long bookId, int change) {
-        Book book = bookRepository.findById(bookId)
-                .orElseThrow(() -> new RuntimeException("Book not found with ID: " + bookId));
-
-        int newAvailableCopies = book.getAvailableCopies() + change;
+        int updated = change < 0
+                ? bookRepository.decrementAvailableCopies(bookId)
+                : bookRepository.incrementAvailableCopies(bookId);
+
+        if (updated == 0) {
+            if (!bookRepository.existsById(bookId)) {
+                throw new RuntimeException("Book not found with ID: " + bookId);
+            }
+            throw new RuntimeException(change < 0
+                    ? "Cannot reduce available copies below 0"
+                    : "Available copies cannot exceed total copies");
+        }
+        evictCachedBook(bookId);
+    }
 
-        if (newAvailableCopies < 0) {
-            throw new RuntimeException("Cannot reduce available copies below 0");
+    /**
+     * A lent copy came back: set it aside for the next hold, or put it back on the shelf
+     */
+    private void releaseCopy(Long bookId) {
+        if (holdService.allocateReturnedCopies(bookId, 1) == 0) {
+            updateBookAvailability(bookId, 1);
         }
+    }
 
-        if (newAvailableCopies > book.getTotalCopies()) {
-            throw new RuntimeException("Available copies cannot exceed total copies");
+    /**
+     * Drop the cached book so its available copies are re-read (applied after commit)
+     */
+    private void evictCachedBook(Long bookId) {
+        Cache books = cacheManager.getCache(CacheConfig.BOOKS_CACHE);
+        if (books != null) {
+            books.evict(bookId);
         }
+    }
 
-        book.setAvailableCopies(newAvailableCopies);
-        bookRepository.save(book);
+    /**
+     * Publish a borrowing change; listeners run after the surrounding transaction commits
+     */
+    private void publishLoanEvent(LoanEvent.Type type, BorrowedBook borrowedBook,
+                                  BorrowStatus previousStatus, Double previousFine) {
+        eventPublisher.publishEvent(new LoanEvent(type, borrowedBook.getId(),
+                borrowedBook.getBook().getId(), borrowedBook.getMember().getId(),
+                previousStatus, previousFine, borrowedBook.getStatus(), borrowedBook.getFineAmount()));
+    }
+
+    /**
+     * Encode the last ID of a page as an opaque cursor token
+     */
+    private String encodeCursor(Long lastId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((CURSOR_PREFIX + lastId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Clamp requested page size to a sane range
+     */
+    private int normalizePageSize(int size) {
+        return Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
     }
 
     /**
@@ -331,7 +875,7 @@ public class BorrowedBookService {
     /**
      * Convert entity to DTO with all related information
      */
-    private BorrowedBookDTO convertToDTO(BorrowedBook borrowedBook) {
+    BorrowedBookDTO convertToDTO(BorrowedBook borrowedBook) {
         BorrowedBookDTO dto = new BorrowedBookDTO();
         dto.setId(borrowedBook.getId());
         dto.setBookId(borrowedBook.getBook().getId());
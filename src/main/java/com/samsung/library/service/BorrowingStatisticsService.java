@@ -0,0 +1,181 @@
+package com.samsung.library.service;
+
+import com.samsung.library.dto.BorrowingStatsDTO;
+import com.samsung.library.event.LoanEvent;
+import com.samsung.library.model.BorrowStatus;
+import com.samsung.library.repository.BorrowedBookRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Keeps borrowing statistics in memory so GET /api/borrowed-books/stats is O(1).
+ *
+ * Counters are adjusted from LoanEvents once the originating transaction commits,
+ * and periodically reconciled against a GROUP BY aggregate to correct any drift
+ * (e.g. rows changed directly in the database). Events arriving while the aggregate
+ * query runs are added on top of its result, so a reconcile does not lose them.
+ */
+@Service
+public class BorrowingStatisticsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BorrowingStatisticsService.class);
+
+    @Autowired
+    private BorrowedBookRepository borrowedBookRepository;
+
+    // Guarded by "this"
+    private Counters counters = new Counters();
+    // Events applied since the running reconcile started its query; null when none runs (guarded by "this")
+    private Counters sinceSnapshot;
+    private volatile boolean initialized;
+
+    // One reconcile at a time (a lock rather than synchronized: it is held across a query)
+    private final ReentrantLock reconcileLock = new ReentrantLock();
+
+    /**
+     * Load the initial counters once the application is up
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        try {
+            reconcile();
+        } catch (Exception e) {
+            // Counters will be loaded lazily on first read instead
+            logger.warn("Could not load borrowing statistics at startup: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Apply a committed borrowing change to the counters
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLoanEvent(LoanEvent event) {
+        synchronized (this) {
+            if (sinceSnapshot != null) {
+                sinceSnapshot.apply(event);
+            }
+            // Before the first load the reconcile reads everything from the database
+            if (initialized) {
+                counters.apply(event);
+            }
+        }
+    }
+
+    /**
+     * Current statistics snapshot
+     */
+    public BorrowingStatsDTO getStatistics() {
+        // Load outside the lock: a query inside synchronized pins a virtual thread to its carrier
+        if (!initialized) {
+            reconcile();
+        }
+        synchronized (this) {
+            BorrowingStatsDTO stats = new BorrowingStatsDTO();
+            stats.setTotalBorrowings((int) counters.total);
+            stats.setCurrentlyBorrowed((int) counters.count(BorrowStatus.BORROWED));
+            stats.setOverdueBooks((int) counters.count(BorrowStatus.OVERDUE));
+            stats.setReturnedBooks((int) counters.count(BorrowStatus.RETURNED));
+            stats.setTotalFinesCollected(counters.fines);
+            return stats;
+        }
+    }
+
+    /**
+     * Recompute all counters from the database and replace the in-memory values
+     */
+    @Transactional(readOnly = true)
+    public void reconcile() {
+        reconcileLock.lock();
+        try {
+            synchronized (this) {
+                sinceSnapshot = new Counters();
+            }
+            Counters loaded = new Counters();
+            try {
+                for (Object[] row : borrowedBookRepository.aggregateByStatus()) {
+                    BorrowStatus status = (BorrowStatus) row[0];
+                    long count = ((Number) row[1]).longValue();
+                    if (status != null) {
+                        loaded.statusCounts.put(status, count);
+                    }
+                    loaded.total += count;
+                    loaded.fines += ((Number) row[2]).doubleValue();
+                }
+            } catch (RuntimeException e) {
+                synchronized (this) {
+                    sinceSnapshot = null;
+                }
+                throw e;
+            }
+
+            synchronized (this) {
+                loaded.add(sinceSnapshot);
+                sinceSnapshot = null;
+                if (initialized && !loaded.sameCounts(counters)) {
+                    logger.warn("Borrowing statistics drifted (total {} -> {}), counters reset from database",
+                            counters.total, loaded.total);
+                }
+                counters = loaded;
+                initialized = true;
+            }
+        } finally {
+            reconcileLock.unlock();
+        }
+    }
+
+    /**
+     * Loan count and fine total per status (not thread-safe; used under the service lock)
+     */
+    private static final class Counters {
+        private final Map<BorrowStatus, Long> statusCounts = new EnumMap<>(BorrowStatus.class);
+        private long total;
+        private double fines;
+
+        void apply(LoanEvent event) {
+            if (event.getType() == LoanEvent.Type.BORROWED) {
+                total++;
+            } else if (event.getType() == LoanEvent.Type.DELETED) {
+                total--;
+            }
+            if (event.getPreviousStatus() != null) {
+                statusCounts.merge(event.getPreviousStatus(), -1L, Long::sum);
+            }
+            if (event.getNewStatus() != null) {
+                statusCounts.merge(event.getNewStatus(), 1L, Long::sum);
+            }
+            fines += event.getNewFine() - event.getPreviousFine();
+        }
+
+        void add(Counters other) {
+            other.statusCounts.forEach((status, count) -> statusCounts.merge(status, count, Long::sum));
+            total += other.total;
+            fines += other.fines;
+        }
+
+        long count(BorrowStatus status) {
+            return statusCounts.getOrDefault(status, 0L);
+        }
+
+        boolean sameCounts(Counters other) {
+            if (total != other.total) {
+                return false;
+            }
+            for (BorrowStatus status : BorrowStatus.values()) {
+                if (count(status) != other.count(status)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.samsung.library.service;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.samsung.library.dto.CacheStatsDTO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+public class CacheService {
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    // Hit/miss/eviction statistics for every cache
+    public List<CacheStatsDTO> getCacheStatistics() {
+        List<CacheStatsDTO> statistics = new ArrayList<>();
+        for (String name : cacheManager.getCacheNames()) {
+            Cache cache = cacheManager.getCache(name);
+            if (cache != null && cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> nativeCache) {
+                CacheStats stats = nativeCache.stats();
+                statistics.add(new CacheStatsDTO(name, nativeCache.estimatedSize(), stats.hitCount(),
+                        stats.missCount(), stats.hitRate(), stats.evictionCount()));
+            }
+        }
+        return statistics;
+    }
+
+    // Clear every cache (admin function)
+    public void clearAll() {
+        for (String name : cacheManager.getCacheNames()) {
+            Cache cache = cacheManager.getCache(name);
+            if (cache != null) {
+                cache.clear();
+            }
+        }
+    }
+}
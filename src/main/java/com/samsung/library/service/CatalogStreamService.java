@@ -0,0 +1,148 @@
+package com.samsung.library.service;
+
+import com.samsung.library.model.Book;
+import com.samsung.library.repository.AuthorRepository;
+import com.samsung.library.repository.BookRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Iterator;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Streams catalog reads (books, available books, books of a category, authors) element by element.
+ *
+ * Each stream runs on a bounded pool of its own, so the request thread is released as soon as the
+ * stream is accepted. At most max-concurrency streams hold a database cursor at a time, up to
+ * queue-capacity more wait for a slot, and anything beyond that is rejected straight away.
+ */
+@Service
+public class CatalogStreamService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CatalogStreamService.class);
+    private static final int STREAM_CLEAR_INTERVAL = 500;
+
+    public enum BookFilter { ALL, AVAILABLE, CATEGORY }
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private AuthorRepository authorRepository;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${app.catalog-stream.max-concurrency:8}")
+    private int maxConcurrency;
+
+    @Value("${app.catalog-stream.queue-capacity:32}")
+    private int queueCapacity;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    private ExecutorService executor;
+
+    @PostConstruct
+    public void init() {
+        ThreadFactory threadFactory = virtualThreads
+                ? Thread.ofVirtual().name("catalog-stream-", 1).factory()
+                : new CustomizableThreadFactory("catalog-stream-");
+        BlockingQueue<Runnable> queue = queueCapacity > 0
+                ? new ArrayBlockingQueue<>(queueCapacity)
+                : new SynchronousQueue<>();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(maxConcurrency, maxConcurrency,
+                60, TimeUnit.SECONDS, queue, threadFactory);
+        pool.allowCoreThreadTimeOut(true);
+        executor = ExecutorServiceMetrics.monitor(meterRegistry, pool, "catalogStream");
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Stream books with their authors in ID order to the consumer, on the stream pool.
+     * The future completes with the number of books once the last one has been handed over.
+     * Throws RejectedExecutionException when the pool and its queue are full.
+     */
+    public CompletableFuture<Long> streamBooks(BookFilter filter, String category, Consumer<Object> consumer) {
+        if (filter == BookFilter.CATEGORY && (category == null || category.isBlank())) {
+            throw new IllegalArgumentException("Category is required");
+        }
+        return submit(() -> switch (filter) {
+            case ALL -> bookRepository.streamAllWithAuthor();
+            case AVAILABLE -> bookRepository.streamAvailableWithAuthor();
+            case CATEGORY -> bookRepository.streamByCategoryWithAuthor(category.trim());
+        }, consumer);
+    }
+
+    /**
+     * Stream every author with their book count in ID order (the fields of GET /api/authors)
+     */
+    public CompletableFuture<Long> streamAuthors(Consumer<Object> consumer) {
+        return submit(authorRepository::streamAuthorSummaries, consumer);
+    }
+
+    private CompletableFuture<Long> submit(Supplier<Stream<?>> query, Consumer<Object> consumer) {
+        try {
+            return CompletableFuture.supplyAsync(() -> readAll(query, consumer), executor);
+        } catch (RejectedExecutionException e) {
+            logger.warn("Catalog stream rejected: {} running, queue full", maxConcurrency);
+            throw e;
+        }
+    }
+
+    private long readAll(Supplier<Stream<?>> query, Consumer<Object> consumer) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+        return template.execute(status -> {
+            long count = 0;
+            try (Stream<?> rows = query.get()) {
+                Iterator<?> iterator = rows.iterator();
+                while (iterator.hasNext()) {
+                    Object row = iterator.next();
+                    consumer.accept(row instanceof Book book ? bookService.convertToDTO(book) : row);
+                    if (++count % STREAM_CLEAR_INTERVAL == 0) {
+                        entityManager.clear();
+                    }
+                }
+            }
+            return count;
+        });
+    }
+}
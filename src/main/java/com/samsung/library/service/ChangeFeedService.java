@@ -0,0 +1,373 @@
+package com.samsung.library.service;
+
+import com.samsung.library.dto.ChangeEventDTO;
+import com.samsung.library.event.CatalogChangedEvent;
+import com.samsung.library.event.HoldEvent;
+import com.samsung.library.event.LoanEvent;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Server-Sent Events feed of availability and loan changes, so dashboards and kiosks can
+ * subscribe once instead of polling the book endpoints.
+ *
+ * Committed LoanEvents (borrow, return, overdue...), hold and catalog changes are queued and
+ * drained by a single feed thread. It reads the new copy counts of all touched books with one
+ * query per drain (so a busy checkout desk does not cost a query per loan), numbers the events,
+ * keeps the last buffer-size of them in a ring buffer and sends them to the subscribers.
+ * A client reconnecting with Last-Event-ID gets what it missed from the ring buffer, or a
+ * "reset" event when that is no longer possible (restart, or too far behind) so it re-reads.
+ *
+ * The feed thread never writes to a connection: every subscriber has a bounded outbound queue
+ * that a virtual thread of its own drains, so a client that stops reading only blocks itself.
+ * A subscriber whose queue overflows is sent a "reset" and disconnected.
+ *
+ * The ring buffer and the subscriber list are only touched on the feed thread.
+ */
+@Service
+public class ChangeFeedService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChangeFeedService.class);
+
+    public static final String RESET = "reset";
+    private static final int AVAILABILITY_QUERY_CHUNK = 500;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.change-feed.buffer-size:10000}")
+    private int bufferSize;
+
+    @Value("${app.change-feed.max-subscribers:1000}")
+    private int maxSubscribers;
+
+    @Value("${app.change-feed.timeout-minutes:30}")
+    private long timeoutMinutes;
+
+    @Value("${app.change-feed.heartbeat-seconds:15}")
+    private long heartbeatSeconds;
+
+    @Value("${app.change-feed.subscriber-queue-size:1000}")
+    private int subscriberQueueSize;
+
+    // Event IDs are "<boot>-<sequence>"; the boot part tells IDs of an earlier run apart
+    private final String boot = Long.toString(System.currentTimeMillis(), 36);
+
+    private final Queue<ChangeEventDTO> pendingLoans = new ConcurrentLinkedQueue<>();
+    private final Queue<Long> pendingBooks = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+
+    private ScheduledExecutorService feedThread;
+    private ExecutorService senders;
+    private ChangeEventDTO[] ring;
+    private long nextSequence = 1;
+    private final List<Subscriber> subscribers = new ArrayList<>();
+
+    @PostConstruct
+    public void init() {
+        ring = new ChangeEventDTO[Math.max(bufferSize, 1)];
+        feedThread = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("change-feed-"));
+        feedThread.scheduleWithFixedDelay(this::heartbeat, heartbeatSeconds, heartbeatSeconds, TimeUnit.SECONDS);
+        senders = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("change-feed-send-", 0).factory());
+        Gauge.builder("library.changes.subscribers", subscriberCount, AtomicInteger::get)
+                .description("Open change feed connections")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        feedThread.shutdownNow();
+        senders.shutdownNow();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLoanEvent(LoanEvent event) {
+        pendingLoans.add(ChangeEventDTO.loan(event.getBorrowedBookId(), event.getBookId(), event.getMemberId(),
+                event.getType().name(), event.getNewStatus()));
+        // Overdue and edited records keep their copy; everything else may move one
+        if (event.getType() != LoanEvent.Type.OVERDUE && event.getType() != LoanEvent.Type.UPDATED) {
+            pendingBooks.add(event.getBookId());
+        }
+        scheduleFlush();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onHoldEvent(HoldEvent event) {
+        // A released hold copy can go back on the shelf (fulfilment is covered by the loan event)
+        if (event.getType() == HoldEvent.Type.EXPIRED || event.getType() == HoldEvent.Type.CANCELLED) {
+            pendingBooks.add(event.getBookId());
+            scheduleFlush();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        if (event.getType() == CatalogChangedEvent.Type.BOOK_SAVED && event.getId() != null) {
+            pendingBooks.add(event.getId());
+            scheduleFlush();
+        }
+    }
+
+    /**
+     * Open a feed. bookIds and types (availability, loan) narrow it down; empty means everything.
+     * Events after lastEventId are replayed first when it is given.
+     * Throws RejectedExecutionException when max-subscribers feeds are already open.
+     */
+    public SseEmitter subscribe(String lastEventId, Collection<Long> bookIds, Collection<String> types) {
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            throw new RejectedExecutionException("Too many change feed subscribers");
+        }
+        SseEmitter emitter = new SseEmitter(TimeUnit.MINUTES.toMillis(timeoutMinutes));
+        Subscriber subscriber = new Subscriber(emitter,
+                bookIds != null ? Set.copyOf(bookIds) : Set.of(),
+                types != null ? Set.copyOf(types) : Set.of(),
+                Math.max(subscriberQueueSize, 2));
+        emitter.onCompletion(() -> feedThread.execute(() -> close(subscriber)));
+        emitter.onError(error -> feedThread.execute(() -> close(subscriber)));
+
+        feedThread.execute(() -> {
+            if (enqueue(subscriber, SseEmitter.event().reconnectTime(3000).comment("connected"))
+                    && replay(subscriber, lastEventId)) {
+                subscribers.add(subscriber);
+            }
+        });
+        return emitter;
+    }
+
+    public int getSubscriberCount() {
+        return subscriberCount.get();
+    }
+
+    // =============== FEED THREAD ===============
+
+    private void scheduleFlush() {
+        if (flushScheduled.compareAndSet(false, true)) {
+            try {
+                feedThread.execute(this::flush);
+            } catch (RejectedExecutionException e) {
+                // Shutting down
+            }
+        }
+    }
+
+    private void flush() {
+        flushScheduled.set(false);
+        List<ChangeEventDTO> batch = new ArrayList<>();
+        for (ChangeEventDTO loan; (loan = pendingLoans.poll()) != null; ) {
+            batch.add(loan);
+        }
+        Set<Long> bookIds = new LinkedHashSet<>();
+        for (Long bookId; (bookId = pendingBooks.poll()) != null; ) {
+            bookIds.add(bookId);
+        }
+        try {
+            batch.addAll(readAvailability(bookIds));
+        } catch (Exception e) {
+            logger.warn("Could not read availability of {} book(s) for the change feed: {}", bookIds.size(), e.getMessage());
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        for (ChangeEventDTO event : batch) {
+            long sequence = nextSequence++;
+            event.setId(boot + "-" + sequence);
+            event.setTimestamp(now);
+            ring[(int) (sequence % ring.length)] = event;
+        }
+        for (Subscriber subscriber : new ArrayList<>(subscribers)) {
+            for (ChangeEventDTO event : batch) {
+                if (!send(subscriber, event)) {
+                    break;
+                }
+            }
+        }
+    }
+
+    private List<ChangeEventDTO> readAvailability(Set<Long> bookIds) {
+        List<ChangeEventDTO> events = new ArrayList<>(bookIds.size());
+        List<Long> ids = new ArrayList<>(bookIds);
+        for (int from = 0; from < ids.size(); from += AVAILABILITY_QUERY_CHUNK) {
+            List<Long> chunk = ids.subList(from, Math.min(from + AVAILABILITY_QUERY_CHUNK, ids.size()));
+            String placeholders = String.join(",", Collections.nCopies(chunk.size(), "?"));
+            jdbcTemplate.query("SELECT id, available_copies, total_copies FROM books WHERE id IN (" + placeholders + ")",
+                    rs -> {
+                        events.add(ChangeEventDTO.availability(rs.getLong(1), rs.getInt(2), rs.getInt(3)));
+                    }, chunk.toArray());
+        }
+        return events;
+    }
+
+    // Queue the events after lastEventId, or a reset; false if the subscriber was dropped
+    private boolean replay(Subscriber subscriber, String lastEventId) {
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return true;
+        }
+        long oldest = Math.max(1, nextSequence - ring.length);
+        long last = parseSequence(lastEventId);
+        if (last < 0 || last + 1 < oldest || last >= nextSequence
+                || nextSequence - last > subscriber.outbound.remainingCapacity()) {
+            return enqueue(subscriber, resetEvent("Cannot resume from " + lastEventId + "; reload the current state"));
+        }
+        for (long sequence = last + 1; sequence < nextSequence; sequence++) {
+            if (!send(subscriber, ring[(int) (sequence % ring.length)])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Sequence of an ID from this run, or -1
+    private long parseSequence(String eventId) {
+        int dash = eventId.lastIndexOf('-');
+        if (dash <= 0 || !eventId.substring(0, dash).equals(boot)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(eventId.substring(dash + 1));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private boolean send(Subscriber subscriber, ChangeEventDTO event) {
+        if (!subscriber.wants(event)) {
+            return !subscriber.closed.get();
+        }
+        return enqueue(subscriber, SseEmitter.event().id(event.getId()).name(event.getType())
+                .data(event, MediaType.APPLICATION_JSON));
+    }
+
+    private void heartbeat() {
+        for (Subscriber subscriber : new ArrayList<>(subscribers)) {
+            enqueue(subscriber, SseEmitter.event().comment("keep-alive"));
+        }
+    }
+
+    /**
+     * Hand an event to the subscriber's sender; a full queue means the client stopped reading
+     * (or reads slower than the feed), so it gets a reset and is disconnected
+     */
+    private boolean enqueue(Subscriber subscriber, SseEmitter.SseEventBuilder event) {
+        if (subscriber.closed.get()) {
+            return false;
+        }
+        if (!subscriber.outbound.offer(event)) {
+            logger.debug("Change feed subscriber fell {} events behind, disconnecting", subscriber.outbound.size());
+            meterRegistry.counter("library.changes.dropped").increment();
+            subscriber.outbound.clear();
+            subscriber.outbound.offer(resetEvent("Fell behind the change feed; reconnect and reload the current state"));
+            subscriber.completeWhenDrained = true;
+            close(subscriber);
+            scheduleDrain(subscriber);
+            return false;
+        }
+        scheduleDrain(subscriber);
+        return true;
+    }
+
+    private void scheduleDrain(Subscriber subscriber) {
+        if (subscriber.draining.compareAndSet(false, true)) {
+            try {
+                senders.execute(() -> drain(subscriber));
+            } catch (RejectedExecutionException e) {
+                // Shutting down
+                subscriber.draining.set(false);
+            }
+        }
+    }
+
+    // On a sender thread: write queued events until the queue is empty (blocks only this subscriber)
+    private void drain(Subscriber subscriber) {
+        try {
+            SseEmitter.SseEventBuilder event;
+            while ((event = subscriber.outbound.poll()) != null) {
+                subscriber.emitter.send(event);
+            }
+            if (subscriber.completeWhenDrained) {
+                subscriber.emitter.complete();
+                return;
+            }
+        } catch (IOException | IllegalStateException e) {
+            // Client went away; the container completes the request
+            subscriber.outbound.clear();
+            feedThread.execute(() -> close(subscriber));
+            return;
+        } finally {
+            subscriber.draining.set(false);
+        }
+        // Events queued after the last poll
+        if (!subscriber.outbound.isEmpty()) {
+            scheduleDrain(subscriber);
+        }
+    }
+
+    private static SseEmitter.SseEventBuilder resetEvent(String reason) {
+        return SseEmitter.event().name(RESET).data(Map.of("reason", reason), MediaType.APPLICATION_JSON);
+    }
+
+    private void close(Subscriber subscriber) {
+        if (subscriber.closed.compareAndSet(false, true)) {
+            subscribers.remove(subscriber);
+            subscriberCount.decrementAndGet();
+        }
+    }
+
+    private static class Subscriber {
+        final SseEmitter emitter;
+        final Set<Long> bookIds;
+        final Set<String> types;
+        final BlockingQueue<SseEmitter.SseEventBuilder> outbound;
+        final AtomicBoolean closed = new AtomicBoolean();
+        final AtomicBoolean draining = new AtomicBoolean();
+        volatile boolean completeWhenDrained;
+
+        Subscriber(SseEmitter emitter, Set<Long> bookIds, Set<String> types, int queueSize) {
+            this.emitter = emitter;
+            this.bookIds = bookIds;
+            this.types = types;
+            this.outbound = new LinkedBlockingQueue<>(queueSize);
+        }
+
+        boolean wants(ChangeEventDTO event) {
+            return (types.isEmpty() || types.contains(event.getType()))
+                    && (bookIds.isEmpty() || bookIds.contains(event.getBookId()));
+        }
+    }
+}
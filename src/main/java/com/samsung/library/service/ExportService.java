@@ -0,0 +1,310 @@
+package com.samsung.library.service;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAccessor;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streams whole tables to a client as NDJSON or CSV.
+ *
+ * Rows are read through a JDBC cursor (fetch size + useCursorFetch on MySQL) and written straight
+ * to the response stream, so heap use does not depend on table size. A slow client blocks the
+ * socket write, which in turn stops the cursor from fetching: that is the backpressure.
+ */
+@Service
+public class ExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExportService.class);
+
+    public enum Format {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv", "csv");
+
+        private final String mediaType;
+        private final String extension;
+
+        Format(String mediaType, String extension) {
+            this.mediaType = mediaType;
+            this.extension = extension;
+        }
+
+        public String getMediaType() { return mediaType; }
+        public String getExtension() { return extension; }
+
+        public static Format fromName(String name) {
+            for (Format format : values()) {
+                if (format.extension.equalsIgnoreCase(name)) {
+                    return format;
+                }
+            }
+            throw new IllegalArgumentException("Unsupported export format: " + name + " (use ndjson or csv)");
+        }
+    }
+
+    public enum Dataset {
+        BOOKS("books",
+                "SELECT b.id, b.title, b.category, b.publishing_year, b.isbn, b.description, b.total_copies, " +
+                "b.available_copies, b.author_id, a.name, b.created_at, b.updated_at " +
+                "FROM books b JOIN authors a ON a.id = b.author_id",
+                "b.id",
+                "id", "title", "category", "publishingYear", "isbn", "description", "totalCopies",
+                "availableCopies", "authorId", "authorName", "createdAt", "updatedAt"),
+        AUTHORS("authors",
+                "SELECT a.id, a.name, a.biography, a.birth_year, a.nationality, a.created_at, a.updated_at " +
+                "FROM authors a",
+                "a.id",
+                "id", "name", "biography", "birthYear", "nationality", "createdAt", "updatedAt"),
+        MEMBERS("members",
+                "SELECT m.id, m.name, m.email, m.phone, m.address, m.membership_date, m.membership_status, " +
+                "m.created_at, m.updated_at FROM members m",
+                "m.id",
+                "id", "name", "email", "phone", "address", "membershipDate", "membershipStatus",
+                "createdAt", "updatedAt"),
+        BORROWED_BOOKS("borrowed-books",
+                "SELECT bb.id, bb.book_id, bb.member_id, bb.borrow_date, bb.due_date, bb.return_date, " +
+                "bb.status, bb.fine_amount, bb.notes, bb.created_at, bb.updated_at FROM borrowed_books bb",
+                "bb.id",
+                "id", "bookId", "memberId", "borrowDate", "dueDate", "returnDate", "status", "fineAmount",
+                "notes", "createdAt", "updatedAt");
+
+        private final String path;
+        private final String sql;
+        private final String orderBy;
+        private final String[] fields;
+
+        Dataset(String path, String sql, String orderBy, String... fields) {
+            this.path = path;
+            this.sql = sql;
+            this.orderBy = orderBy;
+            this.fields = fields;
+        }
+
+        public String getPath() { return path; }
+
+        public static Dataset fromPath(String path) {
+            for (Dataset dataset : values()) {
+                if (dataset.path.equalsIgnoreCase(path)) {
+                    return dataset;
+                }
+            }
+            throw new IllegalArgumentException("Unknown export dataset: " + path +
+                    " (use books, authors, members or borrowed-books)");
+        }
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${app.export.fetch-size:1000}")
+    private int fetchSize;
+
+    @Value("${app.export.flush-interval:1000}")
+    private int flushInterval;
+
+    /**
+     * Write every row of the dataset to the stream; from/to restrict borrowed books by borrow date.
+     * Returns the number of rows written.
+     */
+    public long export(Dataset dataset, Format format, LocalDate from, LocalDate to, OutputStream out) throws IOException {
+        StringBuilder sql = new StringBuilder(dataset.sql);
+        List<Object> params = new ArrayList<>();
+        if (dataset == Dataset.BORROWED_BOOKS && (from != null || to != null)) {
+            sql.append(" WHERE ");
+            if (from != null) {
+                sql.append("bb.borrow_date >= ?");
+                params.add(java.sql.Date.valueOf(from));
+            }
+            if (to != null) {
+                sql.append(from != null ? " AND " : "").append("bb.borrow_date <= ?");
+                params.add(java.sql.Date.valueOf(to));
+            }
+        }
+        sql.append(" ORDER BY ").append(dataset.orderBy);
+
+        long start = System.currentTimeMillis();
+        RowWriter writer = format == Format.CSV
+                ? new CsvRowWriter(out, dataset.fields)
+                : new NdjsonRowWriter(objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8), dataset.fields);
+        long[] rows = {0};
+        try {
+            writer.start();
+            jdbcTemplate.query(con -> {
+                PreparedStatement ps = con.prepareStatement(sql.toString());
+                ps.setFetchSize(fetchSize);
+                for (int i = 0; i < params.size(); i++) {
+                    ps.setObject(i + 1, params.get(i));
+                }
+                return ps;
+            }, (RowCallbackHandler) rs -> {
+                Object[] values = new Object[dataset.fields.length];
+                for (int i = 0; i < values.length; i++) {
+                    values[i] = rs.getObject(i + 1);
+                }
+                try {
+                    writer.write(values);
+                    if (++rows[0] % flushInterval == 0) {
+                        writer.flush();
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            writer.finish();
+        } catch (UncheckedIOException e) {
+            // Usually the client went away; stop reading and release the connection
+            logger.warn("Export of {} aborted after {} rows: {}", dataset.path, rows[0], e.getCause().getMessage());
+            throw e.getCause();
+        }
+        logger.info("Exported {} {} rows as {} in {} ms", rows[0], dataset.path, format.extension,
+                System.currentTimeMillis() - start);
+        return rows[0];
+    }
+
+    // =============== ROW WRITERS ===============
+
+    private interface RowWriter {
+        void start() throws IOException;
+        void write(Object[] values) throws IOException;
+        void flush() throws IOException;
+        void finish() throws IOException;
+    }
+
+    /**
+     * One JSON object per line, keyed by field name
+     */
+    private static final class NdjsonRowWriter implements RowWriter {
+        private final JsonGenerator generator;
+        private final String[] fields;
+
+        NdjsonRowWriter(JsonGenerator generator, String[] fields) {
+            this.generator = generator;
+            this.fields = fields;
+        }
+
+        @Override
+        public void start() {
+            generator.setRootValueSeparator(null);
+        }
+
+        @Override
+        public void write(Object[] values) throws IOException {
+            generator.writeStartObject();
+            for (int i = 0; i < fields.length; i++) {
+                generator.writeFieldName(fields[i]);
+                Object value = values[i];
+                if (value == null) {
+                    generator.writeNull();
+                } else if (value instanceof Long || value instanceof Integer || value instanceof Short) {
+                    generator.writeNumber(((Number) value).longValue());
+                } else if (value instanceof BigDecimal decimal) {
+                    generator.writeNumber(decimal);
+                } else if (value instanceof Number number) {
+                    generator.writeNumber(number.doubleValue());
+                } else if (value instanceof Boolean bool) {
+                    generator.writeBoolean(bool);
+                } else {
+                    generator.writeString(format(value));
+                }
+            }
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void flush() throws IOException {
+            generator.flush();
+        }
+
+        @Override
+        public void finish() throws IOException {
+            generator.flush();
+        }
+    }
+
+    /**
+     * RFC 4180 CSV with a header row
+     */
+    private static final class CsvRowWriter implements RowWriter {
+        private final Writer writer;
+        private final String[] fields;
+
+        CsvRowWriter(OutputStream out, String[] fields) {
+            this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            this.fields = fields;
+        }
+
+        @Override
+        public void start() throws IOException {
+            write(fields);
+        }
+
+        @Override
+        public void write(Object[] values) throws IOException {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                if (values[i] != null) {
+                    writer.write(escape(format(values[i])));
+                }
+            }
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void flush() throws IOException {
+            writer.flush();
+        }
+
+        @Override
+        public void finish() throws IOException {
+            writer.flush();
+        }
+
+        private static String escape(String value) {
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+                return value;
+            }
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+    }
+
+    // ISO-8601 for dates and timestamps, toString() for everything else
+    private static String format(Object value) {
+        if (value instanceof Timestamp timestamp) {
+            return timestamp.toLocalDateTime().toString();
+        }
+        if (value instanceof java.sql.Date date) {
+            return date.toLocalDate().toString();
+        }
+        if (value instanceof TemporalAccessor) {
+            return value.toString();
+        }
+        return value.toString();
+    }
+}
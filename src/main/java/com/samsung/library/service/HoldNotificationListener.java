@@ -0,0 +1,44 @@
+package com.samsung.library.service;
+
+import com.samsung.library.event.HoldEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+
+/**
+ * Hands committed READY and EXPIRED hold changes to every HoldNotifier.
+ * Runs asynchronously so a slow channel never holds up a return or the expiry sweeper.
+ */
+@Component
+public class HoldNotificationListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(HoldNotificationListener.class);
+
+    @Autowired
+    private List<HoldNotifier> notifiers;
+
+    @Async
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onHoldEvent(HoldEvent event) {
+        if (event.getType() != HoldEvent.Type.READY && event.getType() != HoldEvent.Type.EXPIRED) {
+            return;
+        }
+        for (HoldNotifier notifier : notifiers) {
+            try {
+                if (event.getType() == HoldEvent.Type.READY) {
+                    notifier.holdReady(event);
+                } else {
+                    notifier.holdExpired(event);
+                }
+            } catch (Exception e) {
+                // One failing channel must not stop the others
+                logger.error("Hold notifier {} failed for {}", notifier.getClass().getSimpleName(), event, e);
+            }
+        }
+    }
+}
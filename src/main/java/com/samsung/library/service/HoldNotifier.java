@@ -0,0 +1,17 @@
+package com.samsung.library.service;
+
+import com.samsung.library.event.HoldEvent;
+
+/**
+ * Tells members about their holds (e-mail, SMS, push...). Every HoldNotifier bean is called by
+ * HoldNotificationListener after the change is committed, off the request thread.
+ */
+public interface HoldNotifier {
+
+    /** A copy is set aside for the member until event.getExpiresAt() */
+    void holdReady(HoldEvent event);
+
+    /** The member did not pick the copy up in time */
+    default void holdExpired(HoldEvent event) {
+    }
+}
@@ -0,0 +1,368 @@
+package com.samsung.library.service;
+
+import com.samsung.library.config.CacheConfig;
+import com.samsung.library.dto.HoldDTO;
+import com.samsung.library.event.HoldEvent;
+import com.samsung.library.model.Book;
+import com.samsung.library.model.Hold;
+import com.samsung.library.model.HoldStatus;
+import com.samsung.library.model.Member;
+import com.samsung.library.model.MembershipStatus;
+import com.samsung.library.repository.BookRepository;
+import com.samsung.library.repository.BorrowedBookRepository;
+import com.samsung.library.repository.HoldRepository;
+import com.samsung.library.repository.MemberRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Hold queue for books with no copies on the shelf.
+ *
+ * A returned copy goes to the first waiting hold of its book in the same transaction as the
+ * return (the hold becomes READY and the copy stays off the shelf until the pickup deadline).
+ * The member then borrows it as usual; an unclaimed copy moves on to the next hold, or back to
+ * the shelf, when the expiry sweeper runs. Every queue change happens with the book row locked,
+ * so a return and a new hold cannot miss each other.
+ */
+@Service
+@Transactional
+public class HoldService {
+
+    private static final Logger logger = LoggerFactory.getLogger(HoldService.class);
+
+    private static final Set<HoldStatus> ACTIVE = EnumSet.of(HoldStatus.WAITING, HoldStatus.READY);
+
+    @Autowired
+    private HoldRepository holdRepository;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private BorrowedBookRepository borrowedBookRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${app.holds.pickup-days:3}")
+    private int pickupDays;
+
+    @Value("${app.holds.max-per-member:5}")
+    private int maxHoldsPerMember;
+
+    @Value("${app.holds.expiry-batch-size:100}")
+    private int expiryBatchSize;
+
+    /**
+     * Join the queue of a book that has no copies on the shelf
+     */
+    public HoldDTO placeHold(HoldDTO holdDTO) {
+        Book book = lockBook(holdDTO.getBookId());
+        Member member = memberRepository.findById(holdDTO.getMemberId())
+                .orElseThrow(() -> new RuntimeException("Member not found with ID: " + holdDTO.getMemberId()));
+
+        if (member.getMembershipStatus() != MembershipStatus.ACTIVE) {
+            throw new RuntimeException("Member '" + member.getName() + "' does not have an active membership");
+        }
+        if (book.getAvailableCopies() > 0) {
+            throw new RuntimeException("Book '" + book.getTitle() + "' has copies available. Borrow it instead.");
+        }
+        if (!borrowedBookRepository.findBorrowedBookIdsByMember(member.getId(), List.of(book.getId())).isEmpty()) {
+            throw new RuntimeException("Member '" + member.getName() + "' has already borrowed this book");
+        }
+        if (holdRepository.existsByMemberIdAndBookIdAndStatusIn(member.getId(), book.getId(), ACTIVE)) {
+            throw new RuntimeException("Member '" + member.getName() + "' already has a hold on this book");
+        }
+        if (holdRepository.countByMemberIdAndStatusIn(member.getId(), ACTIVE) >= maxHoldsPerMember) {
+            throw new RuntimeException("Member '" + member.getName() + "' has reached the maximum of " +
+                    maxHoldsPerMember + " holds");
+        }
+
+        Hold hold = holdRepository.save(new Hold(book, member));
+        publishHoldEvent(HoldEvent.Type.PLACED, hold, null);
+        return convertToDTO(hold);
+    }
+
+    /**
+     * Get hold by ID (with queue position while waiting)
+     */
+    @Transactional(readOnly = true)
+    public Optional<HoldDTO> getHoldById(Long id) {
+        return holdRepository.findByIdWithDetails(id).map(this::convertToDTO);
+    }
+
+    /**
+     * Waiting and ready holds of a member
+     */
+    @Transactional(readOnly = true)
+    public List<HoldDTO> getActiveHoldsByMember(Long memberId) {
+        return holdRepository.findByMemberIdAndStatusIn(memberId, ACTIVE).stream()
+                .map(this::convertToDTO)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Queue of a book: ready holds first, then waiting holds in order
+     */
+    @Transactional(readOnly = true)
+    public List<HoldDTO> getQueueByBook(Long bookId) {
+        List<Hold> holds = holdRepository.findByBookIdAndStatusIn(bookId, ACTIVE);
+        List<HoldDTO> queue = holds.stream()
+                .filter(hold -> hold.getStatus() == HoldStatus.READY)
+                .map(this::convertToDTO)
+                .collect(Collectors.toList());
+        long position = 0;
+        for (Hold hold : holds) {
+            if (hold.getStatus() == HoldStatus.WAITING) {
+                HoldDTO dto = toDTO(hold);
+                dto.setQueuePosition(++position);
+                queue.add(dto);
+            }
+        }
+        return queue;
+    }
+
+    /**
+     * Leave the queue; a copy already set aside moves on to the next hold or back to the shelf
+     */
+    public HoldDTO cancelHold(Long id) {
+        Hold hold = holdRepository.findByIdWithDetails(id)
+                .orElseThrow(() -> new RuntimeException("Hold not found with ID: " + id));
+        HoldStatus status = hold.getStatus();
+        if (!ACTIVE.contains(status)) {
+            throw new RuntimeException("Hold is no longer active. Current status: " + status);
+        }
+
+        Long bookId = hold.getBook().getId();
+        lockBook(bookId);
+        LocalDateTime now = LocalDateTime.now();
+        if (holdRepository.close(List.of(id), status, HoldStatus.CANCELLED, now) == 0) {
+            throw new RuntimeException("Hold changed while it was being cancelled; please retry");
+        }
+        if (status == HoldStatus.READY) {
+            passCopyOn(bookId, now);
+        }
+
+        publishHoldEvent(HoldEvent.Type.CANCELLED, hold, hold.getExpiresAt());
+        HoldDTO dto = toDTO(hold);
+        dto.setStatus(HoldStatus.CANCELLED);
+        dto.setClosedAt(now);
+        return dto;
+    }
+
+    /**
+     * Remove the holds of a member that is being deleted, in the caller's transaction.
+     * Open holds are cancelled first, so copies set aside for the member move on to the next hold.
+     */
+    public void deleteMemberHolds(Long memberId) {
+        for (Hold hold : holdRepository.findByMemberIdAndStatusIn(memberId, ACTIVE)) {
+            cancelHold(hold.getId());
+        }
+        holdRepository.deleteByMemberId(memberId);
+    }
+
+    /**
+     * Set returned copies of a book aside for the first waiting holds, in the caller's transaction.
+     * Returns how many copies were taken; the caller puts the rest back on the shelf.
+     */
+    public int allocateReturnedCopies(Long bookId, int copies) {
+        if (copies <= 0) {
+            return 0;
+        }
+        lockBook(bookId);
+        LocalDateTime now = LocalDateTime.now();
+        int allocated = 0;
+        for (Hold hold : holdRepository.findQueueHead(bookId, Limit.of(copies))) {
+            if (markReady(hold, now)) {
+                allocated++;
+            }
+        }
+        return allocated;
+    }
+
+    /**
+     * Ready holds of the member for the given books, as book ID -> hold ID
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, Long> findReadyHoldIds(Long memberId, Collection<Long> bookIds) {
+        Map<Long, Long> holds = new HashMap<>();
+        if (memberId == null || bookIds.isEmpty()) {
+            return holds;
+        }
+        for (Object[] row : holdRepository.findReadyHoldIds(memberId, bookIds, LocalDateTime.now())) {
+            holds.put((Long) row[0], (Long) row[1]);
+        }
+        return holds;
+    }
+
+    /**
+     * Close the member's ready holds (book ID -> hold ID) whose set-aside copies are being borrowed.
+     * Returns false if any of them expired or was cancelled meanwhile.
+     */
+    public boolean fulfilHolds(Long memberId, Map<Long, Long> holdIdsByBook) {
+        if (holdIdsByBook.isEmpty()) {
+            return true;
+        }
+        int closed = holdRepository.close(holdIdsByBook.values(), HoldStatus.READY, HoldStatus.FULFILLED,
+                LocalDateTime.now());
+        if (closed != holdIdsByBook.size()) {
+            return false;
+        }
+        holdIdsByBook.forEach((bookId, holdId) -> eventPublisher.publishEvent(new HoldEvent(
+                HoldEvent.Type.FULFILLED, holdId, bookId, null, memberId, null, null, null)));
+        return true;
+    }
+
+    /**
+     * Expire ready holds past their pickup deadline and pass their copies on (scheduled task).
+     * Each hold is handled in its own short transaction. Returns the number expired.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public int expireHolds() {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        int expired = 0;
+        while (true) {
+            List<Long> ids = holdRepository.findExpiredReadyIds(LocalDateTime.now(), Limit.of(expiryBatchSize));
+            int before = expired;
+            for (Long id : ids) {
+                Boolean done = template.execute(status -> expireHold(id));
+                if (Boolean.TRUE.equals(done)) {
+                    expired++;
+                }
+            }
+            // Stop on a short page, or when nothing in a full page could be expired
+            if (ids.size() < expiryBatchSize || expired == before) {
+                break;
+            }
+        }
+        return expired;
+    }
+
+    // =============== PRIVATE HELPER METHODS ===============
+
+    private boolean expireHold(Long id) {
+        Hold hold = holdRepository.findByIdWithDetails(id).orElse(null);
+        if (hold == null) {
+            return false;
+        }
+        Long bookId = hold.getBook().getId();
+        lockBook(bookId);
+        LocalDateTime now = LocalDateTime.now();
+        // Re-checked under the lock: the member may have just picked the copy up
+        if (hold.getExpiresAt() == null || hold.getExpiresAt().isAfter(now)
+                || holdRepository.close(List.of(id), HoldStatus.READY, HoldStatus.EXPIRED, now) == 0) {
+            return false;
+        }
+        passCopyOn(bookId, now);
+        publishHoldEvent(HoldEvent.Type.EXPIRED, hold, hold.getExpiresAt());
+        return true;
+    }
+
+    /**
+     * A set-aside copy is free again: next waiting hold, otherwise back on the shelf (book row locked)
+     */
+    private void passCopyOn(Long bookId, LocalDateTime now) {
+        for (Hold next : holdRepository.findQueueHead(bookId, Limit.of(1))) {
+            if (markReady(next, now)) {
+                return;
+            }
+        }
+        if (bookRepository.incrementAvailableCopies(bookId) == 0) {
+            logger.warn("Could not put a released hold copy of book {} back on the shelf", bookId);
+        }
+        Cache books = cacheManager.getCache(CacheConfig.BOOKS_CACHE);
+        if (books != null) {
+            books.evict(bookId);
+        }
+    }
+
+    private boolean markReady(Hold hold, LocalDateTime now) {
+        LocalDateTime expiresAt = now.plusDays(pickupDays);
+        if (holdRepository.markReady(hold.getId(), now, expiresAt) == 0) {
+            return false;
+        }
+        publishHoldEvent(HoldEvent.Type.READY, hold, expiresAt);
+        return true;
+    }
+
+    /**
+     * Lock the book row for the rest of the transaction (serializes queue changes per book)
+     */
+    private Book lockBook(Long bookId) {
+        List<Book> locked = bookRepository.findAllByIdInForUpdate(List.of(bookId));
+        if (locked.isEmpty()) {
+            throw new RuntimeException("Book not found with ID: " + bookId);
+        }
+        return locked.get(0);
+    }
+
+    /**
+     * Publish a hold change; listeners run after the surrounding transaction commits.
+     * Status changes are applied with conditional UPDATEs, so the entity itself is left as loaded.
+     */
+    private void publishHoldEvent(HoldEvent.Type type, Hold hold, LocalDateTime expiresAt) {
+        Member member = hold.getMember();
+        eventPublisher.publishEvent(new HoldEvent(type, hold.getId(), hold.getBook().getId(),
+                hold.getBook().getTitle(), member.getId(), member.getName(), member.getEmail(), expiresAt));
+    }
+
+    /**
+     * Convert to DTO including the queue position of waiting holds
+     */
+    private HoldDTO convertToDTO(Hold hold) {
+        HoldDTO dto = toDTO(hold);
+        if (hold.getStatus() == HoldStatus.WAITING) {
+            dto.setQueuePosition(holdRepository.countWaitingAhead(
+                    hold.getBook().getId(), hold.getRequestedAt(), hold.getId()) + 1);
+        }
+        return dto;
+    }
+
+    private HoldDTO toDTO(Hold hold) {
+        HoldDTO dto = new HoldDTO();
+        dto.setId(hold.getId());
+        dto.setBookId(hold.getBook().getId());
+        dto.setBookTitle(hold.getBook().getTitle());
+        if (hold.getBook().getAuthor() != null) {
+            dto.setAuthorName(hold.getBook().getAuthor().getName());
+        }
+        dto.setMemberId(hold.getMember().getId());
+        dto.setMemberName(hold.getMember().getName());
+        dto.setStatus(hold.getStatus());
+        dto.setRequestedAt(hold.getRequestedAt());
+        dto.setReadyAt(hold.getReadyAt());
+        dto.setExpiresAt(hold.getExpiresAt());
+        dto.setClosedAt(hold.getClosedAt());
+        return dto;
+    }
+}
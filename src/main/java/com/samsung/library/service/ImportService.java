@@ -0,0 +1,681 @@
+package com.samsung.library.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.samsung.library.config.CacheConfig;
+import com.samsung.library.dto.AuthorDTO;
+import com.samsung.library.dto.BookDTO;
+import com.samsung.library.dto.ImportErrorDTO;
+import com.samsung.library.dto.ImportResultDTO;
+import com.samsung.library.dto.MemberDTO;
+import com.samsung.library.event.CatalogChangedEvent;
+import com.samsung.library.model.MembershipStatus;
+import com.samsung.library.repository.IdAllocator;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk loads authors, books and members from CSV or NDJSON uploads.
+ *
+ * The file is read as a stream, app.import.chunk-size records at a time. Each chunk is mapped and
+ * validated on a small worker pool, book authors are resolved against a name/ID map loaded once per
+ * run, and the valid rows are written with one JDBC batch INSERT in their own transaction. Bad rows
+ * are reported by record number and skipped; they never abort the rest of the run.
+ */
+@Service
+public class ImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImportService.class);
+
+    public enum Dataset {
+        AUTHORS("authors", AuthorDTO.class, IdAllocator.AUTHORS,
+                "INSERT INTO authors (id, name, biography, birth_year, nationality, created_at, updated_at) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?)"),
+        BOOKS("books", BookDTO.class, IdAllocator.BOOKS,
+                "INSERT INTO books (id, title, category, publishing_year, isbn, description, total_copies, " +
+                "available_copies, version, author_id, created_at, updated_at) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, ?, 0, ?, ?, ?)"),
+        MEMBERS("members", MemberDTO.class, IdAllocator.MEMBERS,
+                "INSERT INTO members (id, name, email, phone, address, membership_date, membership_status, " +
+                "created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)");
+
+        private final String path;
+        private final Class<?> type;
+        private final String idSegment;
+        private final String insertSql;
+
+        Dataset(String path, Class<?> type, String idSegment, String insertSql) {
+            this.path = path;
+            this.type = type;
+            this.idSegment = idSegment;
+            this.insertSql = insertSql;
+        }
+
+        public String getPath() { return path; }
+
+        public static Dataset fromPath(String path) {
+            for (Dataset dataset : values()) {
+                if (dataset.path.equalsIgnoreCase(path)) {
+                    return dataset;
+                }
+            }
+            throw new IllegalArgumentException("Unknown import dataset: " + path + " (use authors, books or members)");
+        }
+    }
+
+    private static final String AUTHORS_SQL = "SELECT id, name FROM authors ORDER BY id";
+
+    private static final String INSERT_AUTHOR_NAME_SQL =
+            "INSERT INTO authors (id, name, created_at, updated_at) VALUES (?, ?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private IdAllocator idAllocator;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Value("${app.import.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${app.import.parallelism:4}")
+    private int parallelism;
+
+    @Value("${app.import.max-reported-errors:1000}")
+    private int maxReportedErrors;
+
+    /**
+     * Import every record of the stream. Books name their author by authorName (preferred) or
+     * authorId; unknown author names are created when createMissingAuthors is set.
+     */
+    public ImportResultDTO importFile(Dataset dataset, ExportService.Format format, InputStream in,
+                                      boolean createMissingAuthors) throws IOException {
+        long start = System.currentTimeMillis();
+        ImportRun run = new ImportRun(dataset, createMissingAuthors);
+        if (dataset == Dataset.BOOKS) {
+            loadAuthors(run);
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(Math.max(parallelism, 1));
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), 64 * 1024);
+        try {
+            RecordReader records = format == ExportService.Format.CSV
+                    ? new CsvRecordReader(reader)
+                    : new NdjsonRecordReader(reader, objectMapper);
+            List<RawRecord> chunk = new ArrayList<>(chunkSize);
+            RawRecord record;
+            while ((record = records.next()) != null) {
+                chunk.add(record);
+                if (chunk.size() >= chunkSize) {
+                    processChunk(run, chunk, pool);
+                    chunk = new ArrayList<>(chunkSize);
+                }
+            }
+            if (!chunk.isEmpty()) {
+                processChunk(run, chunk, pool);
+            }
+        } finally {
+            pool.shutdownNow();
+            reader.close();
+            if (run.result.getImported() > 0 || run.result.getAuthorsCreated() > 0) {
+                afterImport(dataset);
+            }
+        }
+
+        run.result.getErrors().sort(Comparator.comparingLong(ImportErrorDTO::getRow));
+        run.result.setDurationMs(System.currentTimeMillis() - start);
+        logger.info("Imported {} of {} {} rows ({} failed, {} authors created) in {} ms",
+                run.result.getImported(), run.result.getTotalRows(), dataset.path, run.result.getFailed(),
+                run.result.getAuthorsCreated(), run.result.getDurationMs());
+        return run.result;
+    }
+
+    // =============== PRIVATE HELPER METHODS ===============
+
+    private void processChunk(ImportRun run, List<RawRecord> chunk, ForkJoinPool pool) {
+        run.result.setTotalRows(run.result.getTotalRows() + chunk.size());
+
+        // Mapping and bean validation are CPU-bound and independent per row
+        List<ImportRow> rows;
+        try {
+            rows = pool.submit(() -> chunk.parallelStream()
+                    .map(record -> toRow(run.dataset, record))
+                    .collect(Collectors.toList())).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Import interrupted", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Import failed: " + e.getCause().getMessage(), e.getCause());
+        }
+
+        List<ImportRow> accepted = new ArrayList<>(rows.size());
+        for (ImportRow row : rows) {
+            if (row.error != null) {
+                reportError(run, row.row, row.error);
+            } else {
+                accepted.add(row);
+            }
+        }
+        accepted = rejectDuplicates(run, accepted);
+        if (run.dataset == Dataset.BOOKS) {
+            accepted = resolveAuthors(run, accepted);
+        }
+        if (!accepted.isEmpty()) {
+            insertRows(run, accepted);
+        }
+    }
+
+    // Map a raw record onto the dataset's DTO and validate it
+    private ImportRow toRow(Dataset dataset, RawRecord record) {
+        if (record.error != null) {
+            return ImportRow.failed(record.row, record.error);
+        }
+
+        Object dto;
+        try {
+            dto = objectMapper.convertValue(record.values, dataset.type);
+        } catch (IllegalArgumentException e) {
+            if (e.getCause() instanceof JsonMappingException mapping && !mapping.getPath().isEmpty()) {
+                return ImportRow.failed(record.row, "Invalid value for " + mapping.getPath().get(0).getFieldName());
+            }
+            return ImportRow.failed(record.row, "Invalid record: " + e.getMessage());
+        }
+
+        List<String> messages = new ArrayList<>();
+        for (ConstraintViolation<Object> violation : validator.validate(dto)) {
+            // Books may name their author instead; that is checked when authors are resolved
+            if (dataset == Dataset.BOOKS && violation.getPropertyPath().toString().equals("authorId")) {
+                continue;
+            }
+            messages.add(violation.getMessage());
+        }
+        if (dto instanceof BookDTO book) {
+            if (book.getTotalCopies() == null) {
+                book.setTotalCopies(1);
+            }
+            // All copies are on the shelf unless the file says otherwise
+            if (record.values.get("availableCopies") == null) {
+                book.setAvailableCopies(book.getTotalCopies());
+            }
+            if (book.getTotalCopies() < 0 || book.getAvailableCopies() < 0) {
+                messages.add("Copies cannot be negative");
+            } else if (book.getAvailableCopies() > book.getTotalCopies()) {
+                messages.add("Available copies cannot exceed total copies");
+            }
+        }
+        if (!messages.isEmpty()) {
+            Collections.sort(messages);
+            return ImportRow.failed(record.row, String.join("; ", messages));
+        }
+        return new ImportRow(record.row, dto, null);
+    }
+
+    // Drop rows whose ISBN (books) or email (members) is already taken, in the database or earlier in the file
+    private List<ImportRow> rejectDuplicates(ImportRun run, List<ImportRow> rows) {
+        String column = run.dataset == Dataset.BOOKS ? "isbn" : run.dataset == Dataset.MEMBERS ? "email" : null;
+        if (column == null || rows.isEmpty()) {
+            return rows;
+        }
+
+        List<String> keys = new ArrayList<>();
+        for (ImportRow row : rows) {
+            String key = uniqueKey(row.dto);
+            if (key != null) {
+                keys.add(key);
+            }
+        }
+        Set<String> existing = new HashSet<>();
+        if (!keys.isEmpty()) {
+            String placeholders = String.join(", ", Collections.nCopies(keys.size(), "?"));
+            jdbcTemplate.query("SELECT " + column + " FROM " + run.dataset.path + " WHERE " + column +
+                            " IN (" + placeholders + ")",
+                    (RowCallbackHandler) rs -> existing.add(rs.getString(1).toLowerCase(Locale.ROOT)),
+                    keys.toArray());
+        }
+
+        String label = run.dataset == Dataset.BOOKS ? "ISBN" : "Email";
+        List<ImportRow> accepted = new ArrayList<>(rows.size());
+        for (ImportRow row : rows) {
+            String key = uniqueKey(row.dto);
+            if (key == null) {
+                accepted.add(row);
+            } else if (existing.contains(key)) {
+                reportError(run, row.row, label + " already exists: " + key);
+            } else if (!run.seenKeys.add(key)) {
+                reportError(run, row.row, "Duplicate " + label + " in file: " + key);
+            } else {
+                accepted.add(row);
+            }
+        }
+        return accepted;
+    }
+
+    private static String uniqueKey(Object dto) {
+        String value = null;
+        if (dto instanceof BookDTO book) {
+            value = book.getIsbn();
+        } else if (dto instanceof MemberDTO member) {
+            value = member.getEmail();
+        }
+        return value == null || value.isBlank() ? null : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    // Fill in author IDs from the in-memory map, creating unknown authors if the caller asked for it
+    private List<ImportRow> resolveAuthors(ImportRun run, List<ImportRow> rows) {
+        Map<String, String> missing = new LinkedHashMap<>();
+        for (ImportRow row : rows) {
+            String name = ((BookDTO) row.dto).getAuthorName();
+            if (name != null && !name.isBlank() && !run.authorIdsByName.containsKey(normalize(name))) {
+                missing.putIfAbsent(normalize(name), name.trim());
+            }
+        }
+        if (!missing.isEmpty() && run.createMissingAuthors) {
+            createAuthors(run, new ArrayList<>(missing.values()));
+        }
+
+        List<ImportRow> accepted = new ArrayList<>(rows.size());
+        for (ImportRow row : rows) {
+            BookDTO book = (BookDTO) row.dto;
+            String name = book.getAuthorName();
+            if (name != null && !name.isBlank()) {
+                Long authorId = run.authorIdsByName.get(normalize(name));
+                if (authorId == null) {
+                    reportError(run, row.row, "Author not found: " + name.trim());
+                    continue;
+                }
+                book.setAuthorId(authorId);
+            } else if (book.getAuthorId() == null) {
+                reportError(run, row.row, "Author name or ID is required");
+                continue;
+            } else if (!run.authorIds.contains(book.getAuthorId())) {
+                reportError(run, row.row, "Author not found with ID: " + book.getAuthorId());
+                continue;
+            }
+            accepted.add(row);
+        }
+        return accepted;
+    }
+
+    private void createAuthors(ImportRun run, List<String> names) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        long firstId = idAllocator.allocate(IdAllocator.AUTHORS, names.size());
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                jdbcTemplate.batchUpdate(INSERT_AUTHOR_NAME_SQL, new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        ps.setLong(1, firstId + i);
+                        ps.setString(2, names.get(i));
+                        ps.setTimestamp(3, now);
+                        ps.setTimestamp(4, now);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return names.size();
+                    }
+                }));
+
+        for (int i = 0; i < names.size(); i++) {
+            run.authorIdsByName.put(normalize(names.get(i)), firstId + i);
+            run.authorIds.add(firstId + i);
+        }
+        run.result.setAuthorsCreated(run.result.getAuthorsCreated() + names.size());
+    }
+
+    /**
+     * Write the rows as one batch in its own transaction. If the batch fails (e.g. a unique key
+     * inserted concurrently), retry row by row so only the offending rows are rejected.
+     */
+    private void insertRows(ImportRun run, List<ImportRow> rows) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        long firstId = idAllocator.allocate(run.dataset.idSegment, rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            rows.get(i).id = firstId + i;
+        }
+        try {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                    jdbcTemplate.batchUpdate(run.dataset.insertSql, rows, rows.size(),
+                            (ps, row) -> bind(ps, row.id, row.dto, now)));
+            run.result.setImported(run.result.getImported() + rows.size());
+            return;
+        } catch (DataAccessException e) {
+            logger.warn("Batch insert of {} {} rows starting at record {} failed, retrying row by row: {}",
+                    rows.size(), run.dataset.path, rows.get(0).row, e.getMostSpecificCause().getMessage());
+        }
+
+        for (ImportRow row : rows) {
+            try {
+                jdbcTemplate.update(run.dataset.insertSql, ps -> bind(ps, row.id, row.dto, now));
+                run.result.setImported(run.result.getImported() + 1);
+            } catch (DataAccessException e) {
+                reportError(run, row.row, e.getMostSpecificCause().getMessage());
+            }
+        }
+    }
+
+    private static void bind(PreparedStatement ps, long id, Object dto, Timestamp now) throws SQLException {
+        ps.setLong(1, id);
+        if (dto instanceof AuthorDTO author) {
+            ps.setString(2, trim(author.getName()));
+            ps.setString(3, author.getBiography());
+            ps.setObject(4, author.getBirthYear());
+            ps.setString(5, trim(author.getNationality()));
+            ps.setTimestamp(6, now);
+            ps.setTimestamp(7, now);
+        } else if (dto instanceof BookDTO book) {
+            ps.setString(2, trim(book.getTitle()));
+            ps.setString(3, trim(book.getCategory()));
+            ps.setInt(4, book.getPublishingYear());
+            ps.setString(5, trim(book.getIsbn()));
+            ps.setString(6, book.getDescription());
+            ps.setInt(7, book.getTotalCopies());
+            ps.setInt(8, book.getAvailableCopies());
+            ps.setLong(9, book.getAuthorId());
+            ps.setTimestamp(10, now);
+            ps.setTimestamp(11, now);
+        } else if (dto instanceof MemberDTO member) {
+            ps.setString(2, trim(member.getName()));
+            ps.setString(3, trim(member.getEmail()));
+            ps.setString(4, trim(member.getPhone()));
+            ps.setString(5, member.getAddress());
+            ps.setTimestamp(6, member.getMembershipDate() != null ? Timestamp.valueOf(member.getMembershipDate()) : now);
+            ps.setString(7, (member.getMembershipStatus() != null ? member.getMembershipStatus() : MembershipStatus.ACTIVE).name());
+            ps.setTimestamp(8, now);
+            ps.setTimestamp(9, now);
+        }
+    }
+
+    // Load every author name once; the first (oldest) author wins when names repeat
+    private void loadAuthors(ImportRun run) {
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(AUTHORS_SQL);
+            ps.setFetchSize(chunkSize);
+            return ps;
+        }, (RowCallbackHandler) rs -> {
+            long id = rs.getLong("id");
+            run.authorIds.add(id);
+            run.authorIdsByName.putIfAbsent(normalize(rs.getString("name")), id);
+        });
+    }
+
+    // Imported rows bypass the services, so refresh the search indexes and drop stale cached lists
+    private void afterImport(Dataset dataset) {
+        if (dataset == Dataset.BOOKS) {
+            Cache categories = cacheManager.getCache(CacheConfig.CATEGORIES_CACHE);
+            if (categories != null) {
+                categories.clear();
+            }
+        }
+        eventPublisher.publishEvent(CatalogChangedEvent.reload());
+    }
+
+    private void reportError(ImportRun run, long row, String message) {
+        ImportResultDTO result = run.result;
+        result.setFailed(result.getFailed() + 1);
+        if (result.getErrors().size() < maxReportedErrors) {
+            result.getErrors().add(new ImportErrorDTO(row, message));
+        } else {
+            result.setErrorsTruncated(true);
+        }
+    }
+
+    private static String normalize(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static String trim(String value) {
+        return value != null ? value.trim() : null;
+    }
+
+    /**
+     * State of one import run
+     */
+    private static final class ImportRun {
+        private final Dataset dataset;
+        private final boolean createMissingAuthors;
+        private final ImportResultDTO result;
+        private final Map<String, Long> authorIdsByName = new HashMap<>();
+        private final Set<Long> authorIds = new HashSet<>();
+        private final Set<String> seenKeys = new HashSet<>();
+
+        ImportRun(Dataset dataset, boolean createMissingAuthors) {
+            this.dataset = dataset;
+            this.createMissingAuthors = createMissingAuthors;
+            this.result = new ImportResultDTO(dataset.path);
+        }
+    }
+
+    /**
+     * A mapped row, or the reason it was rejected
+     */
+    private static final class ImportRow {
+        private final long row;
+        private final Object dto;
+        private final String error;
+        private long id;
+
+        ImportRow(long row, Object dto, String error) {
+            this.row = row;
+            this.dto = dto;
+            this.error = error;
+        }
+
+        static ImportRow failed(long row, String error) {
+            return new ImportRow(row, null, error);
+        }
+    }
+
+    // =============== RECORD READERS ===============
+
+    /**
+     * One input record keyed by field name (numbered from 1, header excluded), or a parse error
+     */
+    private static final class RawRecord {
+        private final long row;
+        private final Map<String, Object> values;
+        private final String error;
+
+        RawRecord(long row, Map<String, Object> values, String error) {
+            this.row = row;
+            this.values = values;
+            this.error = error;
+        }
+    }
+
+    private interface RecordReader {
+        RawRecord next() throws IOException;
+    }
+
+    /**
+     * One JSON object per line; blank lines are skipped
+     */
+    private static final class NdjsonRecordReader implements RecordReader {
+        private static final TypeReference<Map<String, Object>> MAP_TYPE = new TypeReference<>() {};
+
+        private final BufferedReader reader;
+        private final ObjectMapper objectMapper;
+        private long row;
+
+        NdjsonRecordReader(BufferedReader reader, ObjectMapper objectMapper) {
+            this.reader = reader;
+            this.objectMapper = objectMapper;
+        }
+
+        @Override
+        public RawRecord next() throws IOException {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                row++;
+                try {
+                    return new RawRecord(row, objectMapper.readValue(line, MAP_TYPE), null);
+                } catch (JsonProcessingException e) {
+                    return new RawRecord(row, null, "Malformed JSON: " + e.getOriginalMessage());
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * RFC 4180 CSV whose first row names the fields; empty unquoted values are read as null
+     */
+    private static final class CsvRecordReader implements RecordReader {
+        private final BufferedReader reader;
+        private String[] header;
+        private long row;
+        // Set when a quoted field runs to the end of input; nothing after it can be read reliably
+        private boolean unterminated;
+
+        CsvRecordReader(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public RawRecord next() throws IOException {
+            if (unterminated) {
+                return null;
+            }
+            if (header == null) {
+                List<String> names = readFields();
+                if (names == null) {
+                    return null;
+                }
+                if (unterminated) {
+                    return new RawRecord(1, null, "Unterminated quoted field in CSV header");
+                }
+                header = new String[names.size()];
+                for (int i = 0; i < header.length; i++) {
+                    String name = names.get(i) != null ? names.get(i).trim() : "";
+                    header[i] = i == 0 && name.startsWith("\uFEFF") ? name.substring(1) : name;
+                }
+            }
+
+            List<String> fields;
+            do {
+                fields = readFields();
+                if (fields == null) {
+                    return null;
+                }
+            } while (fields.size() == 1 && fields.get(0) == null);
+
+            row++;
+            if (unterminated) {
+                return new RawRecord(row, null, "Unterminated quoted field");
+            }
+            if (fields.size() != header.length) {
+                return new RawRecord(row, null,
+                        "Expected " + header.length + " fields but found " + fields.size());
+            }
+            Map<String, Object> values = new HashMap<>();
+            for (int i = 0; i < header.length; i++) {
+                values.put(header[i], fields.get(i));
+            }
+            return new RawRecord(row, values, null);
+        }
+
+        // Read one record, which may span lines inside quoted fields; null at end of input.
+        // A quote left open at end of input sets unterminated and returns what was read.
+        private List<String> readFields() throws IOException {
+            int c = reader.read();
+            if (c == -1) {
+                return null;
+            }
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean inQuotes = false;
+            boolean quoted = false;
+            while (true) {
+                if (inQuotes) {
+                    if (c == -1) {
+                        unterminated = true;
+                        fields.add(field.toString());
+                        return fields;
+                    }
+                    if (c == '"') {
+                        c = reader.read();
+                        if (c != '"') {
+                            inQuotes = false;
+                            continue;
+                        }
+                    }
+                    field.append((char) c);
+                } else if (c == '"' && field.length() == 0 && !quoted) {
+                    inQuotes = true;
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(quoted || field.length() > 0 ? field.toString() : null);
+                    field.setLength(0);
+                    quoted = false;
+                } else if (c == '\r' || c == '\n' || c == -1) {
+                    if (c == '\r') {
+                        reader.mark(1);
+                        if (reader.read() != '\n') {
+                            reader.reset();
+                        }
+                    }
+                    fields.add(quoted || field.length() > 0 ? field.toString() : null);
+                    return fields;
+                } else {
+                    field.append((char) c);
+                }
+                c = reader.read();
+            }
+        }
+    }
+}
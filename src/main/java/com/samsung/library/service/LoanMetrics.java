@@ -0,0 +1,54 @@
+package com.samsung.library.service;
+
+import com.samsung.library.event.LoanEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Borrow and return counters by outcome (library.loans{operation, outcome}).
+ * Successes are counted from the committed LoanEvents, so batch items and rolled-back
+ * attempts are counted correctly; rejections and failures are reported by the controllers.
+ */
+@Component
+public class LoanMetrics {
+
+    public static final String BORROW = "borrow";
+    public static final String RETURN = "return";
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLoanEvent(LoanEvent event) {
+        if (event.getType() == LoanEvent.Type.BORROWED) {
+            count(BORROW, "success", 1);
+        } else if (event.getType() == LoanEvent.Type.RETURNED) {
+            count(RETURN, "success", 1);
+        }
+    }
+
+    /** Requests turned down by a business rule (limits, fines, no copies left, already returned) */
+    public void recordRejected(String operation, int count) {
+        count(operation, "rejected", count);
+    }
+
+    /** Requests that failed unexpectedly */
+    public void recordFailed(String operation) {
+        count(operation, "error", 1);
+    }
+
+    private void count(String operation, String outcome, int amount) {
+        if (amount <= 0) {
+            return;
+        }
+        Counter.builder("library.loans")
+                .description("Borrow and return requests by outcome")
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment(amount);
+    }
+}
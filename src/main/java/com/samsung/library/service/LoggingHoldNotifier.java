@@ -0,0 +1,27 @@
+package com.samsung.library.service;
+
+import com.samsung.library.event.HoldEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Default notifier: logs the messages a real channel would send
+ */
+@Component
+public class LoggingHoldNotifier implements HoldNotifier {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoggingHoldNotifier.class);
+
+    @Override
+    public void holdReady(HoldEvent event) {
+        logger.info("Hold {} ready: '{}' is set aside for {} <{}> until {}", event.getHoldId(),
+                event.getBookTitle(), event.getMemberName(), event.getMemberEmail(), event.getExpiresAt());
+    }
+
+    @Override
+    public void holdExpired(HoldEvent event) {
+        logger.info("Hold {} expired: {} <{}> did not pick up '{}'", event.getHoldId(),
+                event.getMemberName(), event.getMemberEmail(), event.getBookTitle());
+    }
+}
@@ -0,0 +1,278 @@
+package com.samsung.library.service;
+
+import com.samsung.library.config.CacheConfig;
+import com.samsung.library.dto.MemberAccountDTO;
+import com.samsung.library.event.LoanEvent;
+import com.samsung.library.model.BorrowStatus;
+import com.samsung.library.model.MemberAccount;
+import com.samsung.library.repository.MemberAccountRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/**
+ * Keeps the member_accounts summary (active loans, overdue loans, fines) in step with borrowed_books.
+ *
+ * Every LoanEvent is turned into a delta while the publishing transaction is still open; the deltas
+ * of one transaction are summed per member and written just before it commits, in member ID order,
+ * so the summary commits or rolls back together with the loans. Accounts that are missing (members
+ * imported in bulk or created before the table existed) are built from borrowed_books on first use,
+ * and verifyAccounts rebuilds any account that no longer matches.
+ */
+@Service
+@Transactional
+public class MemberAccountService {
+
+    private static final Logger logger = LoggerFactory.getLogger(MemberAccountService.class);
+
+    @Autowired
+    private MemberAccountRepository memberAccountRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${app.member-accounts.verify-batch-size:500}")
+    private int verifyBatchSize;
+
+    @Value("${app.member-accounts.verify-on-startup:true}")
+    private boolean verifyOnStartup;
+
+    // Transaction resource key of the pending deltas
+    private final Object pendingDeltasKey = new Object();
+
+    /**
+     * Build missing accounts and repair drifted ones once the application is up, without delaying startup
+     */
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void initialize() {
+        if (!verifyOnStartup) {
+            return;
+        }
+        try {
+            verifyAccounts();
+        } catch (Exception e) {
+            // Missing accounts are built on first use and the scheduled check retries
+            logger.warn("Could not verify member accounts at startup: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Account totals of a member (cached); empty if the member does not exist
+     */
+    @Cacheable(value = CacheConfig.MEMBER_ACCOUNTS_CACHE, key = "#memberId", unless = "#result == null")
+    @Transactional(readOnly = true)
+    public Optional<MemberAccountDTO> getAccount(Long memberId) {
+        Optional<MemberAccountDTO> account = memberAccountRepository.findById(memberId).map(MemberAccountDTO::new);
+        return account.isPresent() ? account : memberAccountRepository.aggregateByMemberId(memberId);
+    }
+
+    /**
+     * Empty account for a member created in the current transaction
+     */
+    public void createAccount(Long memberId) {
+        entityManager.persist(new MemberAccount(memberId, 0, 0, 0.0));
+    }
+
+    /**
+     * Build the account of a member that has none yet from borrowed_books (borrow checks)
+     */
+    public MemberAccount openAccount(Long memberId) {
+        MemberAccountDTO totals = memberAccountRepository.aggregateByMemberId(memberId)
+                .orElseThrow(() -> new RuntimeException("Member not found with ID: " + memberId));
+        MemberAccount account = new MemberAccount(memberId, totals.getActiveLoans(),
+                totals.getOverdueLoans(), totals.getOutstandingFines());
+        entityManager.persist(account);
+        return account;
+    }
+
+    /**
+     * Remove the account of a member being deleted in the current transaction
+     */
+    public void deleteAccount(Long memberId) {
+        memberAccountRepository.deleteByMemberId(memberId);
+        accountsCache().evict(memberId);
+    }
+
+    /**
+     * Queue the change of a loan against its member's account, in the publishing transaction
+     */
+    @EventListener
+    public void onLoanEvent(LoanEvent event) {
+        long loans = count(event.getNewStatus(), BorrowStatus.BORROWED) - count(event.getPreviousStatus(), BorrowStatus.BORROWED);
+        long overdue = count(event.getNewStatus(), BorrowStatus.OVERDUE) - count(event.getPreviousStatus(), BorrowStatus.OVERDUE);
+        double fines = event.getNewFine() - event.getPreviousFine();
+        if (loans == 0 && overdue == 0 && fines == 0) {
+            return;
+        }
+        pendingDeltas().merge(event.getMemberId(), new Delta(loans, overdue, fines), Delta::plus);
+        // Deferred until commit by the transaction-aware cache
+        accountsCache().evict(event.getMemberId());
+    }
+
+    /**
+     * Compare every account with borrowed_books and rebuild the ones that are missing or differ.
+     * Members are checked in slices of verify-batch-size; each rebuild locks the account first,
+     * so deltas of transactions committing meanwhile are applied on top rather than lost.
+     * Returns the number of accounts created or repaired.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public int verifyAccounts() {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        int created = 0;
+        int repaired = 0;
+        long afterId = 0;
+        List<Long> memberIds;
+        while (!(memberIds = memberAccountRepository.findMemberIdsAfter(afterId, Limit.of(verifyBatchSize))).isEmpty()) {
+            for (Long memberId : memberAccountRepository.findDriftedMemberIds(memberIds)) {
+                Repair repair = template.execute(status -> rebuild(memberId));
+                if (repair == Repair.CREATED) {
+                    created++;
+                } else if (repair == Repair.REPAIRED) {
+                    repaired++;
+                }
+            }
+            afterId = memberIds.get(memberIds.size() - 1);
+        }
+
+        if (created > 0) {
+            logger.info("Created {} missing member account(s)", created);
+        }
+        if (repaired > 0) {
+            logger.warn("Member accounts drifted from borrowed_books, {} account(s) rebuilt", repaired);
+            meterRegistry.counter("library.member.accounts.repaired").increment(repaired);
+        }
+        return created + repaired;
+    }
+
+    // =============== PRIVATE HELPER METHODS ===============
+
+    private enum Repair { NONE, CREATED, REPAIRED }
+
+    private Repair rebuild(Long memberId) {
+        Optional<MemberAccount> account = memberAccountRepository.findByIdForUpdate(memberId);
+        Optional<MemberAccountDTO> totals = memberAccountRepository.aggregateByMemberId(memberId);
+        if (totals.isEmpty()) {
+            // Member deleted meanwhile
+            return Repair.NONE;
+        }
+        MemberAccountDTO expected = totals.get();
+        Repair repair;
+        if (account.isEmpty()) {
+            entityManager.persist(new MemberAccount(memberId, expected.getActiveLoans(),
+                    expected.getOverdueLoans(), expected.getOutstandingFines()));
+            repair = Repair.CREATED;
+        } else if (!expected.matches(account.get())) {
+            MemberAccount stored = account.get();
+            logger.debug("Member {} account was {}/{}/{}, expected {}/{}/{}", memberId, stored.getActiveLoans(),
+                    stored.getOverdueLoans(), stored.getOutstandingFines(), expected.getActiveLoans(),
+                    expected.getOverdueLoans(), expected.getOutstandingFines());
+            stored.setActiveLoans(expected.getActiveLoans());
+            stored.setOverdueLoans(expected.getOverdueLoans());
+            stored.setOutstandingFines(expected.getOutstandingFines());
+            repair = Repair.REPAIRED;
+        } else {
+            // Caught up by a commit since the check
+            return Repair.NONE;
+        }
+        accountsCache().evict(memberId);
+        return repair;
+    }
+
+    /**
+     * Deltas of the current transaction by member, written by a synchronization just before it commits
+     */
+    @SuppressWarnings("unchecked")
+    private Map<Long, Delta> pendingDeltas() {
+        Map<Long, Delta> deltas = (Map<Long, Delta>) TransactionSynchronizationManager.getResource(pendingDeltasKey);
+        if (deltas == null) {
+            Map<Long, Delta> created = new TreeMap<>();
+            TransactionSynchronizationManager.bindResource(pendingDeltasKey, created);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    applyDeltas(created);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(pendingDeltasKey);
+                }
+            });
+            deltas = created;
+        }
+        return deltas;
+    }
+
+    private void applyDeltas(Map<Long, Delta> deltas) {
+        LocalDateTime now = LocalDateTime.now();
+        for (Map.Entry<Long, Delta> entry : deltas.entrySet()) {
+            Delta delta = entry.getValue();
+            if (memberAccountRepository.applyDelta(entry.getKey(), delta.loans, delta.overdue, delta.fines, now) == 0) {
+                // No account yet: build it from borrowed_books, which already holds this transaction's changes
+                entityManager.flush();
+                memberAccountRepository.aggregateByMemberId(entry.getKey())
+                        .ifPresent(totals -> entityManager.persist(new MemberAccount(entry.getKey(),
+                                totals.getActiveLoans(), totals.getOverdueLoans(), totals.getOutstandingFines())));
+            }
+        }
+    }
+
+    private Cache accountsCache() {
+        return cacheManager.getCache(CacheConfig.MEMBER_ACCOUNTS_CACHE);
+    }
+
+    private static long count(BorrowStatus status, BorrowStatus counted) {
+        return status == counted ? 1 : 0;
+    }
+
+    private static final class Delta {
+        final long loans;
+        final long overdue;
+        final double fines;
+
+        Delta(long loans, long overdue, double fines) {
+            this.loans = loans;
+            this.overdue = overdue;
+            this.fines = fines;
+        }
+
+        Delta plus(Delta other) {
+            return new Delta(loans + other.loans, overdue + other.overdue, fines + other.fines);
+        }
+    }
+}
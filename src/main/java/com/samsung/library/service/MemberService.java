@@ -2,13 +2,24 @@ package com.samsung.library.service;
 
 import com.samsung.library.dto.BorrowedBookSummaryDTO;
 import com.samsung.library.dto.MemberDTO;
+import com.samsung.library.dto.PageResponseDTO;
+import com.samsung.library.event.MemberChangedEvent;
+import com.samsung.library.model.BorrowedBook;
 import com.samsung.library.model.Member;
+import com.samsung.library.repository.BorrowedBookRepository;
 import com.samsung.library.repository.MemberRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -19,6 +30,20 @@ public class MemberService {
     @Autowired
     private MemberRepository memberRepository;
 
+    @Autowired
+    private BorrowedBookRepository borrowedBookRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private MemberAccountService memberAccountService;
+
+    @Autowired
+    private HoldService holdService;
+
+    private static final int MAX_PAGE_SIZE = 100;
+
     // Create a new member
     public MemberDTO createMember(MemberDTO memberDTO) {
         // Check if email already exists
@@ -28,6 +53,8 @@ public class MemberService {
 
         Member member = convertToEntity(memberDTO);
         Member savedMember = memberRepository.save(member);
+        memberAccountService.createAccount(savedMember.getId());
+        eventPublisher.publishEvent(new MemberChangedEvent(MemberChangedEvent.Type.SAVED, savedMember.getId()));
         return convertToDTO(savedMember);
     }
 
@@ -38,19 +65,35 @@ public class MemberService {
                 .map(this::convertToDTO);
     }
 
-    // Get member by ID with borrowed books
+    // Get member by ID with borrowed books (member query + one loans query)
     @Transactional(readOnly = true)
     public Optional<MemberDTO> getMemberByIdWithBorrowedBooks(Long id) {
-        return memberRepository.findByIdWithBorrowedBooks(id)
-                .map(this::convertToDTOWithBorrowedBooks);
+        return memberRepository.findById(id)
+                .map(member -> {
+                    MemberDTO dto = convertToDTO(member);
+                    dto.setBorrowedBooks(loadBorrowedBookSummaries(List.of(id))
+                            .getOrDefault(id, new ArrayList<>()));
+                    return dto;
+                });
     }
 
-    // Get all members
+    // Get a page of members; borrowed books are opt-in and loaded for the whole page in one query
     @Transactional(readOnly = true)
-    public List<MemberDTO> getAllMembers() {
-        return memberRepository.findAll().stream()
-                .map(this::convertToDTOWithBorrowedBooks)
+    public PageResponseDTO<MemberDTO> getMembersPage(int page, int size, boolean includeBorrowedBooks) {
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        Page<Member> result = memberRepository.findAll(PageRequest.of(Math.max(page, 0), pageSize, Sort.by("id")));
+
+        List<MemberDTO> content = result.getContent().stream()
+                .map(this::convertToDTO)
                 .collect(Collectors.toList());
+        if (includeBorrowedBooks && !content.isEmpty()) {
+            Map<Long, List<BorrowedBookSummaryDTO>> borrowedBooks = loadBorrowedBookSummaries(
+                    content.stream().map(MemberDTO::getId).collect(Collectors.toList()));
+            content.forEach(dto -> dto.setBorrowedBooks(borrowedBooks.getOrDefault(dto.getId(), new ArrayList<>())));
+        }
+
+        return new PageResponseDTO<>(content, result.getNumber(), result.getSize(),
+                result.getTotalElements(), result.getTotalPages(), result.hasNext(), null);
     }
 
     // Update member
@@ -73,6 +116,7 @@ public class MemberService {
             member.setMembershipStatus(memberDTO.getMembershipStatus());
 
             Member updatedMember = memberRepository.save(member);
+            eventPublisher.publishEvent(new MemberChangedEvent(MemberChangedEvent.Type.SAVED, id));
             return convertToDTO(updatedMember);
         }
         return null;
@@ -81,7 +125,12 @@ public class MemberService {
     // Delete member
     public boolean deleteMember(Long id) {
         if (memberRepository.existsById(id)) {
+            holdService.deleteMemberHolds(id);
+            // The loans go with the member (cascade); loan statistics follow the events
+            borrowedBookRepository.findLoanRemovalsByMemberId(id).forEach(eventPublisher::publishEvent);
+            memberAccountService.deleteAccount(id);
             memberRepository.deleteById(id);
+            eventPublisher.publishEvent(new MemberChangedEvent(MemberChangedEvent.Type.DELETED, id));
             return true;
         }
         return false;
@@ -103,7 +152,7 @@ public class MemberService {
     }
 
     // Convert entity to DTO
-    private MemberDTO convertToDTO(Member member) {
+    MemberDTO convertToDTO(Member member) {
         MemberDTO dto = new MemberDTO();
         dto.setId(member.getId());
         dto.setName(member.getName());
@@ -117,12 +166,13 @@ public class MemberService {
         return dto;
     }
 
-    // Convert entity to DTO with borrowed books
-    private MemberDTO convertToDTOWithBorrowedBooks(Member member) {
-        MemberDTO dto = convertToDTO(member);
-        if (member.getBorrowedBooks() != null) {
-            List<BorrowedBookSummaryDTO> borrowedBookSummaries = member.getBorrowedBooks().stream()
-                    .map(bb -> new BorrowedBookSummaryDTO(
+    // Borrowed book summaries of the given members, newest first, keyed by member ID
+    private Map<Long, List<BorrowedBookSummaryDTO>> loadBorrowedBookSummaries(List<Long> memberIds) {
+        Map<Long, List<BorrowedBookSummaryDTO>> summaries = new HashMap<>();
+        for (BorrowedBook bb : borrowedBookRepository.findByMemberIdInWithBook(memberIds)) {
+            // getId() on the member proxy does not initialize it
+            summaries.computeIfAbsent(bb.getMember().getId(), id -> new ArrayList<>())
+                    .add(new BorrowedBookSummaryDTO(
                             bb.getId(),
                             bb.getBook().getTitle(),
                             bb.getBook().getAuthor().getName(),
@@ -131,11 +181,9 @@ public class MemberService {
                             bb.getReturnDate(),
                             bb.getStatus(),
                             bb.getFineAmount()
-                    ))
-                    .collect(Collectors.toList());
-            dto.setBorrowedBooks(borrowedBookSummaries);
+                    ));
         }
-        return dto;
+        return summaries;
     }
 
     // Convert DTO to entity
@@ -0,0 +1,261 @@
+package com.samsung.library.service;
+
+import com.samsung.library.dto.OverdueJobStatusDTO;
+import com.samsung.library.event.LoanEvent;
+import com.samsung.library.model.BorrowStatus;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Marks overdue borrowings and sets their fines in bounded chunks.
+ *
+ * Candidate rows are read by keyset (id > lastId, LIMIT chunk-size) and each chunk is written
+ * with one JDBC batch UPDATE in its own short transaction, optionally on several worker threads.
+ * The UPDATE only touches rows that are still BORROWED, so the job is idempotent: after a crash
+ * the next run simply picks up the rows that were not committed yet.
+ */
+@Service
+public class OverdueBookProcessor {
+
+    private static final Logger logger = LoggerFactory.getLogger(OverdueBookProcessor.class);
+
+    private static final String SELECT_CHUNK_SQL =
+            "SELECT id, book_id, member_id, due_date, fine_amount FROM borrowed_books " +
+            "WHERE status = 'BORROWED' AND due_date < ? AND id > ? ORDER BY id LIMIT ?";
+
+    private static final String UPDATE_SQL =
+            "UPDATE borrowed_books SET status = 'OVERDUE', fine_amount = ?, updated_at = ? " +
+            "WHERE id = ? AND status = 'BORROWED'";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.overdue.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${app.overdue.parallelism:2}")
+    private int parallelism;
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+    private final AtomicLong chunksProcessed = new AtomicLong();
+    private final AtomicLong chunksFailed = new AtomicLong();
+    private final AtomicLong rowsScanned = new AtomicLong();
+    private final AtomicLong rowsUpdated = new AtomicLong();
+    private volatile Long lastScannedId;
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime finishedAt;
+    private volatile String lastError;
+
+    /**
+     * Run the overdue pass. Returns false without doing anything if a run is already in progress.
+     */
+    public boolean run() {
+        if (!running.compareAndSet(false, true)) {
+            logger.warn("Overdue processing is already running, skipping this trigger");
+            return false;
+        }
+
+        resetProgress();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "success";
+        LocalDate today = LocalDate.now();
+        int workers = Math.max(parallelism, 1);
+        ExecutorService executor = Executors.newFixedThreadPool(workers);
+        // Bound the number of chunks held in memory to what the workers can take
+        Semaphore inFlight = new Semaphore(workers * 2);
+        List<Future<?>> futures = new ArrayList<>();
+
+        try {
+            long lastId = 0;
+            while (true) {
+                List<OverdueRow> chunk = readChunk(today, lastId);
+                if (chunk.isEmpty()) {
+                    break;
+                }
+                lastId = chunk.get(chunk.size() - 1).id;
+                lastScannedId = lastId;
+                rowsScanned.addAndGet(chunk.size());
+
+                inFlight.acquire();
+                futures.add(executor.submit(() -> {
+                    try {
+                        processChunk(chunk, today);
+                    } finally {
+                        inFlight.release();
+                    }
+                }));
+            }
+
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            lastError = "Interrupted";
+            outcome = "interrupted";
+        } catch (Exception e) {
+            lastError = e.getMessage();
+            outcome = "error";
+            throw new RuntimeException("Overdue processing failed: " + e.getMessage(), e);
+        } finally {
+            executor.shutdownNow();
+            finishedAt = LocalDateTime.now();
+            running.set(false);
+            sample.stop(Timer.builder("library.overdue.job")
+                    .description("Duration of the overdue processing runs")
+                    .maximumExpectedValue(Duration.ofHours(1))
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
+            meterRegistry.counter("library.overdue.rows.updated").increment(rowsUpdated.get());
+            logger.info("Overdue processing finished: {} rows scanned, {} updated, {} chunks ({} failed)",
+                    rowsScanned.get(), rowsUpdated.get(), chunksProcessed.get(), chunksFailed.get());
+        }
+        return true;
+    }
+
+    /**
+     * Progress of the current (or last) run
+     */
+    public OverdueJobStatusDTO getStatus() {
+        OverdueJobStatusDTO status = new OverdueJobStatusDTO();
+        status.setRunning(running.get());
+        status.setStartedAt(startedAt);
+        status.setFinishedAt(finishedAt);
+        status.setChunkSize(chunkSize);
+        status.setParallelism(parallelism);
+        status.setChunksProcessed(chunksProcessed.get());
+        status.setChunksFailed(chunksFailed.get());
+        status.setRowsScanned(rowsScanned.get());
+        status.setRowsUpdated(rowsUpdated.get());
+        status.setLastScannedId(lastScannedId);
+        status.setLastError(lastError);
+        return status;
+    }
+
+    // =============== PRIVATE HELPER METHODS ===============
+
+    private List<OverdueRow> readChunk(LocalDate today, long afterId) {
+        return jdbcTemplate.query(SELECT_CHUNK_SQL,
+                (rs, rowNum) -> new OverdueRow(
+                        rs.getLong("id"),
+                        rs.getLong("book_id"),
+                        rs.getLong("member_id"),
+                        rs.getDate("due_date").toLocalDate(),
+                        rs.getObject("fine_amount") != null ? rs.getDouble("fine_amount") : null),
+                Date.valueOf(today), afterId, chunkSize);
+    }
+
+    /**
+     * Update one chunk in its own transaction; a failed chunk is left for the next run
+     */
+    private void processChunk(List<OverdueRow> chunk, LocalDate today) {
+        try {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+                List<Double> fines = new ArrayList<>(chunk.size());
+                for (OverdueRow row : chunk) {
+                    fines.add(BorrowedBookService.calculateFine(row.dueDate, today));
+                }
+
+                int[] counts = jdbcTemplate.batchUpdate(UPDATE_SQL, new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        ps.setDouble(1, fines.get(i));
+                        ps.setTimestamp(2, now);
+                        ps.setLong(3, chunk.get(i).id);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return chunk.size();
+                    }
+                });
+
+                int updated = 0;
+                for (int i = 0; i < counts.length; i++) {
+                    if (counts[i] > 0 || counts[i] == Statement.SUCCESS_NO_INFO) {
+                        OverdueRow row = chunk.get(i);
+                        // Listeners (statistics etc.) apply these once the chunk commits
+                        eventPublisher.publishEvent(new LoanEvent(LoanEvent.Type.OVERDUE, row.id, row.bookId,
+                                row.memberId, BorrowStatus.BORROWED, row.fineAmount,
+                                BorrowStatus.OVERDUE, fines.get(i)));
+                        updated++;
+                    }
+                }
+                rowsUpdated.addAndGet(updated);
+            });
+            chunksProcessed.incrementAndGet();
+        } catch (Exception e) {
+            chunksFailed.incrementAndGet();
+            lastError = e.getMessage();
+            logger.error("Overdue chunk starting at ID {} failed; it will be retried on the next run",
+                    chunk.get(0).id, e);
+        }
+    }
+
+    private void resetProgress() {
+        chunksProcessed.set(0);
+        chunksFailed.set(0);
+        rowsScanned.set(0);
+        rowsUpdated.set(0);
+        lastScannedId = null;
+        lastError = null;
+        startedAt = LocalDateTime.now();
+        finishedAt = null;
+    }
+
+    /**
+     * Minimal view of a borrowing record needed to mark it overdue
+     */
+    private static class OverdueRow {
+        private final long id;
+        private final long bookId;
+        private final long memberId;
+        private final LocalDate dueDate;
+        private final Double fineAmount;
+
+        OverdueRow(long id, long bookId, long memberId, LocalDate dueDate, Double fineAmount) {
+            this.id = id;
+            this.bookId = bookId;
+            this.memberId = memberId;
+            this.dueDate = dueDate;
+            this.fineAmount = fineAmount;
+        }
+    }
+}
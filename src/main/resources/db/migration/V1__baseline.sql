@@ -0,0 +1,132 @@
+-- Baseline schema: the tables as ddl-auto=update created them before Flyway, plus the new tables.
+-- Safe against such a database: existing tables are left alone, only missing ones are created, and
+-- the id generators and member accounts are seeded from the data. Columns and indexes added to the
+-- pre-existing tables (authors, books, members, borrowed_books) go into later versions as ALTERs,
+-- never into these CREATE TABLE bodies, since an existing install skips them.
+
+CREATE TABLE IF NOT EXISTS authors (
+    id          BIGINT       NOT NULL,
+    name        VARCHAR(100) NOT NULL,
+    biography   VARCHAR(500),
+    birth_year  INTEGER,
+    nationality VARCHAR(50),
+    created_at  DATETIME(6),
+    updated_at  DATETIME(6),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS books (
+    id               BIGINT        NOT NULL,
+    title            VARCHAR(200)  NOT NULL,
+    category         VARCHAR(50)   NOT NULL,
+    publishing_year  INTEGER       NOT NULL,
+    isbn             VARCHAR(20),
+    description      VARCHAR(1000),
+    total_copies     INTEGER,
+    available_copies INTEGER,
+    author_id        BIGINT        NOT NULL,
+    created_at       DATETIME(6),
+    updated_at       DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_books_isbn UNIQUE (isbn),
+    CONSTRAINT fk_books_author FOREIGN KEY (author_id) REFERENCES authors (id)
+);
+
+CREATE TABLE IF NOT EXISTS members (
+    id                BIGINT       NOT NULL,
+    name              VARCHAR(100) NOT NULL,
+    email             VARCHAR(100) NOT NULL,
+    phone             VARCHAR(20),
+    address           VARCHAR(200),
+    membership_date   DATETIME(6),
+    membership_status ENUM ('ACTIVE','EXPIRED','INACTIVE','SUSPENDED'),
+    created_at        DATETIME(6),
+    updated_at        DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_members_email UNIQUE (email)
+);
+
+CREATE TABLE IF NOT EXISTS borrowed_books (
+    id          BIGINT NOT NULL,
+    book_id     BIGINT NOT NULL,
+    member_id   BIGINT NOT NULL,
+    borrow_date DATE   NOT NULL,
+    due_date    DATE,
+    return_date DATE,
+    status      ENUM ('BORROWED','DAMAGED','LOST','OVERDUE','RETURNED'),
+    fine_amount DOUBLE,
+    notes       VARCHAR(500),
+    created_at  DATETIME(6),
+    updated_at  DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT fk_borrowed_books_book FOREIGN KEY (book_id) REFERENCES books (id),
+    CONSTRAINT fk_borrowed_books_member FOREIGN KEY (member_id) REFERENCES members (id)
+);
+
+CREATE TABLE IF NOT EXISTS holds (
+    id           BIGINT      NOT NULL,
+    book_id      BIGINT      NOT NULL,
+    member_id    BIGINT      NOT NULL,
+    status       ENUM ('CANCELLED','EXPIRED','FULFILLED','READY','WAITING') NOT NULL,
+    requested_at DATETIME(6) NOT NULL,
+    ready_at     DATETIME(6),
+    expires_at   DATETIME(6),
+    closed_at    DATETIME(6),
+    created_at   DATETIME(6),
+    updated_at   DATETIME(6),
+    PRIMARY KEY (id),
+    INDEX idx_holds_book_status_requested (book_id, status, requested_at, id),
+    INDEX idx_holds_member_status (member_id, status),
+    INDEX idx_holds_status_expires (status, expires_at),
+    CONSTRAINT fk_holds_book FOREIGN KEY (book_id) REFERENCES books (id),
+    CONSTRAINT fk_holds_member FOREIGN KEY (member_id) REFERENCES members (id)
+);
+
+CREATE TABLE IF NOT EXISTS member_accounts (
+    member_id         BIGINT NOT NULL,
+    active_loans      BIGINT NOT NULL,
+    overdue_loans     BIGINT NOT NULL,
+    outstanding_fines DOUBLE NOT NULL,
+    updated_at        DATETIME(6),
+    PRIMARY KEY (member_id)
+);
+
+-- Pooled id generation: each row holds the last id block handed out; seeding it at MAX(id) + 50
+-- makes the next block start after the existing rows. Values only move forward.
+CREATE TABLE IF NOT EXISTS id_generators (
+    sequence_name VARCHAR(255) NOT NULL,
+    next_val      BIGINT,
+    PRIMARY KEY (sequence_name)
+);
+
+INSERT INTO id_generators (sequence_name, next_val)
+SELECT 'authors', COALESCE(MAX(id), 0) + 50 FROM authors
+ON DUPLICATE KEY UPDATE next_val = GREATEST(next_val, VALUES(next_val));
+
+INSERT INTO id_generators (sequence_name, next_val)
+SELECT 'books', COALESCE(MAX(id), 0) + 50 FROM books
+ON DUPLICATE KEY UPDATE next_val = GREATEST(next_val, VALUES(next_val));
+
+INSERT INTO id_generators (sequence_name, next_val)
+SELECT 'members', COALESCE(MAX(id), 0) + 50 FROM members
+ON DUPLICATE KEY UPDATE next_val = GREATEST(next_val, VALUES(next_val));
+
+INSERT INTO id_generators (sequence_name, next_val)
+SELECT 'borrowed_books', COALESCE(MAX(id), 0) + 50 FROM borrowed_books
+ON DUPLICATE KEY UPDATE next_val = GREATEST(next_val, VALUES(next_val));
+
+INSERT INTO id_generators (sequence_name, next_val)
+SELECT 'holds', COALESCE(MAX(id), 0) + 50 FROM holds
+ON DUPLICATE KEY UPDATE next_val = GREATEST(next_val, VALUES(next_val));
+
+-- Account summary of every member that has none yet
+INSERT INTO member_accounts (member_id, active_loans, overdue_loans, outstanding_fines, updated_at)
+SELECT m.id,
+       COALESCE(SUM(CASE WHEN bb.status = 'BORROWED' THEN 1 ELSE 0 END), 0),
+       COALESCE(SUM(CASE WHEN bb.status = 'OVERDUE' THEN 1 ELSE 0 END), 0),
+       COALESCE(SUM(bb.fine_amount), 0),
+       CURRENT_TIMESTAMP
+FROM members m
+LEFT JOIN borrowed_books bb ON bb.member_id = m.id
+WHERE NOT EXISTS (SELECT 1 FROM member_accounts a WHERE a.member_id = m.id)
+GROUP BY m.id;
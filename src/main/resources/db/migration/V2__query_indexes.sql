@@ -0,0 +1,31 @@
+-- Composite and covering indexes for the repository queries (checked by RepositoryQueryPlanTest).
+-- InnoDB appends the primary key to every secondary index, so "(x)" also serves "WHERE x = ? ORDER BY id".
+
+-- findByCategoryIgnoreCase, streamByCategoryWithAuthor, findAllCategories, countBooksByCategory (index only)
+CREATE INDEX idx_books_category ON books (category);
+
+-- findAvailableBooks, streamAvailableWithAuthor, findBooksWithLowStock
+CREATE INDEX idx_books_available_copies ON books (available_copies);
+
+-- findByPublishingYear, findByPublishingYearBetween
+CREATE INDEX idx_books_publishing_year ON books (publishing_year);
+
+-- findByNationalityIgnoreCase
+CREATE INDEX idx_authors_nationality ON authors (nationality);
+
+-- findByMembershipStatus, countActiveMembers
+CREATE INDEX idx_members_status ON members (membership_status);
+
+-- findByPhone
+CREATE INDEX idx_members_phone ON members (phone);
+
+-- findByMembershipDateBetween
+CREATE INDEX idx_members_membership_date ON members (membership_date);
+
+-- findOverdueBooks and the overdue job (equality on status, range on due_date),
+-- findMembersWithOverdueBooks, findMembersWithActiveBorrowings
+CREATE INDEX idx_borrowed_books_status_due ON borrowed_books (status, due_date);
+
+-- isBookCurrentlyBorrowedByMember, findBorrowedBookIdsByMember, countCurrentBorrowingsByMember and the
+-- borrow eligibility / account drift subqueries: all covered without touching the table rows
+CREATE INDEX idx_borrowed_books_member_status_book ON borrowed_books (member_id, status, book_id);
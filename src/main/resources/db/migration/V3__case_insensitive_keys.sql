@@ -0,0 +1,12 @@
+-- Lower-case copies of category and nationality for the case-insensitive lookups. They are generated by
+-- the database, so every write path (JPA, bulk import) keeps them in step, and they compare the same on
+-- MySQL and H2 whatever the column collation is. The index on category stays for the category listing.
+
+-- findByCategoryIgnoreCase, streamByCategoryWithAuthor
+ALTER TABLE books ADD COLUMN category_key VARCHAR(50) GENERATED ALWAYS AS (LOWER(category));
+CREATE INDEX idx_books_category_key ON books (category_key);
+
+-- findByNationalityIgnoreCase
+ALTER TABLE authors ADD COLUMN nationality_key VARCHAR(50) GENERATED ALWAYS AS (LOWER(nationality));
+DROP INDEX idx_authors_nationality ON authors;
+CREATE INDEX idx_authors_nationality_key ON authors (nationality_key);
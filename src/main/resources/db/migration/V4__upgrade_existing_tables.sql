@@ -0,0 +1,7 @@
+-- Additions to tables that databases created by ddl-auto=update already had, which V1 therefore skips.
+
+-- Optimistic lock of Book (whole-entity edits)
+ALTER TABLE books ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
+
+-- findByBorrowDateBetweenWithDetails: range on borrow_date, keyset/ordering on id
+CREATE INDEX idx_borrowed_books_borrow_date ON borrowed_books (borrow_date, id);
@@ -0,0 +1,181 @@
+package com.samsung.library.repository;
+
+import com.samsung.library.dto.AuthorDTO;
+import com.samsung.library.dto.PageResponseDTO;
+import com.samsung.library.model.Author;
+import com.samsung.library.service.AuthorService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.lang.management.ManagementFactory;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Query count of the paged authors listing, plus an opt-in benchmark against the old
+ * LEFT JOIN FETCH listing:
+ *   mvn test -Dtest=AuthorListingQueryTest -Dbenchmark=true -Dbenchmark.authors=20000 -Dbenchmark.booksPerAuthor=25
+ */
+@DataJpaTest(showSql = false, properties = {
+        "spring.datasource.url=jdbc:h2:mem:authors;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.sql.init.mode=never",
+        "logging.level.org.hibernate.SQL=info",
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=warn"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(AuthorService.class)
+class AuthorListingQueryTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuthorListingQueryTest.class);
+
+    @Autowired
+    private AuthorService authorService;
+
+    @Autowired
+    private AuthorRepository authorRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private JdbcTemplate jdbcTemplate;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.update("DELETE FROM books");
+        jdbcTemplate.update("DELETE FROM authors");
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void pageOfAuthorsWithBooksTakesAtMostTwoQueries() {
+        insertCatalog(30, 8);
+
+        statistics.clear();
+        PageResponseDTO<AuthorDTO> page = authorService.getAuthorsPage(0, 10, 3);
+
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(2);
+        assertThat(page.getContent()).hasSize(10);
+        assertThat(page.isHasNext()).isTrue();
+        assertThat(page.getContent()).allSatisfy(author -> {
+            assertThat(author.getBookCount()).isEqualTo(8L);
+            assertThat(author.getBooks()).hasSize(3);
+        });
+
+        statistics.clear();
+        PageResponseDTO<AuthorDTO> last = authorService.getAuthorsPage(2, 10, 0);
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(last.isHasNext()).isFalse();
+        assertThat(last.getContent()).allSatisfy(author -> assertThat(author.getBooks()).isNull());
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void compareWithFetchJoinListing() {
+        int authors = Integer.getInteger("benchmark.authors", 20_000);
+        int booksPerAuthor = Integer.getInteger("benchmark.booksPerAuthor", 25);
+        insertCatalog(authors, booksPerAuthor);
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        logger.info("{} authors x {} books", authors, booksPerAuthor);
+        logger.info(String.format("%-36s %10s %12s %14s %8s", "listing", "rows", "time ms", "allocated MB", "queries"));
+        measure("findAllWithBooks (old)", () -> readOnly.execute(status -> {
+            List<Author> all = authorRepository.findAllWithBooks();
+            return all.stream().mapToInt(author -> author.getBooks().size()).sum();
+        }));
+        measure("page of 20, counts only", () -> authorService.getAuthorsPage(10, 20, 0).getContent().size());
+        measure("page of 20, 5 books each", () -> authorService.getAuthorsPage(10, 20, 5).getContent().stream()
+                .mapToInt(author -> author.getBooks().size()).sum());
+        measure("page of 100, 5 books each", () -> authorService.getAuthorsPage(10, 100, 5).getContent().stream()
+                .mapToInt(author -> author.getBooks().size()).sum());
+    }
+
+    private void measure(String label, Supplier<Integer> listing) {
+        listing.get();
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().threadId();
+        statistics.clear();
+        long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        int rows = listing.get();
+        long elapsed = System.nanoTime() - start;
+        long allocated = threads.getThreadAllocatedBytes(threadId) - allocatedBefore;
+        logger.info(String.format("%-36s %,10d %12.1f %14.1f %8d", label, rows, elapsed / 1_000_000.0,
+                allocated / 1024.0 / 1024.0, statistics.getPrepareStatementCount()));
+    }
+
+    private void insertCatalog(int authors, int booksPerAuthor) {
+        jdbcTemplate.batchUpdate("INSERT INTO authors (id, name, nationality) VALUES (?, ?, 'X')",
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        ps.setLong(1, i + 1);
+                        ps.setString(2, "Author " + (i + 1));
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return authors;
+                    }
+                });
+        int batch = 10_000;
+        long total = (long) authors * booksPerAuthor;
+        for (long from = 0; from < total; from += batch) {
+            long offset = from;
+            int size = (int) Math.min(batch, total - from);
+            jdbcTemplate.batchUpdate("INSERT INTO books (id, title, category, publishing_year, total_copies, " +
+                    "available_copies, version, author_id) VALUES (?, ?, 'Fiction', 2000, 2, 2, 0, ?)",
+                    new BatchPreparedStatementSetter() {
+                        @Override
+                        public void setValues(PreparedStatement ps, int i) throws SQLException {
+                            long id = offset + i + 1;
+                            ps.setLong(1, id);
+                            ps.setString(2, "Book " + id);
+                            ps.setLong(3, (id - 1) / booksPerAuthor + 1);
+                        }
+
+                        @Override
+                        public int getBatchSize() {
+                            return size;
+                        }
+                    });
+        }
+    }
+}
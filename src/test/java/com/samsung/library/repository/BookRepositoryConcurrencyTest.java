@@ -0,0 +1,301 @@
+package com.samsung.library.repository;
+
+import com.samsung.library.model.Author;
+import com.samsung.library.model.Book;
+import com.samsung.library.model.BorrowedBook;
+import com.samsung.library.model.Member;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Multithreaded stress test for the conditional copy-count updates in BookRepository.
+ * Every operation runs in its own transaction, the way concurrent borrow/return requests do.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:concurrency;MODE=MySQL;LOCK_TIMEOUT=30000;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.datasource.hikari.maximum-pool-size=32",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false",
+        "spring.sql.init.mode=never"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class BookRepositoryConcurrencyTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(BookRepositoryConcurrencyTest.class);
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private AuthorRepository authorRepository;
+
+    @Autowired
+    private BorrowedBookRepository borrowedBookRepository;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void concurrentBorrowsNeverOversellCopies() throws Exception {
+        int copies = 100;
+        int threads = 32;
+        int attemptsPerThread = 20;
+        Long bookId = createBook(copies);
+
+        List<Integer> successes = runConcurrently(threads, thread -> {
+            int taken = 0;
+            for (int i = 0; i < attemptsPerThread; i++) {
+                taken += inTransaction(() -> bookRepository.decrementAvailableCopies(bookId));
+            }
+            return taken;
+        });
+
+        int totalTaken = successes.stream().mapToInt(Integer::intValue).sum();
+        assertThat(totalTaken).isEqualTo(copies);
+        assertThat(availableCopies(bookId)).isZero();
+    }
+
+    @Test
+    void concurrentBorrowAndReturnLoseNoUpdates() throws Exception {
+        int copies = 10;
+        int threads = 16;
+        int cyclesPerThread = 50;
+        Long bookId = createBook(copies);
+
+        List<Integer> imbalances = runConcurrently(threads, thread -> {
+            int outstanding = 0;
+            for (int i = 0; i < cyclesPerThread; i++) {
+                if (inTransaction(() -> bookRepository.decrementAvailableCopies(bookId)) == 1) {
+                    outstanding++;
+                    // Every copy taken must be put back exactly once
+                    outstanding -= inTransaction(() -> bookRepository.incrementAvailableCopies(bookId));
+                }
+            }
+            return outstanding;
+        });
+
+        assertThat(imbalances).allMatch(outstanding -> outstanding == 0);
+        assertThat(availableCopies(bookId)).isEqualTo(copies);
+    }
+
+    @Test
+    void returnsNeverExceedTotalCopies() throws Exception {
+        int copies = 5;
+        Long bookId = createBook(copies);
+
+        List<Integer> returned = runConcurrently(8, thread ->
+                inTransaction(() -> bookRepository.incrementAvailableCopies(bookId)));
+
+        assertThat(returned).allMatch(count -> count == 0);
+        assertThat(availableCopies(bookId)).isEqualTo(copies);
+    }
+
+    @Test
+    void concurrentReturnsCloseLoanOnce() throws Exception {
+        Long loanId = createLoan(createBook(1));
+
+        List<Integer> closed = runConcurrently(8, thread ->
+                inTransaction(() -> borrowedBookRepository.closeLoan(loanId, LocalDate.now(), 0.0)));
+
+        // Only the return that closed the record may put the copy back
+        assertThat(closed.stream().mapToInt(Integer::intValue).sum()).isEqualTo(1);
+    }
+
+    @Test
+    void returnAfterLockedBatchReturnClosesNothing() throws Exception {
+        Long loanId = createLoan(createBook(1));
+        CountDownLatch locked = new CountDownLatch(1);
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+
+        // A batch return holds the record lock and closes it while a single return is waiting
+        List<Integer> closed = runConcurrently(2, thread -> thread == 0
+                ? tx.execute(status -> {
+                    borrowedBookRepository.lockBookIdsByIdIn(List.of(loanId));
+                    locked.countDown();
+                    sleep(200);
+                    return borrowedBookRepository.closeLoan(loanId, LocalDate.now(), 0.0);
+                })
+                : call(() -> {
+                    locked.await();
+                    return inTransaction(() -> borrowedBookRepository.closeLoan(loanId, LocalDate.now(), 0.0));
+                }));
+
+        assertThat(closed).containsExactly(1, 0);
+    }
+
+    @Test
+    void staleEntityEditFailsOptimisticCheckAfterConcurrentBorrow() {
+        Long bookId = createBook(3);
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+
+        assertThatThrownBy(() -> tx.executeWithoutResult(status -> {
+            Book stale = bookRepository.findById(bookId).orElseThrow();
+
+            // A borrow commits while the edit is in flight
+            inNewTransaction(() -> bookRepository.decrementAvailableCopies(bookId));
+
+            stale.setAvailableCopies(1);
+            bookRepository.saveAndFlush(stale);
+        })).isInstanceOf(ObjectOptimisticLockingFailureException.class);
+
+        assertThat(availableCopies(bookId)).isEqualTo(2);
+    }
+
+    /**
+     * Opt-in (timing dependent): mvn test -Dtest=BookRepositoryConcurrencyTest -Dbenchmark=true
+     * Borrow+return throughput on separate titles must grow with the thread count, since the
+     * conditional updates only lock the row of the title they touch.
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void throughputScalesWithThreadsAcrossTitles() throws Exception {
+        int operationsPerThread = Integer.getInteger("benchmark.operations", 200);
+        int maxThreads = Math.min(8, Runtime.getRuntime().availableProcessors());
+        assumeTrue(maxThreads > 1, "Scaling needs more than one CPU");
+
+        TreeMap<Integer, Double> opsPerSecond = new TreeMap<>();
+        for (int threads = 1; threads <= maxThreads; threads *= 2) {
+            List<Long> bookIds = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                bookIds.add(createBook(operationsPerThread));
+            }
+
+            long start = System.nanoTime();
+            List<Integer> completed = runConcurrently(threads, thread -> {
+                Long bookId = bookIds.get(thread);
+                int done = 0;
+                for (int i = 0; i < operationsPerThread; i++) {
+                    done += inTransaction(() -> bookRepository.decrementAvailableCopies(bookId));
+                    done += inTransaction(() -> bookRepository.incrementAvailableCopies(bookId));
+                }
+                return done;
+            });
+            double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+            int total = completed.stream().mapToInt(Integer::intValue).sum();
+            assertThat(total).isEqualTo(threads * operationsPerThread * 2);
+            for (Long bookId : bookIds) {
+                assertThat(availableCopies(bookId)).isEqualTo(operationsPerThread);
+            }
+            opsPerSecond.put(threads, total / seconds);
+            logger.info("{} thread(s): {} borrow+return ops/s", threads, String.format("%,.0f", total / seconds));
+        }
+
+        // Well above the single-thread rate, with room for noise on a shared machine
+        int most = opsPerSecond.lastKey();
+        assertThat(opsPerSecond.get(most)).as("ops/s at %d threads", most)
+                .isGreaterThan(opsPerSecond.get(1) * 1.3);
+    }
+
+    // =============== HELPERS ===============
+
+    private interface ThreadTask {
+        int run(int thread) throws Exception;
+    }
+
+    private List<Integer> runConcurrently(int threads, ThreadTask task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch startGate = new CountDownLatch(1);
+        try {
+            List<Future<Integer>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int thread = t;
+                Callable<Integer> callable = () -> {
+                    startGate.await();
+                    return task.run(thread);
+                };
+                futures.add(executor.submit(callable));
+            }
+            startGate.countDown();
+
+            List<Integer> results = new ArrayList<>();
+            for (Future<Integer> future : futures) {
+                results.add(future.get(2, TimeUnit.MINUTES));
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private int inTransaction(Callable<Integer> work) {
+        return new TransactionTemplate(transactionManager).execute(status -> call(work));
+    }
+
+    private void inNewTransaction(Callable<Integer> work) {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        tx.setPropagationBehavior(TransactionTemplate.PROPAGATION_REQUIRES_NEW);
+        tx.execute(status -> call(work));
+    }
+
+    private static Integer call(Callable<Integer> work) {
+        try {
+            return work.call();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private Long createBook(int copies) {
+        return new TransactionTemplate(transactionManager).execute(status -> {
+            Author author = authorRepository.save(new Author("Stress Author", null, 1950, "Testland"));
+            Book book = new Book("Stress Title", "Fiction", 2000, null, null, copies, author);
+            return bookRepository.save(book).getId();
+        });
+    }
+
+    private Long createLoan(Long bookId) {
+        return new TransactionTemplate(transactionManager).execute(status -> {
+            Member member = memberRepository.save(new Member("Stress Member",
+                    "stress" + System.nanoTime() + "@example.com", null, null));
+            Book book = bookRepository.findById(bookId).orElseThrow();
+            return borrowedBookRepository.save(new BorrowedBook(book, member, null, null)).getId();
+        });
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private int availableCopies(Long bookId) {
+        return new TransactionTemplate(transactionManager).execute(status ->
+                bookRepository.findById(bookId).orElseThrow().getAvailableCopies());
+    }
+}
@@ -0,0 +1,120 @@
+package com.samsung.library.repository;
+
+import com.samsung.library.model.Author;
+import com.samsung.library.model.Book;
+import com.samsung.library.model.Hold;
+import com.samsung.library.model.HoldStatus;
+import com.samsung.library.model.Member;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Queue order and the conditional status updates the hold fulfilment relies on
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:holds;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false",
+        "spring.sql.init.mode=never"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class HoldRepositoryTest {
+
+    @Autowired
+    private HoldRepository holdRepository;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private AuthorRepository authorRepository;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Test
+    void queueIsServedInRequestOrder() {
+        Book book = createBook();
+        LocalDateTime start = LocalDateTime.of(2025, 1, 1, 9, 0);
+        Hold second = createHold(book, "second", start.plusMinutes(5));
+        Hold first = createHold(book, "first", start);
+        Hold third = createHold(book, "third", start.plusMinutes(5));
+
+        List<Hold> head = holdRepository.findQueueHead(book.getId(), Limit.of(2));
+
+        assertThat(head).extracting(Hold::getId).containsExactly(first.getId(), second.getId());
+        assertThat(holdRepository.countWaitingAhead(book.getId(), third.getRequestedAt(), third.getId())).isEqualTo(2);
+    }
+
+    @Test
+    void statusChangesOnlyApplyToHoldsInTheExpectedStatus() {
+        Book book = createBook();
+        Hold hold = createHold(book, "member", LocalDateTime.now());
+        LocalDateTime now = LocalDateTime.now();
+
+        assertThat(holdRepository.markReady(hold.getId(), now, now.minusMinutes(1))).isEqualTo(1);
+        assertThat(holdRepository.markReady(hold.getId(), now, now.plusDays(3))).isZero();
+        assertThat(holdRepository.findQueueHead(book.getId(), Limit.of(1))).isEmpty();
+        assertThat(holdRepository.findExpiredReadyIds(now, Limit.of(10))).containsExactly(hold.getId());
+
+        assertThat(holdRepository.close(List.of(hold.getId()), HoldStatus.READY, HoldStatus.EXPIRED, now)).isEqualTo(1);
+        assertThat(holdRepository.close(List.of(hold.getId()), HoldStatus.READY, HoldStatus.FULFILLED, now)).isZero();
+        assertThat(holdRepository.findExpiredReadyIds(now, Limit.of(10))).isEmpty();
+    }
+
+    @Test
+    void holdsAreRemovedBeforeTheirBookMemberOrAuthorIsDeleted() {
+        LocalDateTime now = LocalDateTime.now();
+        Book book = createBook();
+        Hold closed = createHold(book, "closed", now);
+        holdRepository.close(List.of(closed.getId()), HoldStatus.WAITING, HoldStatus.CANCELLED, now);
+        createHold(book, "waiting", now);
+
+        // A closed hold still references its book, so it has to go too
+        assertThat(holdRepository.deleteByBookId(book.getId())).isEqualTo(2);
+        bookRepository.deleteById(book.getId());
+        bookRepository.flush();
+        assertThat(holdRepository.count()).isZero();
+
+        Long memberId = createHold(createBook(), "member", now).getMember().getId();
+        assertThat(holdRepository.deleteByMemberId(memberId)).isEqualTo(1);
+        memberRepository.deleteById(memberId);
+        memberRepository.flush();
+        assertThat(memberRepository.existsById(memberId)).isFalse();
+
+        Book authorBook = createBook();
+        createHold(authorBook, "author", now);
+        createHold(authorBook, "author2", now);
+        Long authorId = authorBook.getAuthor().getId();
+        assertThat(holdRepository.deleteByAuthorId(authorId)).isEqualTo(2);
+        authorRepository.deleteById(authorId);
+        authorRepository.flush();
+        assertThat(bookRepository.existsById(authorBook.getId())).isFalse();
+        assertThat(holdRepository.count()).isZero();
+    }
+
+    private Book createBook() {
+        Author author = authorRepository.save(new Author("Queue Author", null, 1950, "Nowhere"));
+        return bookRepository.save(new Book("Popular Title", "Fiction", 2020,
+                "978-" + System.nanoTime(), null, 1, author));
+    }
+
+    private Hold createHold(Book book, String name, LocalDateTime requestedAt) {
+        Member member = memberRepository.save(new Member(name, name + System.nanoTime() + "@example.com", null, null));
+        Hold hold = new Hold(book, member);
+        hold.setRequestedAt(requestedAt);
+        return holdRepository.saveAndFlush(hold);
+    }
+}
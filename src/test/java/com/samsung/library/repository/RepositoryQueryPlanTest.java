@@ -0,0 +1,282 @@
+package com.samsung.library.repository;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs every query method of the repositories against a seeded database built by the Flyway
+ * migrations (schema validated against the entities) and EXPLAINs each statement it sends.
+ * Fails when a plan scans a whole table, unless the method is listed in FULL_SCAN_ALLOWED:
+ * queries that have to read every row (listings, substring search) or that H2 plans differently.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:plans;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=" +
+                "com.samsung.library.repository.RepositoryQueryPlanTest$SqlRecorder",
+        "spring.jpa.show-sql=false",
+        "spring.sql.init.mode=never"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class RepositoryQueryPlanTest {
+
+    private static final List<Class<?>> REPOSITORIES = List.of(AuthorRepository.class, BookRepository.class,
+            MemberRepository.class, BorrowedBookRepository.class, HoldRepository.class, MemberAccountRepository.class);
+
+    private static final Map<String, String> FULL_SCAN_ALLOWED = Map.ofEntries(
+            Map.entry("AuthorRepository.findByNameContainingIgnoreCase", "substring search"),
+            Map.entry("AuthorRepository.findAllWithBooks", "every author"),
+            Map.entry("BookRepository.findByTitleContainingIgnoreCase", "substring search"),
+            Map.entry("BookRepository.searchBooks", "optional substring filters (search goes through BookSearchIndex)"),
+            Map.entry("BookRepository.streamAllWithAuthor", "every book"),
+            Map.entry("BookRepository.streamAvailableWithAuthor", "most of the catalog, H2 drives the join from authors"),
+            Map.entry("MemberRepository.findByNameContainingIgnoreCase", "substring search"),
+            Map.entry("MemberRepository.searchMembers", "substring search"),
+            Map.entry("BorrowedBookRepository.findAllWithDetails", "page over all loans"),
+            Map.entry("BorrowedBookRepository.findByBorrowDateBetweenWithDetails",
+                    "H2 drives the join from authors; MySQL ranges over idx_borrowed_books_borrow_date"));
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void seed() {
+        if (jdbcTemplate.queryForObject("SELECT COUNT(*) FROM books", Integer.class) > 0) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        String[] categories = {"Fiction", "Science", "History", "Poetry", "Travel", "Children", "Art", "Biography"};
+        String[] statuses = {"RETURNED", "RETURNED", "BORROWED", "OVERDUE", "RETURNED"};
+
+        List<Object[]> authors = new ArrayList<>();
+        for (long id = 1; id <= 200; id++) {
+            authors.add(new Object[]{id, "Author " + id, "Nation " + (id % 40), now, now});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO authors (id, name, nationality, created_at, updated_at) " +
+                "VALUES (?, ?, ?, ?, ?)", authors);
+
+        List<Object[]> books = new ArrayList<>();
+        for (long id = 1; id <= 4000; id++) {
+            int copies = (int) (id % 5) + 1;
+            books.add(new Object[]{id, "Title " + id, categories[(int) (id % categories.length)],
+                    1900 + (int) (id % 120), "isbn-" + id, copies, id % 10 == 0 ? copies : 0, (id % 200) + 1, now, now});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO books (id, title, category, publishing_year, isbn, total_copies, " +
+                "available_copies, version, author_id, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, 0, ?, ?, ?)", books);
+
+        List<Object[]> members = new ArrayList<>();
+        List<Object[]> accounts = new ArrayList<>();
+        for (long id = 1; id <= 1000; id++) {
+            members.add(new Object[]{id, "Member " + id, "member" + id + "@example.com", "555-" + id,
+                    Timestamp.valueOf(LocalDateTime.now().minusDays(id)), id % 20 == 0 ? "SUSPENDED" : "ACTIVE", now, now});
+            accounts.add(new Object[]{id, now});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO members (id, name, email, phone, membership_date, membership_status, " +
+                "created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)", members);
+        jdbcTemplate.batchUpdate("INSERT INTO member_accounts (member_id, active_loans, overdue_loans, " +
+                "outstanding_fines, updated_at) VALUES (?, 0, 0, 0, ?)", accounts);
+
+        List<Object[]> loans = new ArrayList<>();
+        for (long id = 1; id <= 20000; id++) {
+            LocalDate borrowed = LocalDate.now().minusDays(id % 365);
+            loans.add(new Object[]{id, (id % 4000) + 1, (id % 1000) + 1, Date.valueOf(borrowed),
+                    Date.valueOf(borrowed.plusDays(14)), statuses[(int) (id % statuses.length)], 0.0, now, now});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO borrowed_books (id, book_id, member_id, borrow_date, due_date, status, " +
+                "fine_amount, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)", loans);
+
+        List<Object[]> holds = new ArrayList<>();
+        for (long id = 1; id <= 2000; id++) {
+            holds.add(new Object[]{id, (id % 4000) + 1, (id % 1000) + 1, id % 3 == 0 ? "READY" : "WAITING", now});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO holds (id, book_id, member_id, status, requested_at) " +
+                "VALUES (?, ?, ?, ?, ?)", holds);
+
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @Test
+    void repositoryQueriesUseIndexes() throws Exception {
+        List<String> violations = new ArrayList<>();
+        Set<String> scanning = new HashSet<>();
+        int explained = 0;
+
+        for (Class<?> repository : REPOSITORIES) {
+            Object bean = context.getBean(repository);
+            for (Method method : declaredQueryMethods(repository)) {
+                String name = repository.getSimpleName() + "." + method.getName();
+                List<String> statements = run(bean, method);
+                assertThat(statements).as("SQL issued by %s", name).isNotEmpty();
+
+                for (String sql : statements) {
+                    String plan = explain(sql);
+                    explained++;
+                    if (!plan.contains("tableScan")) {
+                        continue;
+                    }
+                    scanning.add(name);
+                    if (!FULL_SCAN_ALLOWED.containsKey(name)) {
+                        violations.add(name + " scans a whole table:\n    " + plan.replace("\n", "\n    "));
+                    }
+                }
+            }
+        }
+
+        assertThat(explained).isGreaterThan(50);
+        assertThat(violations).as("Queries without a usable index").isEmpty();
+        // Keep the allowlist honest: drop entries once their query has an index
+        assertThat(scanning).as("Allowed full scans").containsAll(FULL_SCAN_ALLOWED.keySet());
+    }
+
+    @Test
+    void categoryAndNationalityLookupsIgnoreCase() {
+        BookRepository books = context.getBean(BookRepository.class);
+        AuthorRepository authors = context.getBean(AuthorRepository.class);
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+
+        assertThat(books.findByCategoryIgnoreCase("fICTION")).hasSize(500);
+        Long streamed = template.execute(status -> {
+            try (Stream<?> stream = books.streamByCategoryWithAuthor("science")) {
+                return stream.count();
+            }
+        });
+        assertThat(streamed).isEqualTo(500L);
+        assertThat(authors.findByNationalityIgnoreCase("NATION 7")).hasSize(5);
+    }
+
+    // =============== HELPERS ===============
+
+    private static List<Method> declaredQueryMethods(Class<?> repository) {
+        return Arrays.stream(repository.getDeclaredMethods())
+                .filter(method -> !method.isDefault() && !Modifier.isStatic(method.getModifiers()))
+                .sorted((a, b) -> a.toString().compareTo(b.toString()))
+                .toList();
+    }
+
+    /**
+     * Invoke the method with placeholder arguments in a rolled-back transaction and return the SQL it sent
+     */
+    private List<String> run(Object bean, Method method) {
+        Object[] args = Arrays.stream(method.getGenericParameterTypes()).map(RepositoryQueryPlanTest::argument).toArray();
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        return template.execute(status -> {
+            status.setRollbackOnly();
+            SqlRecorder.STATEMENTS.clear();
+            try {
+                Object result = method.invoke(bean, args);
+                if (result instanceof Stream<?> stream) {
+                    try (stream) {
+                        stream.forEach(row -> { });
+                    }
+                }
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException(method + " failed", e.getCause() != null ? e.getCause() : e);
+            }
+            return new ArrayList<>(SqlRecorder.STATEMENTS);
+        });
+    }
+
+    private static Object argument(Type type) {
+        Class<?> raw = type instanceof ParameterizedType parameterized
+                ? (Class<?>) parameterized.getRawType() : (Class<?>) type;
+        if (raw == Long.class || raw == long.class) {
+            return 7L;
+        } else if (raw == Integer.class || raw == int.class) {
+            return 3;
+        } else if (raw == Double.class || raw == double.class) {
+            return 1.0;
+        } else if (raw == String.class) {
+            return "Fiction";
+        } else if (raw == LocalDate.class) {
+            return LocalDate.now();
+        } else if (raw == LocalDateTime.class) {
+            return LocalDateTime.now();
+        } else if (raw == Limit.class) {
+            return Limit.of(10);
+        } else if (raw == Pageable.class) {
+            return PageRequest.of(0, 10, Sort.by("id"));
+        } else if (raw.isEnum()) {
+            return raw.getEnumConstants()[0];
+        } else if (Collection.class.isAssignableFrom(raw)) {
+            Type element = ((ParameterizedType) type).getActualTypeArguments()[0];
+            if (element instanceof Class<?> elementClass && elementClass.isEnum()) {
+                return List.of(elementClass.getEnumConstants());
+            }
+            return List.of(3L, 7L, 11L);
+        }
+        throw new IllegalArgumentException("No placeholder argument for " + type);
+    }
+
+    /**
+     * H2 plan of a statement (parameters left unbound: H2 plans at prepare time, not per value)
+     */
+    private String explain(String sql) {
+        return jdbcTemplate.query("EXPLAIN " + sql, rs -> {
+            StringBuilder plan = new StringBuilder();
+            while (rs.next()) {
+                plan.append(rs.getString(1));
+            }
+            return plan.toString();
+        });
+    }
+
+    /**
+     * Collects the SQL Hibernate prepares (registered through hibernate.session_factory.statement_inspector)
+     */
+    public static class SqlRecorder implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.samsung.library.repository;
+
+import com.samsung.library.model.Book;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Upgrade of an install that predates Flyway: the database is first given the schema ddl-auto=update
+ * created from the original entities, with some rows, and the context then baselines it, runs every
+ * migration and validates the entities against the result.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.flyway.enabled=true",
+        "spring.flyway.baseline-on-migrate=true",
+        "spring.flyway.baseline-version=0",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false",
+        "spring.sql.init.mode=never"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SchemaUpgradeTest {
+
+    private static final String URL = "jdbc:h2:mem:upgrade;MODE=MySQL;DB_CLOSE_DELAY=-1";
+
+    // Tables as ddl-auto=update created them from the entities before this schema was versioned
+    private static final String[] PRE_FLYWAY_SCHEMA = {
+            "CREATE TABLE authors (id BIGINT NOT NULL AUTO_INCREMENT, name VARCHAR(100) NOT NULL, " +
+                    "biography VARCHAR(500), birth_year INTEGER, nationality VARCHAR(50), " +
+                    "created_at DATETIME(6), updated_at DATETIME(6), PRIMARY KEY (id))",
+            "CREATE TABLE books (id BIGINT NOT NULL AUTO_INCREMENT, title VARCHAR(200) NOT NULL, " +
+                    "category VARCHAR(50) NOT NULL, publishing_year INTEGER NOT NULL, isbn VARCHAR(20), " +
+                    "description VARCHAR(1000), total_copies INTEGER, available_copies INTEGER, " +
+                    "author_id BIGINT NOT NULL, created_at DATETIME(6), updated_at DATETIME(6), PRIMARY KEY (id), " +
+                    "CONSTRAINT uk_books_isbn UNIQUE (isbn), " +
+                    "CONSTRAINT fk_books_author FOREIGN KEY (author_id) REFERENCES authors (id))",
+            "CREATE TABLE members (id BIGINT NOT NULL AUTO_INCREMENT, name VARCHAR(100) NOT NULL, " +
+                    "email VARCHAR(100) NOT NULL, phone VARCHAR(20), address VARCHAR(200), " +
+                    "membership_date DATETIME(6), " +
+                    "membership_status ENUM ('ACTIVE','EXPIRED','INACTIVE','SUSPENDED'), " +
+                    "created_at DATETIME(6), updated_at DATETIME(6), PRIMARY KEY (id), " +
+                    "CONSTRAINT uk_members_email UNIQUE (email))",
+            "CREATE TABLE borrowed_books (id BIGINT NOT NULL AUTO_INCREMENT, book_id BIGINT NOT NULL, " +
+                    "member_id BIGINT NOT NULL, borrow_date DATE NOT NULL, due_date DATE, return_date DATE, " +
+                    "status ENUM ('BORROWED','DAMAGED','LOST','OVERDUE','RETURNED'), fine_amount DOUBLE, " +
+                    "notes VARCHAR(500), created_at DATETIME(6), updated_at DATETIME(6), PRIMARY KEY (id), " +
+                    "CONSTRAINT fk_borrowed_books_book FOREIGN KEY (book_id) REFERENCES books (id), " +
+                    "CONSTRAINT fk_borrowed_books_member FOREIGN KEY (member_id) REFERENCES members (id))",
+            "INSERT INTO authors (id, name, nationality) VALUES (1, 'Old Author', 'Nowhere')",
+            "INSERT INTO books (id, title, category, publishing_year, isbn, total_copies, available_copies, author_id) " +
+                    "VALUES (1, 'Old Title', 'Fiction', 1990, 'old-1', 2, 1, 1)",
+            "INSERT INTO members (id, name, email, membership_status) VALUES (1, 'Old Member', 'old@example.com', 'ACTIVE')",
+            "INSERT INTO borrowed_books (id, book_id, member_id, borrow_date, due_date, status, fine_amount) " +
+                    "VALUES (1, 1, 1, DATE '2024-01-01', DATE '2024-01-15', 'BORROWED', 0)"
+    };
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Runs before the context (and so Flyway) starts
+    @DynamicPropertySource
+    static void preFlywayDatabase(DynamicPropertyRegistry registry) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(URL, "sa", "");
+             Statement statement = connection.createStatement()) {
+            for (String sql : PRE_FLYWAY_SCHEMA) {
+                statement.execute(sql);
+            }
+        }
+        registry.add("spring.datasource.url", () -> URL);
+    }
+
+    @Test
+    void existingInstallIsUpgradedToTheEntitySchema() {
+        // The context only starts if ddl-auto=validate accepted the migrated schema
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM \"flyway_schema_history\" WHERE \"success\" AND \"version\" = '4'", Integer.class))
+                .isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM INFORMATION_SCHEMA.INDEXES " +
+                "WHERE INDEX_NAME = 'IDX_BORROWED_BOOKS_BORROW_DATE'", Integer.class)).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT active_loans FROM member_accounts WHERE member_id = 1", Long.class)).isEqualTo(1L);
+
+        // Existing rows start at version 0 and take versioned edits
+        Book book = bookRepository.findById(1L).orElseThrow();
+        assertThat(book.getVersion()).isZero();
+        book.setTitle("Renamed Title");
+        assertThat(bookRepository.saveAndFlush(book).getVersion()).isEqualTo(1L);
+        assertThat(bookRepository.findByCategoryIgnoreCase("FICTION")).hasSize(1);
+    }
+}
@@ -0,0 +1,167 @@
+package com.samsung.library.search;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Supplier;
+
+/**
+ * Compares the search index with the SQL LIKE query it replaces on a synthetic catalog.
+ *
+ * Disabled by default; run with
+ *   mvn test -Dtest=BookSearchBenchmarkTest -Dbenchmark=true -Dbenchmark.books=1000000 -DargLine=-Xmx3g
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class BookSearchBenchmarkTest {
+
+    // Same predicate as BookRepository.searchBooks
+    private static final String LIKE_SQL =
+            "SELECT b.id FROM books b JOIN authors a ON a.id = b.author_id WHERE " +
+            "(? IS NULL OR LOWER(b.title) LIKE LOWER(CONCAT('%', ?, '%'))) AND " +
+            "(? IS NULL OR LOWER(a.name) LIKE LOWER(CONCAT('%', ?, '%')))";
+
+    private static final String[] CATEGORIES = {"Fiction", "Fantasy", "Science Fiction", "Mystery", "History",
+            "Biography", "Poetry", "Romance", "Science", "Travel", "Philosophy", "Children"};
+
+    @Test
+    void compareWithLikeQuery() {
+        int books = Integer.getInteger("benchmark.books", 1_000_000);
+        int authors = Math.max(books / 20, 1);
+        int iterations = Integer.getInteger("benchmark.iterations", 20);
+        Random random = new Random(42);
+        String[] vocabulary = vocabulary(random, 20_000);
+
+        SingleConnectionDataSource dataSource = new SingleConnectionDataSource(
+                "jdbc:h2:mem:search-benchmark;MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "", true);
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE authors (id BIGINT PRIMARY KEY, name VARCHAR(100))");
+        jdbc.execute("CREATE TABLE books (id BIGINT PRIMARY KEY, title VARCHAR(255), description VARCHAR(1000), " +
+                "category VARCHAR(50), publishing_year INT, author_id BIGINT)");
+
+        String[] authorNames = new String[authors];
+        for (int i = 0; i < authors; i++) {
+            authorNames[i] = capitalize(vocabulary[random.nextInt(vocabulary.length)]) + " "
+                    + capitalize(vocabulary[random.nextInt(vocabulary.length)]);
+        }
+        jdbc.batchUpdate("INSERT INTO authors VALUES (?, ?)", new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                ps.setLong(1, i + 1);
+                ps.setString(2, authorNames[i]);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return authors;
+            }
+        });
+
+        BookSearchIndex index = new BookSearchIndex();
+        long loadStart = System.nanoTime();
+        int batchSize = 10_000;
+        for (int from = 0; from < books; from += batchSize) {
+            List<BookSearchIndex.Document> batch = new ArrayList<>(batchSize);
+            for (int id = from + 1; id <= Math.min(from + batchSize, books); id++) {
+                long authorId = random.nextInt(authors) + 1;
+                BookSearchIndex.Document document = new BookSearchIndex.Document((long) id,
+                        sentence(random, vocabulary, 2 + random.nextInt(4)),
+                        sentence(random, vocabulary, 8 + random.nextInt(8)),
+                        CATEGORIES[random.nextInt(CATEGORIES.length)],
+                        1900 + random.nextInt(125), authorId, authorNames[(int) authorId - 1]);
+                batch.add(document);
+                index.index(document);
+            }
+            jdbc.batchUpdate("INSERT INTO books VALUES (?, ?, ?, ?, ?, ?)", new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    BookSearchIndex.Document document = batch.get(i);
+                    ps.setLong(1, document.getBookId());
+                    ps.setString(2, document.getTitle());
+                    ps.setString(3, document.getDescription());
+                    ps.setString(4, document.getCategory());
+                    ps.setInt(5, document.getPublishingYear());
+                    ps.setLong(6, document.getAuthorId());
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return batch.size();
+                }
+            });
+        }
+        System.out.printf("Loaded %,d books (%,d terms) in %,d ms%n", index.size(), index.termCount(),
+                (System.nanoTime() - loadStart) / 1_000_000);
+
+        String common = vocabulary[0];
+        String rare = vocabulary[vocabulary.length - 1];
+        String prefix = vocabulary[1].substring(0, 3);
+        String[][] queries = {{common, null}, {rare, null}, {prefix, null},
+                {common, authorNames[0].split(" ")[0].toLowerCase()}};
+
+        System.out.printf("%-28s %10s %12s %12s %14s %14s%n", "query (title / author)", "hits",
+                "like p50 ms", "like p95 ms", "index p50 ms", "index p95 ms");
+        for (String[] query : queries) {
+            SearchQuery searchQuery = new SearchQuery(null, query[0], query[1], null, null);
+            long hits = index.search(searchQuery, 0, 20).getTotalHits();
+            double[] like = time(iterations, () -> jdbc.queryForList(LIKE_SQL, Long.class,
+                    query[0], query[0], query[1], query[1]).size());
+            double[] indexed = time(iterations, () -> index.search(searchQuery, 0, 20).getHits().size());
+            System.out.printf("%-28s %,10d %12.2f %12.2f %14.3f %14.3f%n",
+                    query[0] + " / " + query[1], hits, like[0], like[1], indexed[0], indexed[1]);
+        }
+
+        dataSource.destroy();
+    }
+
+    // Returns {p50, p95} in milliseconds
+    private static double[] time(int iterations, Supplier<Integer> work) {
+        for (int i = 0; i < 2; i++) {
+            work.get();
+        }
+        double[] samples = new double[iterations];
+        for (int i = 0; i < iterations; i++) {
+            long start = System.nanoTime();
+            work.get();
+            samples[i] = (System.nanoTime() - start) / 1_000_000.0;
+        }
+        Arrays.sort(samples);
+        return new double[]{samples[iterations / 2], samples[Math.min(iterations - 1, (int) (iterations * 0.95))]};
+    }
+
+    // Pseudo-words; earlier words are drawn more often, giving a skewed term distribution
+    private static String[] vocabulary(Random random, int size) {
+        String[] syllables = {"ka", "lo", "mi", "ra", "te", "su", "no", "vi", "der", "an", "bel", "cor",
+                "tha", "gri", "us", "or", "el", "win", "ston", "mar"};
+        String[] words = new String[size];
+        for (int i = 0; i < size; i++) {
+            StringBuilder word = new StringBuilder();
+            for (int s = 0; s < 2 + random.nextInt(3); s++) {
+                word.append(syllables[random.nextInt(syllables.length)]);
+            }
+            words[i] = word.toString();
+        }
+        return words;
+    }
+
+    private static String sentence(Random random, String[] vocabulary, int words) {
+        StringBuilder sentence = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            double skewed = Math.pow(random.nextDouble(), 3);
+            sentence.append(i == 0 ? "" : " ").append(vocabulary[(int) (skewed * vocabulary.length)]);
+        }
+        return capitalize(sentence.toString());
+    }
+
+    private static String capitalize(String word) {
+        return Character.toUpperCase(word.charAt(0)) + word.substring(1);
+    }
+}
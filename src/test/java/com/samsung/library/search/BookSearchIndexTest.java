@@ -0,0 +1,94 @@
+package com.samsung.library.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BookSearchIndexTest {
+
+    private BookSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new BookSearchIndex();
+        index.index(new BookSearchIndex.Document(1L, "The Hobbit", "A hobbit goes on an adventure",
+                "Fantasy", 1937, 10L, "J.R.R. Tolkien"));
+        index.index(new BookSearchIndex.Document(2L, "The Lord of the Rings", "The quest to destroy the ring",
+                "Fantasy", 1954, 10L, "J.R.R. Tolkien"));
+        index.index(new BookSearchIndex.Document(3L, "Dune", "Politics and spice on a desert planet",
+                "Science Fiction", 1965, 20L, "Frank Herbert"));
+        index.index(new BookSearchIndex.Document(4L, "Ring Theory", "An introduction to rings and modules",
+                "Mathematics", 1990, 30L, "Louis Rowen"));
+    }
+
+    @Test
+    void ranksTitleMatchesAboveDescriptionMatches() {
+        index.index(new BookSearchIndex.Document(5L, "Desert Travels", null, "Travel", 2001, 40L, "Someone"));
+
+        List<Long> ids = ids(index.search(new SearchQuery("desert", null, null, null, null), 0, 10));
+
+        assertEquals(List.of(5L, 3L), ids);
+    }
+
+    @Test
+    void matchesPrefixesButRanksExactTermsFirst() {
+        List<Long> ids = ids(index.search(new SearchQuery("ring", null, null, null, null), 0, 10));
+
+        // "Ring Theory" has the exact term in its title; the others only match "rings"
+        assertEquals(4L, ids.get(0));
+        assertTrue(ids.containsAll(List.of(2L, 4L)));
+        assertEquals(List.of(3L), ids(index.search(new SearchQuery("du", null, null, null, null), 0, 10)));
+    }
+
+    @Test
+    void requiresEveryTokenAndAppliesFieldRestrictionsAndFilters() {
+        assertEquals(List.of(1L), ids(index.search(new SearchQuery("tolkien hob", null, null, null, null), 0, 10)));
+        assertEquals(2,
+                index.search(new SearchQuery(null, "ring", null, null, null), 0, 10).getTotalHits());
+        assertEquals(List.of(2L), ids(index.search(new SearchQuery(null, "ring", "tolkien", null, null), 0, 10)));
+        assertEquals(List.of(4L), ids(index.search(new SearchQuery("ring", null, null, "mathematics", null), 0, 10)));
+        assertEquals(List.of(1L), ids(index.search(new SearchQuery(null, null, null, "FANTASY", 1937), 0, 10)));
+    }
+
+    @Test
+    void pagesThroughResultsInRankOrder() {
+        BookSearchIndex.SearchResult all = index.search(new SearchQuery("the", null, null, null, null), 0, 10);
+        BookSearchIndex.SearchResult second = index.search(new SearchQuery("the", null, null, null, null), 1, 1);
+
+        assertEquals(all.getTotalHits(), second.getTotalHits());
+        assertEquals(1, second.getHits().size());
+        assertEquals(all.getHits().get(1).getBookId(), second.getHits().get(0).getBookId());
+        assertTrue(index.search(new SearchQuery("the", null, null, null, null), 10, 10).getHits().isEmpty());
+    }
+
+    @Test
+    void reflectsUpdatesRemovalsAndCompaction() {
+        index.index(new BookSearchIndex.Document(3L, "Dune Messiah", null, "Science Fiction", 1969, 20L, "Frank Herbert"));
+        assertTrue(ids(index.search(new SearchQuery("politics", null, null, null, null), 0, 10)).isEmpty());
+        assertEquals(List.of(3L), ids(index.search(new SearchQuery("messiah", null, null, null, null), 0, 10)));
+
+        assertTrue(index.remove(4L));
+        assertFalse(index.remove(4L));
+        assertEquals(2, index.removeByAuthor(10L));
+        assertEquals(1, index.size());
+
+        index.compact();
+        assertEquals(List.of(3L), ids(index.search(new SearchQuery("herbert", null, null, null, null), 0, 10)));
+        assertTrue(ids(index.search(new SearchQuery("ring", null, null, null, null), 0, 10)).isEmpty());
+    }
+
+    @Test
+    void tokenizesCaseAndAccentInsensitively() {
+        assertEquals(List.of("garcia", "marquez", "100", "anos"), BookSearchIndex.tokenize("García-Márquez: 100 Años"));
+    }
+
+    private static List<Long> ids(BookSearchIndex.SearchResult result) {
+        return result.getHits().stream().map(BookSearchIndex.Hit::getBookId).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,76 @@
+package com.samsung.library.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SuggestIndexTest {
+
+    @Test
+    void suggestsWordPrefixesWithLeadingMatchesFirst() {
+        SuggestIndex index = new SuggestIndex(100, 48, 6);
+        index.put(1L, "The Lord of the Rings", 10L);
+        index.put(2L, "Ringworld", 20L);
+        index.put(3L, "Rings of Saturn", 30L);
+        index.put(4L, "Dune", 40L);
+
+        assertEquals(List.of("Ringworld", "Rings of Saturn", "The Lord of the Rings"), texts(index.suggest("ring", 10)));
+        assertEquals(List.of("The Lord of the Rings"), texts(index.suggest("LORD of", 10)));
+        assertEquals(List.of("Ringworld"), texts(index.suggest("ring", 1)));
+        assertTrue(index.suggest("  ", 10).isEmpty());
+    }
+
+    @Test
+    void leadingMatchesAreNotCrowdedOutByMidNameMatches() {
+        SuggestIndex index = new SuggestIndex(1000, 48, 6);
+        for (long id = 1; id <= 200; id++) {
+            index.put(id, "Into the Abyss " + id, id);
+        }
+        index.put(1000L, "The Zebra", 0L);
+        index.put(1001L, "Theory of Everything", 0L);
+
+        List<String> suggested = texts(index.suggest("the", 5));
+        assertEquals(List.of("The Zebra", "Theory of Everything"), suggested.subList(0, 2));
+        assertEquals(5, suggested.size());
+        assertTrue(suggested.get(2).startsWith("Into the Abyss"));
+    }
+
+    @Test
+    void appliesUpdatesAndRemovals() {
+        SuggestIndex index = new SuggestIndex(100, 48, 4);
+        index.put(1L, "Dune", 10L);
+        index.put(2L, "Children of Dune", 10L);
+        index.put(3L, "Emma", 20L);
+
+        index.put(1L, "Dune Messiah", 10L);
+        assertEquals(List.of("Dune Messiah", "Children of Dune"), texts(index.suggest("dune", 10)));
+
+        assertEquals(2, index.removeGroup(10L));
+        assertTrue(index.suggest("dune", 10).isEmpty());
+        assertTrue(index.remove(3L));
+        assertEquals(0, index.keyCount());
+    }
+
+    @Test
+    void staysWithinConfiguredBounds() {
+        SuggestIndex index = new SuggestIndex(2, 8, 2);
+        assertTrue(index.put(1L, "Alpha Beta Gamma Delta", 0L));
+        assertTrue(index.put(2L, "Epsilon", 0L));
+        assertFalse(index.put(3L, "Zeta", 0L));
+        assertTrue(index.isFull());
+
+        // Only the first two word starts are indexed, each truncated to eight characters
+        assertEquals(3, index.keyCount());
+        assertTrue(index.suggest("gamma", 10).isEmpty());
+        assertEquals(List.of("Alpha Beta Gamma Delta"), texts(index.suggest("beta gamma", 10)));
+    }
+
+    private static List<String> texts(List<SuggestIndex.Suggestion> suggestions) {
+        return suggestions.stream().map(SuggestIndex.Suggestion::getText).collect(Collectors.toList());
+    }
+}
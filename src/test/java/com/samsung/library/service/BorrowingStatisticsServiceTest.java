@@ -0,0 +1,132 @@
+package com.samsung.library.service;
+
+import com.samsung.library.dto.BorrowedBookDTO;
+import com.samsung.library.dto.BorrowingStatsDTO;
+import com.samsung.library.event.LoanEvent;
+import com.samsung.library.model.Author;
+import com.samsung.library.model.Book;
+import com.samsung.library.model.BorrowStatus;
+import com.samsung.library.model.Member;
+import com.samsung.library.repository.AuthorRepository;
+import com.samsung.library.repository.BookRepository;
+import com.samsung.library.repository.BorrowedBookRepository;
+import com.samsung.library.repository.MemberAccountRepository;
+import com.samsung.library.repository.MemberRepository;
+import com.samsung.library.support.LibraryIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * In-memory loan statistics: events committed while a reconcile reads the aggregate, and loans
+ * removed by the cascading book, member and author deletes
+ */
+@LibraryIntegrationTest
+class BorrowingStatisticsServiceTest {
+
+    @Autowired
+    private BorrowingStatisticsService statisticsService;
+
+    @Autowired
+    private BorrowedBookService borrowedBookService;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private MemberService memberService;
+
+    @Autowired
+    private AuthorService authorService;
+
+    @Autowired
+    private AuthorRepository authorRepository;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private MemberAccountRepository memberAccountRepository;
+
+    @Test
+    void eventsCommittedDuringTheReconcileQueryAreKept() {
+        BorrowedBookRepository repository = mock(BorrowedBookRepository.class);
+        BorrowingStatisticsService service = new BorrowingStatisticsService();
+        ReflectionTestUtils.setField(service, "borrowedBookRepository", repository);
+        List<Object[]> snapshot = List.<Object[]>of(new Object[]{BorrowStatus.BORROWED, 5L, 0.0});
+        AtomicInteger queries = new AtomicInteger();
+        when(repository.aggregateByStatus()).thenAnswer(invocation -> {
+            if (queries.incrementAndGet() == 2) {
+                // A borrow commits after the snapshot was read, before the counters are replaced
+                service.onLoanEvent(new LoanEvent(LoanEvent.Type.BORROWED, 6L, 1L, 1L,
+                        null, null, BorrowStatus.BORROWED, 0.0));
+            }
+            return snapshot;
+        });
+
+        service.reconcile();
+        service.reconcile();
+
+        BorrowingStatsDTO stats = service.getStatistics();
+        assertThat(stats.getTotalBorrowings()).isEqualTo(6);
+        assertThat(stats.getCurrentlyBorrowed()).isEqualTo(6);
+    }
+
+    @Test
+    void cascadingDeletesRemoveTheirLoansFromCountersAndAccounts() {
+        statisticsService.reconcile();
+        BorrowingStatsDTO before = statisticsService.getStatistics();
+
+        Author keptAuthor = authorRepository.save(new Author("Kept Author", null, 1950, "Nowhere"));
+        Author deletedAuthor = authorRepository.save(new Author("Deleted Author", null, 1960, "Nowhere"));
+        Book deletedBook = createBook(keptAuthor, "cascade-book");
+        Book authorBook = createBook(deletedAuthor, "cascade-author");
+        Book otherBook = createBook(keptAuthor, "cascade-member");
+        Member reader = memberRepository.save(new Member("Cascade Reader", "cascade-reader@example.com", null, null));
+        Member deletedMember = memberRepository.save(new Member("Cascade Leaver", "cascade-leaver@example.com", null, null));
+
+        borrow(deletedBook, reader);
+        borrow(authorBook, reader);
+        borrow(otherBook, deletedMember);
+        assertThat(statisticsService.getStatistics().getCurrentlyBorrowed()).isEqualTo(before.getCurrentlyBorrowed() + 3);
+        assertThat(activeLoans(reader)).isEqualTo(2);
+
+        assertThat(bookService.deleteBook(deletedBook.getId())).isTrue();
+        assertThat(activeLoans(reader)).isEqualTo(1);
+        assertThat(authorService.deleteAuthor(deletedAuthor.getId())).isTrue();
+        assertThat(activeLoans(reader)).isZero();
+        assertThat(memberService.deleteMember(deletedMember.getId())).isTrue();
+
+        BorrowingStatsDTO after = statisticsService.getStatistics();
+        assertThat(after.getTotalBorrowings()).isEqualTo(before.getTotalBorrowings());
+        assertThat(after.getCurrentlyBorrowed()).isEqualTo(before.getCurrentlyBorrowed());
+
+        // Nothing left for a reconcile to correct
+        statisticsService.reconcile();
+        assertThat(statisticsService.getStatistics().getTotalBorrowings()).isEqualTo(after.getTotalBorrowings());
+        assertThat(statisticsService.getStatistics().getCurrentlyBorrowed()).isEqualTo(after.getCurrentlyBorrowed());
+    }
+
+    private Book createBook(Author author, String isbn) {
+        return bookRepository.save(new Book("Title " + isbn, "Fiction", 2000, isbn, null, 2, author));
+    }
+
+    private void borrow(Book book, Member member) {
+        borrowedBookService.borrowBook(new BorrowedBookDTO(book.getId(), member.getId(), LocalDate.now(), null));
+    }
+
+    private long activeLoans(Member member) {
+        return memberAccountRepository.findById(member.getId()).orElseThrow().getActiveLoans();
+    }
+}
@@ -0,0 +1,129 @@
+package com.samsung.library.service;
+
+import com.samsung.library.dto.ChangeEventDTO;
+import com.samsung.library.event.LoanEvent;
+import com.samsung.library.model.BorrowStatus;
+import com.samsung.library.support.LibraryIntegrationTest;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.servlet.mvc.method.annotation.RecordingEmitterHandler;
+import org.springframework.web.servlet.mvc.method.annotation.RecordingEmitterHandler.SentEvent;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Change feed subscribers: resuming with Last-Event-ID from the ring buffer, a cursor of an earlier
+ * run, and a subscriber that stops reading until its outbound queue overflows. Each test watches
+ * a book ID of its own, so loan events from other tests in the shared context are filtered out.
+ */
+@LibraryIntegrationTest
+class ChangeFeedServiceTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    @Autowired
+    private ChangeFeedService changeFeedService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void resumingFromACursorReplaysOnlyTheEventsAfterIt() throws IOException {
+        long bookId = 9_100_001L;
+        SseEmitter live = changeFeedService.subscribe(null, List.of(bookId), null);
+        RecordingEmitterHandler liveHandler = RecordingEmitterHandler.attach(live);
+        publish(bookId, 1);
+        publish(bookId, 2);
+        publish(bookId, 3);
+        await().atMost(TIMEOUT).until(() -> loans(liveHandler).size() == 3);
+        List<String> liveIds = loans(liveHandler).stream().map(ChangeEventDTO::getId).toList();
+
+        SseEmitter resumed = changeFeedService.subscribe(liveIds.get(0), List.of(bookId), null);
+        RecordingEmitterHandler resumedHandler = RecordingEmitterHandler.attach(resumed);
+        await().atMost(TIMEOUT).until(() -> loans(resumedHandler).size() == 2);
+        assertThat(loans(resumedHandler)).extracting(ChangeEventDTO::getId).containsExactly(liveIds.get(1), liveIds.get(2));
+        assertThat(loans(resumedHandler)).extracting(ChangeEventDTO::getBorrowedBookId).containsExactly(2L, 3L);
+
+        // Once caught up the resumed feed gets live events like any other
+        publish(bookId, 4);
+        await().atMost(TIMEOUT).until(() -> loans(resumedHandler).size() == 3 && loans(liveHandler).size() == 4);
+        assertThat(names(resumedHandler)).doesNotContain(ChangeFeedService.RESET);
+        live.complete();
+        resumed.complete();
+    }
+
+    @Test
+    void cursorOfAnEarlierRunGetsAReset() throws IOException {
+        long bookId = 9_100_002L;
+        SseEmitter live = changeFeedService.subscribe(null, List.of(bookId), null);
+        RecordingEmitterHandler liveHandler = RecordingEmitterHandler.attach(live);
+        publish(bookId, 1);
+        await().atMost(TIMEOUT).until(() -> loans(liveHandler).size() == 1);
+        // Same sequence, boot part of a run that started a moment earlier
+        String currentId = loans(liveHandler).get(0).getId();
+        int dash = currentId.lastIndexOf('-');
+        String earlierBoot = Long.toString(Long.parseLong(currentId.substring(0, dash), 36) - 1, 36);
+
+        SseEmitter resumed = changeFeedService.subscribe(earlierBoot + currentId.substring(dash), List.of(bookId), null);
+        RecordingEmitterHandler resumedHandler = RecordingEmitterHandler.attach(resumed);
+        await().atMost(TIMEOUT).until(() -> names(resumedHandler).contains(ChangeFeedService.RESET));
+        assertThat(loans(resumedHandler)).isEmpty();
+
+        // The feed stays open after the reset
+        publish(bookId, 2);
+        await().atMost(TIMEOUT).until(() -> loans(resumedHandler).size() == 1);
+        assertThat(loans(resumedHandler).get(0).getBorrowedBookId()).isEqualTo(2L);
+        assertThat(resumedHandler.isCompleted()).isFalse();
+        live.complete();
+        resumed.complete();
+    }
+
+    @Test
+    void subscriberThatStopsReadingIsResetAndDisconnected() throws IOException {
+        long bookId = 9_100_003L;
+        double dropped = meterRegistry.counter("library.changes.dropped").count();
+        int subscribers = changeFeedService.getSubscriberCount();
+        SseEmitter slow = changeFeedService.subscribe(null, List.of(bookId), null);
+        RecordingEmitterHandler slowHandler = RecordingEmitterHandler.attach(slow);
+        await().atMost(TIMEOUT).until(() -> !slowHandler.getEvents().isEmpty());
+        assertThat(changeFeedService.getSubscriberCount()).isEqualTo(subscribers + 1);
+
+        // One event is held in the sender, the default 1000 fill the queue and the next one overflows it
+        slowHandler.hold();
+        for (int i = 1; i <= 1100; i++) {
+            publish(bookId, i);
+        }
+        await().atMost(TIMEOUT).until(() -> changeFeedService.getSubscriberCount() == subscribers);
+        assertThat(meterRegistry.counter("library.changes.dropped").count()).isEqualTo(dropped + 1);
+
+        slowHandler.release();
+        await().atMost(TIMEOUT).until(slowHandler::isCompleted);
+        List<String> names = names(slowHandler);
+        assertThat(names.get(names.size() - 1)).isEqualTo(ChangeFeedService.RESET);
+        // At most the event that was being written got through; the queued backlog was dropped
+        assertThat(loans(slowHandler).size()).isLessThanOrEqualTo(1);
+    }
+
+    private void publish(long bookId, long borrowedBookId) {
+        changeFeedService.onLoanEvent(new LoanEvent(LoanEvent.Type.UPDATED, borrowedBookId, bookId, 1L,
+                BorrowStatus.BORROWED, 0.0, BorrowStatus.BORROWED, 0.0));
+    }
+
+    private static List<ChangeEventDTO> loans(RecordingEmitterHandler handler) {
+        return handler.getEvents().stream()
+                .filter(event -> ChangeEventDTO.LOAN.equals(event.name()))
+                .map(event -> (ChangeEventDTO) event.data())
+                .toList();
+    }
+
+    private static List<String> names(RecordingEmitterHandler handler) {
+        return handler.getEvents().stream().map(SentEvent::name).toList();
+    }
+}
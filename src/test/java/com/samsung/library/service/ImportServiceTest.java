@@ -0,0 +1,204 @@
+package com.samsung.library.service;
+
+import com.samsung.library.dto.ImportErrorDTO;
+import com.samsung.library.dto.ImportResultDTO;
+import com.samsung.library.model.Author;
+import com.samsung.library.model.Book;
+import com.samsung.library.model.Member;
+import com.samsung.library.repository.AuthorRepository;
+import com.samsung.library.repository.BookRepository;
+import com.samsung.library.repository.IdAllocator;
+import com.samsung.library.repository.MemberRepository;
+import com.samsung.library.service.ImportService.Dataset;
+import com.samsung.library.support.LibraryIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Bulk import: CSV parsing, rows rejected by number (field count, duplicate keys, unknown authors)
+ * without aborting the run, and the row-by-row retry after a failed batch insert
+ */
+@LibraryIntegrationTest
+class ImportServiceTest {
+
+    private static final String BOOK_HEADER = "title,category,publishingYear,isbn,description,totalCopies,authorName";
+
+    private static final String MEMBER_HEADER = "name,email,phone";
+
+    @Autowired
+    private ImportService importService;
+
+    @Autowired
+    private AuthorRepository authorRepository;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void csvQuotingLineEndingsAndBlankLinesAreParsed() throws IOException {
+        authorRepository.save(new Author("Import Csv Author", null, 1950, "Nowhere"));
+        String csv = "\uFEFF" + BOOK_HEADER + "\r\n" +
+                "\r\n" +
+                "\"The \"\"Quoted\"\" Title\",Fiction,2001,import-csv-1,\"First line\nsecond, line\",2,Import Csv Author\r\n" +
+                "\n" +
+                "Plain Title,Fiction,2002,import-csv-2,,,Import Csv Author\n" +
+                "\"Last, Title\",Poetry,2003,import-csv-3,\"\",1,Import Csv Author";
+
+        ImportResultDTO result = importCsv(Dataset.BOOKS, csv, false);
+
+        assertThat(result.getErrors()).isEmpty();
+        assertThat(result.getTotalRows()).isEqualTo(3);
+        assertThat(result.getImported()).isEqualTo(3);
+        assertThat(jdbcTemplate.queryForMap("SELECT title, description, total_copies, available_copies " +
+                "FROM books WHERE isbn = 'import-csv-1'"))
+                .containsEntry("TITLE", "The \"Quoted\" Title")
+                .containsEntry("DESCRIPTION", "First line\nsecond, line")
+                .containsEntry("TOTAL_COPIES", 2)
+                .containsEntry("AVAILABLE_COPIES", 2);
+        // Empty unquoted fields are missing values; an empty quoted field is an empty string
+        assertThat(jdbcTemplate.queryForMap("SELECT description, total_copies FROM books WHERE isbn = 'import-csv-2'"))
+                .containsEntry("DESCRIPTION", null)
+                .containsEntry("TOTAL_COPIES", 1);
+        assertThat(jdbcTemplate.queryForObject("SELECT title FROM books WHERE isbn = 'import-csv-3'", String.class))
+                .isEqualTo("Last, Title");
+        assertThat(jdbcTemplate.queryForObject("SELECT description FROM books WHERE isbn = 'import-csv-3'", String.class))
+                .isEmpty();
+    }
+
+    @Test
+    void fieldCountMismatchAndUnterminatedQuoteAreReportedByRow() throws IOException {
+        String csv = MEMBER_HEADER + "\n" +
+                "Import Count One,import-count-1@example.com,555-0101\n" +
+                "Import Count Two,import-count-2@example.com\n" +
+                "Import Count Three,import-count-3@example.com,555-0103,extra\n" +
+                "Import Count Four,import-count-4@example.com,555-0104\n" +
+                "\"Import Count Five,import-count-5@example.com,555-0105\n" +
+                "Import Count Six,import-count-6@example.com,555-0106\n";
+
+        ImportResultDTO result = importCsv(Dataset.MEMBERS, csv, false);
+
+        assertThat(result.getTotalRows()).isEqualTo(5);
+        assertThat(result.getImported()).isEqualTo(2);
+        assertThat(result.getFailed()).isEqualTo(3);
+        assertThat(result.getErrors()).extracting(ImportErrorDTO::getRow, ImportErrorDTO::getMessage).containsExactly(
+                tuple(2L, "Expected 3 fields but found 2"),
+                tuple(3L, "Expected 3 fields but found 4"),
+                tuple(5L, "Unterminated quoted field"));
+        assertThat(memberEmails("import-count-%")).containsExactlyInAnyOrder(
+                "import-count-1@example.com", "import-count-4@example.com");
+    }
+
+    @Test
+    void duplicateEmailsInTheFileAndInTheDatabaseAreRejected() throws IOException {
+        memberRepository.save(new Member("Import Existing", "import-dup-existing@example.com", null, null));
+        String csv = MEMBER_HEADER + "\n" +
+                "Import Dup One,import-dup-1@example.com,\n" +
+                "Import Dup Existing,import-dup-existing@example.com,\n" +
+                "Import Dup Again,IMPORT-DUP-1@example.com,\n" +
+                "Import Dup Two,import-dup-2@example.com,\n";
+
+        ImportResultDTO result = importCsv(Dataset.MEMBERS, csv, false);
+
+        assertThat(result.getImported()).isEqualTo(2);
+        assertThat(result.getErrors()).extracting(ImportErrorDTO::getRow, ImportErrorDTO::getMessage).containsExactly(
+                tuple(2L, "Email already exists: import-dup-existing@example.com"),
+                tuple(3L, "Duplicate Email in file: import-dup-1@example.com"));
+        assertThat(memberEmails("import-dup-%")).containsExactlyInAnyOrder(
+                "import-dup-existing@example.com", "import-dup-1@example.com", "import-dup-2@example.com");
+    }
+
+    @Test
+    void duplicateIsbnsInTheFileAndInTheDatabaseAreRejected() throws IOException {
+        Author author = authorRepository.save(new Author("Import Isbn Author", null, 1950, "Nowhere"));
+        bookRepository.save(new Book("Existing Title", "Fiction", 2000, "import-isbn-0", null, 1, author));
+        String csv = BOOK_HEADER + "\n" +
+                "Isbn One,Fiction,2001,import-isbn-1,,,Import Isbn Author\n" +
+                "Isbn Existing,Fiction,2002,import-isbn-0,,,Import Isbn Author\n" +
+                "Isbn One Again,Fiction,2003,import-isbn-1,,,Import Isbn Author\n" +
+                "Isbn None,Fiction,2004,,,,Import Isbn Author\n";
+
+        ImportResultDTO result = importCsv(Dataset.BOOKS, csv, false);
+
+        assertThat(result.getImported()).isEqualTo(2);
+        assertThat(result.getErrors()).extracting(ImportErrorDTO::getRow, ImportErrorDTO::getMessage).containsExactly(
+                tuple(2L, "ISBN already exists: import-isbn-0"),
+                tuple(3L, "Duplicate ISBN in file: import-isbn-1"));
+        assertThat(jdbcTemplate.queryForObject("SELECT title FROM books WHERE isbn = 'import-isbn-1'", String.class))
+                .isEqualTo("Isbn One");
+    }
+
+    @Test
+    void unknownAuthorsAreCreatedOnlyWhenAsked() throws IOException {
+        long authors = authorRepository.count();
+        String csv = BOOK_HEADER + "\n" +
+                "Unknown One,Fiction,2001,import-author-1,,,Import New Author\n" +
+                "Unknown Two,Fiction,2002,import-author-2,,,import new author  \n" +
+                "Unknown Three,Fiction,2003,import-author-3,,,\n";
+
+        ImportResultDTO rejected = importCsv(Dataset.BOOKS, csv, false);
+
+        assertThat(rejected.getImported()).isZero();
+        assertThat(rejected.getAuthorsCreated()).isZero();
+        assertThat(rejected.getErrors()).extracting(ImportErrorDTO::getRow, ImportErrorDTO::getMessage).containsExactly(
+                tuple(1L, "Author not found: Import New Author"),
+                tuple(2L, "Author not found: import new author"),
+                tuple(3L, "Author name or ID is required"));
+        assertThat(authorRepository.count()).isEqualTo(authors);
+
+        ImportResultDTO created = importCsv(Dataset.BOOKS, csv, true);
+
+        // Both spellings resolve to the one new author; a row naming no author is still rejected
+        assertThat(created.getImported()).isEqualTo(2);
+        assertThat(created.getAuthorsCreated()).isEqualTo(1);
+        assertThat(created.getErrors()).extracting(ImportErrorDTO::getRow).containsExactly(3L);
+        assertThat(authorRepository.count()).isEqualTo(authors + 1);
+        assertThat(jdbcTemplate.queryForList("SELECT DISTINCT a.name FROM books b JOIN authors a ON a.id = b.author_id " +
+                "WHERE b.isbn IN ('import-author-1', 'import-author-2')", String.class))
+                .containsExactly("Import New Author");
+    }
+
+    @Test
+    void failedBatchIsRetriedRowByRow() throws IOException {
+        // Take the ID the import's second row will be given, as a concurrent writer would
+        long nextVal = jdbcTemplate.queryForObject(
+                "SELECT next_val FROM id_generators WHERE sequence_name = ?", Long.class, IdAllocator.MEMBERS);
+        long takenId = nextVal - IdAllocator.ALLOCATION_SIZE + 3;
+        jdbcTemplate.update("INSERT INTO members (id, name, email, membership_status) VALUES (?, ?, ?, 'ACTIVE')",
+                takenId, "Import Retry Taken", "import-retry-taken@example.com");
+        String csv = MEMBER_HEADER + "\n" +
+                "Import Retry One,import-retry-1@example.com,\n" +
+                "Import Retry Two,import-retry-2@example.com,\n" +
+                "Import Retry Three,import-retry-3@example.com,\n";
+
+        ImportResultDTO result = importCsv(Dataset.MEMBERS, csv, false);
+
+        assertThat(result.getImported()).isEqualTo(2);
+        assertThat(result.getErrors()).extracting(ImportErrorDTO::getRow).containsExactly(2L);
+        assertThat(memberEmails("import-retry-%")).containsExactlyInAnyOrder(
+                "import-retry-taken@example.com", "import-retry-1@example.com", "import-retry-3@example.com");
+    }
+
+    private ImportResultDTO importCsv(Dataset dataset, String csv, boolean createMissingAuthors) throws IOException {
+        return importService.importFile(dataset, ExportService.Format.CSV,
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), createMissingAuthors);
+    }
+
+    private List<String> memberEmails(String pattern) {
+        return jdbcTemplate.queryForList("SELECT email FROM members WHERE email LIKE ?", String.class, pattern);
+    }
+}
@@ -0,0 +1,135 @@
+package com.samsung.library.service;
+
+import com.samsung.library.dto.BorrowedBookDTO;
+import com.samsung.library.model.Author;
+import com.samsung.library.model.Book;
+import com.samsung.library.model.Member;
+import com.samsung.library.model.MemberAccount;
+import com.samsung.library.repository.AuthorRepository;
+import com.samsung.library.repository.BookRepository;
+import com.samsung.library.repository.MemberAccountRepository;
+import com.samsung.library.repository.MemberRepository;
+import com.samsung.library.support.LibraryIntegrationTest;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * member_accounts bookkeeping: deltas only land with a committed transaction, members without an
+ * account get one built from borrowed_books, and verifyAccounts repairs accounts that drifted
+ */
+@LibraryIntegrationTest
+class MemberAccountServiceTest {
+
+    @Autowired
+    private MemberAccountService memberAccountService;
+
+    @Autowired
+    private BorrowedBookService borrowedBookService;
+
+    @Autowired
+    private AuthorRepository authorRepository;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private MemberAccountRepository memberAccountRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Author author;
+
+    @BeforeEach
+    void setUp() {
+        author = authorRepository.save(new Author("Account Author", null, 1950, "Nowhere"));
+    }
+
+    @Test
+    void deltasOfARolledBackTransactionAreDiscarded() {
+        Member member = createMember("account-rollback");
+        borrow(createBook("account-rollback-1"), member);
+        assertThat(account(member).getActiveLoans()).isEqualTo(1);
+
+        Book second = createBook("account-rollback-2");
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            borrow(second, member);
+            status.setRollbackOnly();
+        });
+        assertThat(account(member).getActiveLoans()).isEqualTo(1);
+        assertThat(memberAccountService.getAccount(member.getId()).orElseThrow().getActiveLoans()).isEqualTo(1);
+
+        // Nothing of the rolled back borrow is carried into the next transaction
+        borrow(second, member);
+        assertThat(account(member).getActiveLoans()).isEqualTo(2);
+    }
+
+    @Test
+    void memberWithoutAnAccountGetsOneBuiltFromBorrowedBooks() {
+        Member member = createMember("account-missing");
+        Long returned = borrow(createBook("account-missing-1"), member);
+        borrow(createBook("account-missing-2"), member);
+        // As for members imported in bulk or created before member_accounts existed
+        jdbcTemplate.update("DELETE FROM member_accounts WHERE member_id = ?", member.getId());
+
+        borrowedBookService.returnBook(returned);
+
+        // Built from borrowed_books, which already holds the return, not from the -1 delta alone
+        MemberAccount account = account(member);
+        assertThat(account.getActiveLoans()).isEqualTo(1);
+        assertThat(account.getOverdueLoans()).isZero();
+    }
+
+    @Test
+    void verifyAccountsRepairsADriftedAccount() {
+        Member member = createMember("account-drift");
+        borrow(createBook("account-drift-1"), member);
+        jdbcTemplate.update("UPDATE member_accounts SET active_loans = 5, outstanding_fines = 1.5 WHERE member_id = ?",
+                member.getId());
+        double repaired = meterRegistry.counter("library.member.accounts.repaired").count();
+
+        assertThat(memberAccountService.verifyAccounts()).isPositive();
+
+        MemberAccount account = account(member);
+        assertThat(account.getActiveLoans()).isEqualTo(1);
+        assertThat(account.getOutstandingFines()).isZero();
+        assertThat(meterRegistry.counter("library.member.accounts.repaired").count()).isGreaterThanOrEqualTo(repaired + 1);
+        // Every account matches borrowed_books now
+        assertThat(memberAccountService.verifyAccounts()).isZero();
+    }
+
+    private Member createMember(String name) {
+        return memberRepository.save(new Member(name, name + "@example.com", null, null));
+    }
+
+    private Book createBook(String isbn) {
+        return bookRepository.save(new Book("Title " + isbn, "Fiction", 2000, isbn, null, 1, author));
+    }
+
+    private Long borrow(Book book, Member member) {
+        return borrowedBookService.borrowBook(new BorrowedBookDTO(book.getId(), member.getId(), LocalDate.now(), null))
+                .getId();
+    }
+
+    private MemberAccount account(Member member) {
+        return memberAccountRepository.findById(member.getId()).orElseThrow();
+    }
+}
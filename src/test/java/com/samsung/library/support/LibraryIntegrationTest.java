@@ -0,0 +1,36 @@
+package com.samsung.library.support;
+
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Full application context on an in-memory H2 database built by the Flyway migrations, without
+ * sample data, scheduled tasks or the startup account check. Every class using it shares one
+ * context (and database), so tests create their own rows and compare against counts read first.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:library;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false",
+        "spring.sql.init.mode=never",
+        "app.database.initialize-sample-data=false",
+        "app.scheduling.enabled=false",
+        "app.member-accounts.verify-on-startup=false",
+        "logging.level.org.hibernate.SQL=warn",
+        "logging.level.org.springframework.web=info"
+})
+public @interface LibraryIntegrationTest {
+}
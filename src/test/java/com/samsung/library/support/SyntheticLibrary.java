@@ -0,0 +1,194 @@
+package com.samsung.library.support;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Writes a deterministic synthetic library (authors, books, members and loan history) straight
+ * into the schema with JDBC batches, for benchmarks and load tests.
+ *
+ * IDs start at 1, so call IdAllocator.alignWithTables() afterwards when the application is going
+ * to insert rows of its own. Active loans are consistent with the books' available copies.
+ */
+public class SyntheticLibrary {
+
+    public static final String[] CATEGORIES = {"Fiction", "Fantasy", "Science Fiction", "Mystery", "History",
+            "Biography", "Poetry", "Romance", "Science", "Travel", "Philosophy", "Children"};
+
+    private static final String[] NATIONALITIES = {"American", "British", "Korean", "French", "German",
+            "Japanese", "Indian", "Brazilian", "Nigerian", "Canadian"};
+
+    private static final int BATCH_SIZE = 5_000;
+    private static final int LOAN_PERIOD_DAYS = 14;
+    private static final int GRACE_PERIOD_DAYS = 3;
+    private static final double FINE_PER_DAY = 0.50;
+
+    /** Row counts per table */
+    public record Scale(int authors, int books, int members, int loans) {
+
+        // Ratios of a mid-sized branch: 20 books per author, one member per 5 books, 2 loans per book
+        public static Scale ofBooks(int books) {
+            return new Scale(Math.max(books / 20, 1), books, Math.max(books / 5, 1), books * 2);
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Random random;
+    private final String[] vocabulary;
+    private final LocalDate today = LocalDate.now();
+    private final Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+    public SyntheticLibrary(JdbcTemplate jdbcTemplate, long seed) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.random = new Random(seed);
+        this.vocabulary = vocabulary(5_000);
+    }
+
+    public void seed(Scale scale) {
+        insertAuthors(scale.authors());
+        int[] availableCopies = insertBooks(scale.books(), scale.authors());
+        insertMembers(scale.members());
+        insertLoans(scale.loans(), scale.books(), scale.members(), availableCopies);
+    }
+
+    /** Title words used by the generator, e.g. for search terms that hit */
+    public String word(Random source) {
+        return vocabulary[source.nextInt(vocabulary.length)];
+    }
+
+    public static String email(long memberId) {
+        return "member" + memberId + "@library.test";
+    }
+
+    private void insertAuthors(int count) {
+        List<Object[]> rows = new ArrayList<>(BATCH_SIZE);
+        for (int id = 1; id <= count; id++) {
+            rows.add(new Object[]{id, capitalize(word(random)) + " " + capitalize(word(random)),
+                    sentence(12), 1900 + random.nextInt(100), NATIONALITIES[random.nextInt(NATIONALITIES.length)],
+                    now, now});
+            flushIfFull("INSERT INTO authors (id, name, biography, birth_year, nationality, created_at, updated_at) " +
+                    "VALUES (?, ?, ?, ?, ?, ?, ?)", rows, id == count);
+        }
+    }
+
+    // Returns the copies per book (index = book ID); the loans take the active ones off the shelf
+    private int[] insertBooks(int count, int authors) {
+        int[] totalCopies = new int[count + 1];
+        for (int id = 1; id <= count; id++) {
+            totalCopies[id] = 1 + random.nextInt(5);
+        }
+        List<Object[]> rows = new ArrayList<>(BATCH_SIZE);
+        for (int id = 1; id <= count; id++) {
+            rows.add(new Object[]{id, capitalize(sentence(2 + random.nextInt(4))),
+                    CATEGORIES[random.nextInt(CATEGORIES.length)], 1900 + random.nextInt(125),
+                    String.format("978%010d", id), sentence(20), totalCopies[id], totalCopies[id],
+                    1 + random.nextInt(authors), now, now});
+            flushIfFull("INSERT INTO books (id, title, category, publishing_year, isbn, description, total_copies, " +
+                    "available_copies, version, author_id, created_at, updated_at) " +
+                    "VALUES (?, ?, ?, ?, ?, ?, ?, ?, 0, ?, ?, ?)", rows, id == count);
+        }
+        return totalCopies;
+    }
+
+    private void insertMembers(int count) {
+        List<Object[]> rows = new ArrayList<>(BATCH_SIZE);
+        for (int id = 1; id <= count; id++) {
+            // One in twenty members is not active
+            String status = random.nextInt(20) == 0 ? "SUSPENDED" : "ACTIVE";
+            Timestamp joined = Timestamp.valueOf(LocalDateTime.now().minusDays(random.nextInt(3650)));
+            rows.add(new Object[]{id, capitalize(word(random)) + " " + capitalize(word(random)), email(id),
+                    String.format("010-%04d-%04d", id / 10_000 % 10_000, id % 10_000),
+                    (1 + random.nextInt(999)) + " " + capitalize(word(random)) + " Street",
+                    joined, status, now, now});
+            flushIfFull("INSERT INTO members (id, name, email, phone, address, membership_date, membership_status, " +
+                    "created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)", rows, id == count);
+        }
+    }
+
+    // Two years of history in borrow date order; the last ~5% are still out, some of them overdue
+    private void insertLoans(int count, int books, int members, int[] availableCopies) {
+        List<Object[]> rows = new ArrayList<>(BATCH_SIZE);
+        int activeFrom = count - count / 20;
+        for (int id = 1; id <= count; id++) {
+            int bookId = 1 + random.nextInt(books);
+            long memberId = 1 + random.nextInt(members);
+            boolean active = id > activeFrom && availableCopies[bookId] > 0;
+            LocalDate borrowDate = active
+                    ? today.minusDays(random.nextInt(LOAN_PERIOD_DAYS * 2))
+                    : today.minusDays(LOAN_PERIOD_DAYS * 2 + (long) (730 - LOAN_PERIOD_DAYS * 2) * (count - id) / count);
+            LocalDate dueDate = borrowDate.plusDays(LOAN_PERIOD_DAYS);
+            LocalDate returnDate = null;
+            String status = "BORROWED";
+            double fine = 0.0;
+            if (active) {
+                availableCopies[bookId]--;
+            } else {
+                // Most loans come back early, one in ten is late by up to three weeks
+                returnDate = random.nextInt(10) == 0
+                        ? dueDate.plusDays(1 + random.nextInt(21))
+                        : borrowDate.plusDays(1 + random.nextInt(LOAN_PERIOD_DAYS));
+                status = "RETURNED";
+                long chargeableDays = ChronoUnit.DAYS.between(dueDate, returnDate) - GRACE_PERIOD_DAYS;
+                fine = chargeableDays > 0 ? chargeableDays * FINE_PER_DAY : 0.0;
+            }
+            rows.add(new Object[]{id, bookId, memberId, Date.valueOf(borrowDate), Date.valueOf(dueDate),
+                    returnDate != null ? Date.valueOf(returnDate) : null, status, fine, now, now});
+            flushIfFull("INSERT INTO borrowed_books (id, book_id, member_id, borrow_date, due_date, return_date, " +
+                    "status, fine_amount, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                    rows, id == count);
+        }
+
+        List<Object[]> updates = new ArrayList<>(BATCH_SIZE);
+        for (int bookId = 1; bookId <= books; bookId++) {
+            updates.add(new Object[]{availableCopies[bookId], bookId});
+            flushIfFull("UPDATE books SET available_copies = ? WHERE id = ?", updates, bookId == books);
+        }
+    }
+
+    private void flushIfFull(String sql, List<Object[]> rows, boolean last) {
+        if (rows.size() >= BATCH_SIZE || (last && !rows.isEmpty())) {
+            jdbcTemplate.batchUpdate(sql, rows);
+            rows.clear();
+        }
+    }
+
+    private String sentence(int words) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                sb.append(' ');
+            }
+            sb.append(word(random));
+        }
+        return sb.toString();
+    }
+
+    // Pronounceable pseudo-words, so title and name searches behave like real text
+    private String[] vocabulary(int size) {
+        String consonants = "bcdfghklmnprstvz";
+        String vowels = "aeiou";
+        String[] words = new String[size];
+        for (int i = 0; i < size; i++) {
+            StringBuilder sb = new StringBuilder();
+            int syllables = 2 + random.nextInt(3);
+            for (int s = 0; s < syllables; s++) {
+                sb.append(consonants.charAt(random.nextInt(consonants.length())));
+                sb.append(vowels.charAt(random.nextInt(vowels.length())));
+            }
+            words[i] = sb.toString();
+        }
+        return words;
+    }
+
+    private static String capitalize(String word) {
+        return Character.toUpperCase(word.charAt(0)) + word.substring(1);
+    }
+}
@@ -0,0 +1,119 @@
+package org.springframework.web.servlet.mvc.method.annotation;
+
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.Consumer;
+
+/**
+ * Stands in for the client connection behind an SseEmitter: records every event sent and can hold
+ * sends back like a client that stopped reading. It lives in Spring's package because
+ * ResponseBodyEmitter.initialize and its Handler are package-private.
+ */
+public class RecordingEmitterHandler implements ResponseBodyEmitter.Handler {
+
+    /** One SSE event as written: its id and event name (null for comments) and the data object */
+    public record SentEvent(String id, String name, Object data) {
+    }
+
+    private final List<SentEvent> events = new CopyOnWriteArrayList<>();
+    private volatile CountDownLatch hold = new CountDownLatch(0);
+    private volatile boolean completed;
+    private volatile Runnable completionCallback;
+
+    private RecordingEmitterHandler() {
+    }
+
+    // Connect the emitter as the container would; events sent before are delivered now
+    public static RecordingEmitterHandler attach(ResponseBodyEmitter emitter) throws IOException {
+        RecordingEmitterHandler handler = new RecordingEmitterHandler();
+        emitter.initialize(handler);
+        return handler;
+    }
+
+    // Block every following send until release()
+    public void hold() {
+        hold = new CountDownLatch(1);
+    }
+
+    public void release() {
+        hold.countDown();
+    }
+
+    public List<SentEvent> getEvents() {
+        return List.copyOf(events);
+    }
+
+    public boolean isCompleted() {
+        return completed;
+    }
+
+    @Override
+    public void send(Object data, MediaType mediaType) throws IOException {
+        send(Set.of(new ResponseBodyEmitter.DataWithMediaType(data, mediaType)));
+    }
+
+    @Override
+    public void send(Set<ResponseBodyEmitter.DataWithMediaType> items) throws IOException {
+        try {
+            hold.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while held", e);
+        }
+        // Events sent before attach() arrive together; each one ends with a blank line
+        String id = null;
+        String name = null;
+        Object data = null;
+        for (ResponseBodyEmitter.DataWithMediaType item : items) {
+            if (!(item.getData() instanceof String text)) {
+                data = item.getData();
+                continue;
+            }
+            for (String line : text.split("\n")) {
+                if (line.startsWith("id:")) {
+                    id = line.substring(3);
+                } else if (line.startsWith("event:")) {
+                    name = line.substring(6);
+                }
+            }
+            if (text.endsWith("\n\n")) {
+                events.add(new SentEvent(id, name, data));
+                id = null;
+                name = null;
+                data = null;
+            }
+        }
+    }
+
+    // The container runs the completion callbacks once the response is done
+    @Override
+    public void complete() {
+        completed = true;
+        if (completionCallback != null) {
+            completionCallback.run();
+        }
+    }
+
+    @Override
+    public void completeWithError(Throwable failure) {
+        complete();
+    }
+
+    @Override
+    public void onTimeout(Runnable callback) {
+    }
+
+    @Override
+    public void onError(Consumer<Throwable> callback) {
+    }
+
+    @Override
+    public void onCompletion(Runnable callback) {
+        completionCallback = callback;
+    }
+}